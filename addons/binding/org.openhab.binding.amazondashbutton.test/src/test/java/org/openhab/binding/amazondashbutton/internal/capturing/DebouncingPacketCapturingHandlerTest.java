@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.amazondashbutton.internal.capturing;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pcap4j.util.MacAddress;
+
+/**
+ * Tests the {@link DebouncingPacketCapturingHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DebouncingPacketCapturingHandlerTest {
+    private static final MacAddress BUTTON = MacAddress.getByName("ac:63:be:01:02:03");
+
+    private PressRecorder pressRecorder;
+    private DebouncingPacketCapturingHandler handler;
+
+    @Before
+    public void setUp() {
+        pressRecorder = new PressRecorder();
+        handler = new DebouncingPacketCapturingHandler(5000, pressRecorder);
+    }
+
+    @Test
+    public void testPacketsOfOnePressAreDropped() {
+        handler.packetCaptured(BUTTON, 100000);
+        handler.packetCaptured(BUTTON, 100150);
+        handler.packetCaptured(BUTTON, 105000);
+
+        assertEquals(1, pressRecorder.pressTimes.size());
+        assertEquals(Long.valueOf(100000), pressRecorder.pressTimes.get(0));
+    }
+
+    @Test
+    public void testPacketAfterIntervalIsPress() {
+        handler.packetCaptured(BUTTON, 100000);
+        handler.packetCaptured(BUTTON, 105001);
+
+        assertEquals(2, pressRecorder.pressTimes.size());
+        assertEquals(Long.valueOf(105001), pressRecorder.pressTimes.get(1));
+    }
+
+    @Test
+    public void testIntervalStartsAtPress() {
+        handler.packetCaptured(BUTTON, 100000);
+        handler.packetCaptured(BUTTON, 104000);
+        handler.packetCaptured(BUTTON, 108000);
+
+        assertEquals(2, pressRecorder.pressTimes.size());
+        assertEquals(Long.valueOf(108000), pressRecorder.pressTimes.get(1));
+    }
+
+    @Test
+    public void testPacketWithoutCaptureTimeIsPress() {
+        handler.packetCaptured(BUTTON);
+
+        assertEquals(1, pressRecorder.pressTimes.size());
+        assertEquals(BUTTON, pressRecorder.macAddresses.get(0));
+    }
+
+    /**
+     * Records the presses passed by the {@link DebouncingPacketCapturingHandler}.
+     */
+    static class PressRecorder implements PacketCapturingHandler {
+        final List<MacAddress> macAddresses = new ArrayList<>();
+        final List<Long> pressTimes = new ArrayList<>();
+
+        @Override
+        public void packetCaptured(MacAddress sourceMacAddress) {
+            fail("The capture time must be passed");
+        }
+
+        @Override
+        public void packetCaptured(MacAddress sourceMacAddress, long captureTime) {
+            macAddresses.add(sourceMacAddress);
+            pressTimes.add(captureTime);
+        }
+    }
+}
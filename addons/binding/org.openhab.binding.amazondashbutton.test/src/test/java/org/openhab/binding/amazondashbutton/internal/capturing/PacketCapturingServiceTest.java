@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.amazondashbutton.internal.capturing;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.amazondashbutton.internal.capturing.DebouncingPacketCapturingHandlerTest.PressRecorder;
+import org.pcap4j.core.NotOpenException;
+import org.pcap4j.core.PcapNativeException;
+import org.pcap4j.util.MacAddress;
+
+/**
+ * Tests the filter, dispatch and debounce of captured packets by replaying a recording of two presses of a Dash
+ * Button. Besides the ARP requests and DHCP discovers of the button, the recording contains an ARP reply of the button
+ * and an ARP request of another device, which must be filtered.
+ *
+ * @author agent - Initial contribution
+ */
+public class PacketCapturingServiceTest {
+    private static final String BUTTON = "ac:63:be:01:02:03";
+    private static final long FIRST_PRESS = 1492700000000L;
+    private static final long SECOND_PRESS = 1492700010000L;
+
+    private File pcapFile;
+
+    @Before
+    public void setUp() throws IOException {
+        pcapFile = File.createTempFile("dashbutton-presses", ".pcap");
+        try (InputStream in = getClass().getClassLoader()
+                .getResourceAsStream("amazondashbutton/dashbutton-presses.pcap")) {
+            Files.copy(in, pcapFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        pcapFile.delete();
+    }
+
+    @Test
+    public void testReplayPassesPacketsOfButton() throws Exception {
+        PacketCounter packetCounter = new PacketCounter();
+
+        assertEquals(5, replay(BUTTON, packetCounter));
+        assertEquals(5, packetCounter.packets);
+    }
+
+    @Test
+    public void testReplayPassesPacketsOfAllMacAddresses() throws Exception {
+        PacketCounter packetCounter = new PacketCounter();
+
+        assertEquals(6, replay(null, packetCounter));
+        assertEquals(6, packetCounter.packets);
+    }
+
+    @Test
+    public void testReplayDebouncesPresses() throws Exception {
+        PressRecorder pressRecorder = new PressRecorder();
+
+        replay(BUTTON, new DebouncingPacketCapturingHandler(5000, pressRecorder));
+
+        assertEquals(2, pressRecorder.pressTimes.size());
+        assertEquals(Long.valueOf(FIRST_PRESS), pressRecorder.pressTimes.get(0));
+        assertEquals(Long.valueOf(SECOND_PRESS), pressRecorder.pressTimes.get(1));
+        assertEquals(MacAddress.getByName(BUTTON), pressRecorder.macAddresses.get(0));
+    }
+
+    private int replay(String macAddress, PacketCapturingHandler handler)
+            throws NotOpenException, InterruptedException {
+        try {
+            return PacketCapturingService.replay(pcapFile.getAbsolutePath(), macAddress, handler);
+        } catch (PcapNativeException | UnsatisfiedLinkError | NoClassDefFoundError e) {
+            // the replay requires the native pcap library
+            Assume.assumeNoException(e);
+            return 0;
+        }
+    }
+
+    private static class PacketCounter implements PacketCapturingHandler {
+        private int packets;
+
+        @Override
+        public void packetCaptured(MacAddress sourceMacAddress) {
+            packets++;
+        }
+    }
+}
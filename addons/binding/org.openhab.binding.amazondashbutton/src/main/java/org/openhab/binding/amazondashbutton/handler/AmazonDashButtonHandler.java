@@ -16,6 +16,7 @@ import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.openhab.binding.amazondashbutton.internal.capturing.DebouncingPacketCapturingHandler;
 import org.openhab.binding.amazondashbutton.internal.capturing.PacketCapturingHandler;
 import org.openhab.binding.amazondashbutton.internal.capturing.PacketCapturingService;
 import org.openhab.binding.amazondashbutton.internal.config.AmazonDashButtonConfig;
@@ -35,8 +36,7 @@ import org.slf4j.LoggerFactory;
  */
 public class AmazonDashButtonHandler extends BaseThingHandler implements PcapNetworkInterfaceListener {
     private PacketCapturingService packetCapturingService;
-
-    private long lastCommandHandled = 0;
+    private PacketCapturingHandler packetCapturingHandler;
 
     public AmazonDashButtonHandler(Thing thing) {
         super(thing);
@@ -66,19 +66,19 @@ public class AmazonDashButtonHandler extends BaseThingHandler implements PcapNet
                     return;
                 }
 
-                packetCapturingService = new PacketCapturingService(pcapNetworkInterface);
-                boolean capturingStarted = packetCapturingService.startCapturing(new PacketCapturingHandler() {
+                packetCapturingService = PacketCapturingService.instance(pcapNetworkInterface);
+                // Called on the capturing thread, so the repeated packets of a single press are dropped right away
+                packetCapturingHandler = new DebouncingPacketCapturingHandler(packetInterval,
+                        new PacketCapturingHandler() {
 
-                    @Override
-                    public void packetCaptured(MacAddress macAddress) {
-                        long now = System.currentTimeMillis();
-                        if (lastCommandHandled + packetInterval < now) {
-                            ChannelUID pressChannel = new ChannelUID(getThing().getUID(), PRESS);
-                            triggerChannel(pressChannel);
-                            lastCommandHandled = now;
-                        }
-                    }
-                }, macAddress);
+                            @Override
+                            public void packetCaptured(MacAddress macAddress) {
+                                ChannelUID pressChannel = new ChannelUID(getThing().getUID(), PRESS);
+                                triggerChannel(pressChannel);
+                            }
+                        });
+                boolean capturingStarted = packetCapturingService.startCapturing(packetCapturingHandler,
+                        macAddress);
                 if (capturingStarted) {
                     updateStatus(ThingStatus.ONLINE);
                 } else {
@@ -94,8 +94,9 @@ public class AmazonDashButtonHandler extends BaseThingHandler implements PcapNet
     public void dispose() {
         super.dispose();
         if (packetCapturingService != null) {
-            packetCapturingService.stopCapturing();
+            packetCapturingService.stopCapturing(packetCapturingHandler);
             packetCapturingService = null;
+            packetCapturingHandler = null;
         }
         PcapNetworkInterfaceService.instance().unregisterListener(this);
     }
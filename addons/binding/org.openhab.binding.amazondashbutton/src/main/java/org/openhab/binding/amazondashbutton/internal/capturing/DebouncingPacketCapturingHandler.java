@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.amazondashbutton.internal.capturing;
+
+import org.pcap4j.util.MacAddress;
+
+/**
+ * The {@link DebouncingPacketCapturingHandler} passes only the first of the packets a Dash Button sends for a single
+ * press to the press handler. Packets captured within the packet interval after a press are dropped.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class DebouncingPacketCapturingHandler implements PacketCapturingHandler {
+
+    private final long packetInterval;
+    private final PacketCapturingHandler pressHandler;
+
+    private long lastPress = 0;
+
+    /**
+     * @param packetInterval The time in milliseconds in which further packets belong to the same press
+     * @param pressHandler The handler to be called once per press
+     */
+    public DebouncingPacketCapturingHandler(long packetInterval, PacketCapturingHandler pressHandler) {
+        this.packetInterval = packetInterval;
+        this.pressHandler = pressHandler;
+    }
+
+    @Override
+    public void packetCaptured(MacAddress sourceMacAddress) {
+        packetCaptured(sourceMacAddress, System.currentTimeMillis());
+    }
+
+    @Override
+    public synchronized void packetCaptured(MacAddress sourceMacAddress, long captureTime) {
+        if (lastPress + packetInterval < captureTime) {
+            lastPress = captureTime;
+            pressHandler.packetCaptured(sourceMacAddress, captureTime);
+        }
+    }
+}
@@ -23,4 +23,15 @@ public interface PacketCapturingHandler {
      * @param macAddress The mac address which sent the packet
      */
     public void packetCaptured(MacAddress sourceMacAddress);
+
+    /**
+     * Callback method to handle a captured packet with the time it has been captured. Replayed packets are passed
+     * with the time they have been recorded.
+     *
+     * @param sourceMacAddress The mac address which sent the packet
+     * @param captureTime The time the packet has been captured in milliseconds
+     */
+    public default void packetCaptured(MacAddress sourceMacAddress, long captureTime) {
+        packetCaptured(sourceMacAddress);
+    }
 }
\ No newline at end of file
@@ -8,28 +8,33 @@
  */
 package org.openhab.binding.amazondashbutton.internal.capturing;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.amazondashbutton.internal.pcap.PcapNetworkInterfaceWrapper;
 import org.pcap4j.core.BpfProgram.BpfCompileMode;
 import org.pcap4j.core.NotOpenException;
-import org.pcap4j.core.PacketListener;
 import org.pcap4j.core.PcapHandle;
+import org.pcap4j.core.PcapNativeException;
 import org.pcap4j.core.PcapNetworkInterface.PromiscuousMode;
-import org.pcap4j.packet.ArpPacket;
-import org.pcap4j.packet.EthernetPacket;
-import org.pcap4j.packet.Packet;
-import org.pcap4j.packet.UdpPacket;
-import org.pcap4j.packet.namednumber.ArpOperation;
-import org.pcap4j.packet.namednumber.UdpPort;
+import org.pcap4j.core.Pcaps;
+import org.pcap4j.core.RawPacketListener;
 import org.pcap4j.util.MacAddress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link PacketCapturingService} is responsible for capturing packets.
+ * The {@link PacketCapturingService} is responsible for capturing packets. There is one instance per network
+ * interface, which can be obtained by calling {@link #instance(PcapNetworkInterfaceWrapper)}. It opens a single pcap
+ * handle for all registered {@link PacketCapturingHandler}s, filtered to the MAC addresses they are interested in,
+ * and dispatches the captured packets by their source MAC address. The instance is discarded once its last handler
+ * stopped capturing. The packets of a pcap file can be passed through the same filter and dispatch by
+ * {@link #replay(String, String, PacketCapturingHandler)}, without any network interface.
  *
  * @author Oliver Libutzki - Initial contribution
  *
@@ -38,17 +43,64 @@ public class PacketCapturingService {
 
     private final Logger logger = LoggerFactory.getLogger(PacketCapturingService.class);
 
+    private static final Map<PcapNetworkInterfaceWrapper, PacketCapturingService> instances = new HashMap<>();
+
+    private static final String THREADPOOL_NAME = "amazondashbutton";
+
     private static final int READ_TIMEOUT = 10; // [ms]
-    private static final int SNAPLEN = 65536; // [bytes]
+    private static final int SNAPLEN = 64; // [bytes], enough for the ethernet, IP and UDP headers
+
+    private static final String PACKET_FILTER = "(arp[6:2] = 1 or udp dst port bootps)";
+
+    private static final int ETHER_TYPE_IPV4 = 0x0800;
+    private static final int ETHER_TYPE_ARP = 0x0806;
+    private static final int ARP_OPERATION_REQUEST = 1;
+    private static final int IP_PROTOCOL_UDP = 17;
+    private static final int UDP_PORT_BOOTPS = 67;
 
     private final PcapNetworkInterfaceWrapper pcapNetworkInterface;
 
+    /**
+     * The handlers by the source MAC address they are interested in
+     */
+    private final Map<Long, List<PacketCapturingHandler>> macAddressHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * The handlers interested in packets of all MAC addresses
+     */
+    private final List<PacketCapturingHandler> allMacAddressesHandlers = new CopyOnWriteArrayList<>();
+
     private PcapHandle pcapHandle;
 
-    public PacketCapturingService(PcapNetworkInterfaceWrapper pcapNetworkInterface) {
+    private final RawPacketListener packetListener = new RawPacketListener() {
+
+        @Override
+        public void gotPacket(byte[] packet) {
+            packetCaptured(packet, System.currentTimeMillis());
+        }
+    };
+
+    private PacketCapturingService(PcapNetworkInterfaceWrapper pcapNetworkInterface) {
         this.pcapNetworkInterface = pcapNetworkInterface;
     }
 
+    /**
+     * Returns the {@link PacketCapturingService} of the given network interface.
+     *
+     * @param pcapNetworkInterface The network interface to capture packets on
+     * @return the {@link PacketCapturingService} shared by all users of the network interface
+     */
+    public static PacketCapturingService instance(PcapNetworkInterfaceWrapper pcapNetworkInterface) {
+        synchronized (instances) {
+            PacketCapturingService packetCapturingService = instances.get(pcapNetworkInterface);
+            if (packetCapturingService == null) {
+                packetCapturingService = new PacketCapturingService(pcapNetworkInterface);
+                instances.put(pcapNetworkInterface, packetCapturingService);
+            }
+            return packetCapturingService;
+        }
+    }
+
     /**
      * Calls {@link #startCapturing(PacketCapturingHandler, String)} with a null MAC address.
      *
@@ -60,9 +112,10 @@ public class PacketCapturingService {
     }
 
     /**
-     * Starts the capturing in a dedicated thread, so this method returns immediately. Every time a packet is captured,
-     * the {@link PacketCapturingHandler#packetCaptured(MacAddress)} of the given
-     * {@link PacketCapturingHandler} is called.
+     * Registers the given {@link PacketCapturingHandler} and starts the capturing in the thread pool of the binding, if
+     * it is not running yet, so this method returns immediately. Every time a packet is captured, the
+     * {@link PacketCapturingHandler#packetCaptured(MacAddress, long)} of the given {@link PacketCapturingHandler} is
+     * called on the capturing thread.
      *
      * It's possible to capture packets sent by a specific MAC address by providing the given parameter. If the
      * macAddress is null, all MAC addresses are considered.
@@ -71,57 +124,44 @@ public class PacketCapturingService {
      * @param macAddress The source MAC address of the captured packet, might be null in order to deactivate this filter
      *            criteria
      * @return Returns true, if the capturing has been started successfully, otherwise returns false
-     * @throws IllegalStateException Thrown if {@link PcapHandle#isOpen()} of {@link #pcapHandle} returns true
      */
+    public synchronized boolean startCapturing(final PacketCapturingHandler packetCapturingHandler,
+            final String macAddress) {
+        synchronized (instances) {
+            // this instance may have been discarded by its last handler since it has been obtained
+            instances.putIfAbsent(pcapNetworkInterface, this);
+        }
 
-    public boolean startCapturing(final PacketCapturingHandler packetCapturingHandler, final String macAddress) {
-        if (pcapHandle != null) {
-            if (pcapHandle.isOpen()) {
-                throw new IllegalStateException("There is an open pcap handle.");
-            } else {
-                pcapHandle.close();
-            }
+        final Long macAddressKey;
+        try {
+            macAddressKey = addHandler(packetCapturingHandler, macAddress);
+        } catch (NumberFormatException e) {
+            logger.error("The MAC address {} is invalid.", macAddress);
+            return false;
         }
+
         try {
-            pcapHandle = pcapNetworkInterface.openLive(SNAPLEN, PromiscuousMode.PROMISCUOUS, READ_TIMEOUT);
-            StringBuilder filterBuilder = new StringBuilder("(arp or port bootps)");
-            if (macAddress != null) {
-                filterBuilder.append(" and ether src " + macAddress);
+            if (pcapHandle == null) {
+                PcapHandle handle = pcapNetworkInterface.openLive(SNAPLEN, PromiscuousMode.PROMISCUOUS,
+                        READ_TIMEOUT);
+                try {
+                    handle.setFilter(buildFilter(), BpfCompileMode.OPTIMIZE);
+                } catch (Exception e) {
+                    handle.close();
+                    throw e;
+                }
+                pcapHandle = handle;
+                startLoop(handle);
+            } else {
+                pcapHandle.setFilter(buildFilter(), BpfCompileMode.OPTIMIZE);
             }
-            pcapHandle.setFilter(filterBuilder.toString(), BpfCompileMode.OPTIMIZE);
         } catch (Exception e) {
             logger.error("Capturing packets on device {} failed.", pcapNetworkInterface.getName(), e);
+            removeHandler(packetCapturingHandler, macAddressKey);
+            discardIfUnused();
             return false;
         }
-        ExecutorService executorService = Executors.newSingleThreadExecutor();
-        executorService.submit(new Callable<Void>() {
 
-            @Override
-            public Void call() throws Exception {
-                try {
-                    pcapHandle.loop(-1, new PacketListener() {
-
-                        @Override
-                        public void gotPacket(Packet packet) {
-                            if (!packet.contains(EthernetPacket.class)) {
-                                return;
-                            }
-                            final EthernetPacket ethernetPacket = packet.get(EthernetPacket.class);
-                            final MacAddress sourceMacAddress = ethernetPacket.getHeader().getSrcAddr();
-                            if (shouldCapture(packet)) {
-                                packetCapturingHandler.packetCaptured(sourceMacAddress);
-                            }
-                        }
-                    });
-                } finally {
-                    if (pcapHandle != null && pcapHandle.isOpen()) {
-                        pcapHandle.close();
-                        pcapHandle = null;
-                    }
-                }
-                return null;
-            }
-        });
         if (macAddress == null) {
             logger.debug("Started capturing ARP and BOOTP requests for network device {}.",
                     pcapNetworkInterface.getName());
@@ -132,46 +172,104 @@ public class PacketCapturingService {
         return true;
     }
 
+    private void startLoop(final PcapHandle handle) {
+        ThreadPoolManager.getPool(THREADPOOL_NAME).submit(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    handle.loop(-1, packetListener);
+                } catch (InterruptedException e) {
+                    // The loop has been broken by stopCapturing
+                } catch (Exception e) {
+                    logger.debug("Capturing packets on device {} stopped: {}", pcapNetworkInterface.getName(),
+                            e.getMessage());
+                } finally {
+                    synchronized (PacketCapturingService.this) {
+                        if (handle.isOpen()) {
+                            handle.close();
+                        }
+                        if (pcapHandle == handle) {
+                            pcapHandle = null;
+                        }
+                    }
+                }
+            }
+        });
+    }
+
     /**
-     * Checks if the given {@link Packet} should be captured.
+     * Stops the capturing for the given {@link PacketCapturingHandler}. The capturing of the network interface is
+     * stopped, if there is no other handler left. This can be called without calling
+     * {@link #startCapturing(PacketCapturingHandler)} or {@link #startCapturing(PacketCapturingHandler, String)}
+     * before.
      *
-     * @param packet The packet to be checked
-     * @return Returns true, if the packet should be captured, otherwise false
+     * @param packetCapturingHandler The handler which has been passed to start the capturing
      */
-    private boolean shouldCapture(final Packet packet) {
-        if (packet.contains(ArpPacket.class)) {
-            ArpPacket arpPacket = packet.get(ArpPacket.class);
-            if (arpPacket.getHeader().getOperation().equals(ArpOperation.REQUEST)) {
-                return true;
-            }
+    public synchronized void stopCapturing(final PacketCapturingHandler packetCapturingHandler) {
+        allMacAddressesHandlers.remove(packetCapturingHandler);
+        for (Long macAddressKey : macAddressHandlers.keySet()) {
+            removeHandler(packetCapturingHandler, macAddressKey);
+        }
+        discardIfUnused();
+
+        if (pcapHandle == null || !pcapHandle.isOpen()) {
+            pcapHandle = null;
+            return;
         }
-        if (packet.contains(UdpPacket.class)) {
-            final UdpPacket udpPacket = packet.get(UdpPacket.class);
-            if (UdpPort.BOOTPS == udpPacket.getHeader().getDstPort()) {
-                return true;
+        try {
+            if (hasHandlers()) {
+                pcapHandle.setFilter(buildFilter(), BpfCompileMode.OPTIMIZE);
+            } else {
+                pcapHandle.breakLoop();
+                pcapHandle = null;
+                logger.debug("Stopped capturing ARP and BOOTP requests for network device {}.",
+                        pcapNetworkInterface.getName());
             }
+        } catch (NotOpenException e) {
+            // Just ignore
+        } catch (PcapNativeException e) {
+            logger.warn("Updating the packet filter of network device {} failed.", pcapNetworkInterface.getName(),
+                    e);
         }
-        return false;
     }
 
     /**
-     * Stops the capturing. This can be called without calling {@link #startCapturing(PacketCapturingHandler)} or
-     * {@link #startCapturing(PacketCapturingHandler, String)} before.
+     * Replays the packets of a pcap file, instead of capturing them on a network interface. The packets pass the same
+     * packet filter and dispatch as captured packets, but they are passed to the given handler only, so no thing is
+     * triggered. The handler gets the time a packet has been recorded as capture time. This allows to measure the
+     * processing of packets and the press latency without a Dash Button.
+     *
+     * @param pcapFile The path of the pcap file
+     * @param macAddress The source MAC address of the packets to be passed to the handler, might be null in order to
+     *            pass the packets of all MAC addresses
+     * @param packetCapturingHandler The handler to be called for every replayed packet
+     * @return The number of packets which passed the packet filter
+     * @throws PcapNativeException Thrown if the file cannot be read
+     * @throws NotOpenException Thrown if the file has been closed while reading
+     * @throws InterruptedException Thrown if the replay has been interrupted
      */
-    public void stopCapturing() {
-        if (pcapHandle != null) {
-            if (pcapHandle.isOpen()) {
-                try {
-                    pcapHandle.breakLoop();
-                    logger.debug("Stopped capturing ARP and BOOTP requests for network device {}.",
-                            pcapNetworkInterface.getName());
-                } catch (NotOpenException e) {
-                    // Just ignore
+    public static int replay(String pcapFile, String macAddress, PacketCapturingHandler packetCapturingHandler)
+            throws PcapNativeException, NotOpenException, InterruptedException {
+        final PacketCapturingService replayService = new PacketCapturingService(null);
+        replayService.addHandler(packetCapturingHandler, macAddress);
+
+        final int[] packets = new int[1];
+        final PcapHandle handle = Pcaps.openOffline(pcapFile);
+        try {
+            handle.setFilter(replayService.buildFilter(), BpfCompileMode.OPTIMIZE);
+            handle.loop(-1, new RawPacketListener() {
+
+                @Override
+                public void gotPacket(byte[] packet) {
+                    packets[0]++;
+                    replayService.packetCaptured(packet, handle.getTimestamp().getTime());
                 }
-            } else {
-                pcapHandle = null;
-            }
+            });
+        } finally {
+            handle.close();
         }
+        return packets[0];
     }
 
     /**
@@ -182,4 +280,157 @@ public class PacketCapturingService {
     public PcapNetworkInterfaceWrapper getPcapNetworkInterface() {
         return pcapNetworkInterface;
     }
+
+    /**
+     * Adds the handler to the handlers of the MAC address.
+     *
+     * @return The key of the MAC address, or null if the handler is interested in all MAC addresses
+     * @throws NumberFormatException Thrown if the MAC address is invalid
+     */
+    private Long addHandler(PacketCapturingHandler packetCapturingHandler, String macAddress) {
+        if (macAddress == null) {
+            allMacAddressesHandlers.add(packetCapturingHandler);
+            return null;
+        }
+        Long macAddressKey = toLong(macAddress);
+        macAddressHandlers.computeIfAbsent(macAddressKey, k -> new CopyOnWriteArrayList<>())
+                .add(packetCapturingHandler);
+        return macAddressKey;
+    }
+
+    private void removeHandler(PacketCapturingHandler packetCapturingHandler, Long macAddressKey) {
+        if (macAddressKey == null) {
+            allMacAddressesHandlers.remove(packetCapturingHandler);
+            return;
+        }
+        List<PacketCapturingHandler> handlers = macAddressHandlers.get(macAddressKey);
+        if (handlers != null) {
+            handlers.remove(packetCapturingHandler);
+            if (handlers.isEmpty()) {
+                macAddressHandlers.remove(macAddressKey);
+            }
+        }
+    }
+
+    private boolean hasHandlers() {
+        return !allMacAddressesHandlers.isEmpty() || !macAddressHandlers.isEmpty();
+    }
+
+    /**
+     * Removes this instance from the instances, if there is no handler left, so a network interface which is not
+     * used anymore is not kept.
+     */
+    private void discardIfUnused() {
+        if (!hasHandlers()) {
+            synchronized (instances) {
+                instances.remove(pcapNetworkInterface, this);
+            }
+        }
+    }
+
+    /**
+     * Builds the packet filter, which only lets ARP and BOOTP requests of the registered MAC addresses pass. If a
+     * handler is interested in all MAC addresses, the source MAC address is not filtered.
+     */
+    private String buildFilter() {
+        if (!allMacAddressesHandlers.isEmpty() || macAddressHandlers.isEmpty()) {
+            return PACKET_FILTER;
+        }
+        StringBuilder filterBuilder = new StringBuilder(PACKET_FILTER).append(" and (");
+        boolean first = true;
+        for (Long macAddressKey : macAddressHandlers.keySet()) {
+            if (!first) {
+                filterBuilder.append(" or ");
+            }
+            filterBuilder.append("ether src ").append(toString(macAddressKey));
+            first = false;
+        }
+        return filterBuilder.append(')').toString();
+    }
+
+    /**
+     * Dispatches a captured packet to the handlers. It reads the headers in place and only builds a {@link MacAddress}
+     * if there is a handler for the packet.
+     *
+     * @param packet The raw bytes of the packet, starting with the ethernet header
+     * @param captureTime The time the packet has been captured in milliseconds
+     */
+    private void packetCaptured(byte[] packet, long captureTime) {
+        if (!shouldCapture(packet)) {
+            return;
+        }
+        final List<PacketCapturingHandler> handlers = macAddressHandlers.get(getSourceMacAddress(packet));
+        if (handlers == null && allMacAddressesHandlers.isEmpty()) {
+            return;
+        }
+
+        final MacAddress sourceMacAddress = MacAddress.getByAddress(Arrays.copyOfRange(packet, 6, 12));
+        if (handlers != null) {
+            for (PacketCapturingHandler handler : handlers) {
+                handler.packetCaptured(sourceMacAddress, captureTime);
+            }
+        }
+        for (PacketCapturingHandler handler : allMacAddressesHandlers) {
+            handler.packetCaptured(sourceMacAddress, captureTime);
+        }
+    }
+
+    /**
+     * Checks if the given packet is an ARP request or a BOOTP request and should therefore be captured.
+     *
+     * @param packet The raw bytes of the packet, starting with the ethernet header
+     * @return Returns true, if the packet should be captured, otherwise false
+     */
+    private static boolean shouldCapture(final byte[] packet) {
+        int offset = 12;
+        if (packet.length < offset + 2) {
+            return false;
+        }
+        int etherType = readUInt16(packet, offset);
+        offset += 2;
+
+        switch (etherType) {
+            case ETHER_TYPE_ARP:
+                return packet.length >= offset + 8 && readUInt16(packet, offset + 6) == ARP_OPERATION_REQUEST;
+            case ETHER_TYPE_IPV4:
+                if (packet.length < offset + 20 || (packet[offset + 9] & 0xFF) != IP_PROTOCOL_UDP) {
+                    return false;
+                }
+                int udpOffset = offset + (packet[offset] & 0x0F) * 4;
+                return packet.length >= udpOffset + 4 && readUInt16(packet, udpOffset + 2) == UDP_PORT_BOOTPS;
+            default:
+                return false;
+        }
+    }
+
+    private static int readUInt16(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 8 | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static long getSourceMacAddress(byte[] packet) {
+        long macAddress = 0;
+        for (int i = 6; i < 12; i++) {
+            macAddress = macAddress << 8 | (packet[i] & 0xFF);
+        }
+        return macAddress;
+    }
+
+    private static long toLong(String macAddress) {
+        String hex = macAddress.replace(":", "").replace("-", "");
+        if (hex.length() != 12) {
+            throw new NumberFormatException(macAddress);
+        }
+        return Long.parseLong(hex, 16);
+    }
+
+    private static String toString(long macAddress) {
+        StringBuilder builder = new StringBuilder(17);
+        for (int shift = 40; shift >= 0; shift -= 8) {
+            if (builder.length() > 0) {
+                builder.append(':');
+            }
+            builder.append(String.format("%02x", (macAddress >> shift) & 0xFF));
+        }
+        return builder.toString();
+    }
 }
@@ -84,7 +84,7 @@ public class AmazonDashButtonDiscoveryService extends AbstractDiscoveryService i
         return vendorPrefixes.contains(vendorPrefix);
     }
 
-    private final Map<PcapNetworkInterfaceWrapper, PacketCapturingService> packetCapturingServices = new ConcurrentHashMap<>();
+    private final Map<PcapNetworkInterfaceWrapper, PacketCapturingHandler> packetCapturingHandlers = new ConcurrentHashMap<>();
 
     private boolean explicitScanning = false;
     private boolean backgroundScanning = false;
@@ -141,7 +141,7 @@ public class AmazonDashButtonDiscoveryService extends AbstractDiscoveryService i
         } else {
             PcapNetworkInterfaceService.instance().unregisterListener(this);
             // Stop capturing for all network interfaces
-            final Set<PcapNetworkInterfaceWrapper> networkInterfaces = packetCapturingServices.keySet();
+            final Set<PcapNetworkInterfaceWrapper> networkInterfaces = packetCapturingHandlers.keySet();
             for (PcapNetworkInterfaceWrapper pcapNetworkInterface : networkInterfaces) {
                 stopCapturing(pcapNetworkInterface);
             }
@@ -154,10 +154,10 @@ public class AmazonDashButtonDiscoveryService extends AbstractDiscoveryService i
      * @param pcapNetworkInterface The {@link PcapNetworkInterface} the capturing should be stopped for.
      */
     private void stopCapturing(final PcapNetworkInterfaceWrapper pcapNetworkInterface) {
-        final PacketCapturingService packetCapturingService = packetCapturingServices.remove(pcapNetworkInterface);
+        final PacketCapturingHandler packetCapturingHandler = packetCapturingHandlers.remove(pcapNetworkInterface);
         final String interfaceName = pcapNetworkInterface.getName();
-        if (packetCapturingService != null) {
-            packetCapturingService.stopCapturing();
+        if (packetCapturingHandler != null) {
+            PacketCapturingService.instance(pcapNetworkInterface).stopCapturing(packetCapturingHandler);
             logger.debug("Stopped capturing for {}.", interfaceName);
         } else {
             logger.warn("No active PacketCapturingService registered for {}.", interfaceName);
@@ -171,16 +171,13 @@ public class AmazonDashButtonDiscoveryService extends AbstractDiscoveryService i
      * @param pcapNetworkInterface The {@link PcapNetworkInterface} to be captured
      */
     private void startCapturing(final PcapNetworkInterfaceWrapper pcapNetworkInterface) {
-        if (packetCapturingServices.containsKey(pcapNetworkInterface)) {
+        if (packetCapturingHandlers.containsKey(pcapNetworkInterface)) {
             // We already have a tracker
             return;
         }
 
-        PacketCapturingService packetCapturingService = new PacketCapturingService(pcapNetworkInterface);
-
-        packetCapturingServices.put(pcapNetworkInterface, packetCapturingService);
         final String interfaceName = pcapNetworkInterface.getName();
-        final boolean capturingStarted = packetCapturingService.startCapturing(new PacketCapturingHandler() {
+        final PacketCapturingHandler packetCapturingHandler = new PacketCapturingHandler() {
 
             @Override
             public void packetCaptured(MacAddress macAddress) {
@@ -206,7 +203,11 @@ public class AmazonDashButtonDiscoveryService extends AbstractDiscoveryService i
                             macAdressString);
                 }
             }
-        });
+        };
+
+        packetCapturingHandlers.put(pcapNetworkInterface, packetCapturingHandler);
+        final boolean capturingStarted = PacketCapturingService.instance(pcapNetworkInterface)
+                .startCapturing(packetCapturingHandler);
         if (capturingStarted) {
             logger.debug("Started capturing for {}.", interfaceName);
         }
@@ -13,7 +13,7 @@ import static org.openhab.binding.avmfritz.BindingConstants.*;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -30,8 +30,10 @@ import org.eclipse.smarthome.core.thing.ThingStatusInfo;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
+import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.avmfritz.BindingConstants;
 import org.openhab.binding.avmfritz.config.AvmFritzConfiguration;
@@ -69,6 +71,10 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
      * Holder for last data received from the box.
      */
     private Map<String, DeviceModel> deviceList;
+    /**
+     * Last states published for the channels of the things of this bridge.
+     */
+    private final Map<ChannelUID, State> channelStates = new ConcurrentHashMap<>();
     /**
      * Job which will do the FRITZ!Box polling
      */
@@ -85,7 +91,7 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
      */
     public BoxHandler(Bridge bridge) {
         super(bridge);
-        this.deviceList = new TreeMap<String, DeviceModel>();
+        this.deviceList = new ConcurrentHashMap<String, DeviceModel>();
         this.pollingRunnable = new DeviceListPolling(this);
     }
 
@@ -101,6 +107,7 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
         logger.debug("Discovered FRITZ!Box initialized: {}", config);
 
         this.refreshInterval = config.getPollingInterval();
+        this.channelStates.clear();
         this.connection = new FritzahaWebInterface(config, this);
         if (config.getPassword() != null) {
             this.onUpdate();
@@ -142,6 +149,26 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
         }
     }
 
+    /**
+     * Updates a newly initialized thing with the last data received from the
+     * box, as the box only reports devices whose data changed.
+     */
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        for (Channel channel : childThing.getChannels()) {
+            channelStates.remove(channel.getUID());
+        }
+        for (DeviceModel device : deviceList.values()) {
+            if (childThing.getUID().equals(getThingUID(device))) {
+                try {
+                    updateThingFromDevice(childThing, device);
+                } catch (Exception e) {
+                    logger.error("{}", e.getLocalizedMessage(), e);
+                }
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -150,6 +177,26 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
         return this.connection;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forgetChannelState(ChannelUID channelUID) {
+        channelStates.remove(channelUID);
+    }
+
+    /**
+     * Updates a channel if its state differs from the state published last.
+     *
+     * @param channelUID Channel to be updated.
+     * @param state New state of the channel.
+     */
+    private void updateChannel(ChannelUID channelUID, State state) {
+        if (!state.equals(channelStates.put(channelUID, state))) {
+            updateState(channelUID, state);
+        }
+    }
+
     /**
      * Updates things from device model.
      *
@@ -165,22 +212,22 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
             logger.debug("about to update thing {} from device {}", thing.getUID(), device);
             if (device.isTempSensor() && device.getTemperature() != null) {
                 Channel channelTemp = thing.getChannel(CHANNEL_TEMP);
-                updateState(channelTemp.getUID(), new DecimalType(device.getTemperature().getCelsius()));
+                updateChannel(channelTemp.getUID(), new DecimalType(device.getTemperature().getCelsius()));
             }
             if (device.isPowermeter() && device.getPowermeter() != null) {
                 Channel channelEnergy = thing.getChannel(CHANNEL_ENERGY);
-                updateState(channelEnergy.getUID(), new DecimalType(device.getPowermeter().getEnergy()));
+                updateChannel(channelEnergy.getUID(), new DecimalType(device.getPowermeter().getEnergy()));
                 Channel channelPower = thing.getChannel(CHANNEL_POWER);
-                updateState(channelPower.getUID(), new DecimalType(device.getPowermeter().getPower()));
+                updateChannel(channelPower.getUID(), new DecimalType(device.getPowermeter().getPower()));
             }
             if (device.isSwitchableOutlet() && device.getSwitch() != null) {
                 Channel channelSwitch = thing.getChannel(CHANNEL_SWITCH);
                 if (device.getSwitch().getState() == null) {
-                    updateState(channelSwitch.getUID(), UnDefType.UNDEF);
+                    updateChannel(channelSwitch.getUID(), UnDefType.UNDEF);
                 } else if (device.getSwitch().getState().equals(SwitchModel.ON)) {
-                    updateState(channelSwitch.getUID(), OnOffType.ON);
+                    updateChannel(channelSwitch.getUID(), OnOffType.ON);
                 } else if (device.getSwitch().getState().equals(SwitchModel.OFF)) {
-                    updateState(channelSwitch.getUID(), OnOffType.OFF);
+                    updateChannel(channelSwitch.getUID(), OnOffType.OFF);
                 } else {
                     logger.warn("Received unknown value {} for channel {}", device.getSwitch().getState(),
                             channelSwitch.getUID());
@@ -188,33 +235,33 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
             }
             if (device.isHeatingThermostat() && device.getHkr() != null) {
                 Channel channelActualTemp = thing.getChannel(CHANNEL_ACTUALTEMP);
-                updateState(channelActualTemp.getUID(), new DecimalType(device.getHkr().getTist()));
+                updateChannel(channelActualTemp.getUID(), new DecimalType(device.getHkr().getTist()));
                 Channel channelSetTemp = thing.getChannel(CHANNEL_SETTEMP);
-                updateState(channelSetTemp.getUID(), new DecimalType(device.getHkr().getTsoll()));
+                updateChannel(channelSetTemp.getUID(), new DecimalType(device.getHkr().getTsoll()));
                 Channel channelEcoTemp = thing.getChannel(CHANNEL_ECOTEMP);
-                updateState(channelEcoTemp.getUID(), new DecimalType(device.getHkr().getAbsenk()));
+                updateChannel(channelEcoTemp.getUID(), new DecimalType(device.getHkr().getAbsenk()));
                 Channel channelComfortTemp = thing.getChannel(CHANNEL_COMFORTTEMP);
-                updateState(channelComfortTemp.getUID(), new DecimalType(device.getHkr().getKomfort()));
+                updateChannel(channelComfortTemp.getUID(), new DecimalType(device.getHkr().getKomfort()));
                 if (device.getHkr().getNextchange() != null) {
                     Channel channelNextChange = thing.getChannel(CHANNEL_NEXTCHANGE);
                     if (device.getHkr().getNextchange().getEndperiod() == 0) {
-                        updateState(channelNextChange.getUID(), UnDefType.UNDEF);
+                        updateChannel(channelNextChange.getUID(), UnDefType.UNDEF);
                     } else {
                         Calendar calendar = Calendar.getInstance();
                         calendar.setTime(new Date(device.getHkr().getNextchange().getEndperiod() * 1000L));
-                        updateState(channelNextChange.getUID(), new DateTimeType(calendar));
+                        updateChannel(channelNextChange.getUID(), new DateTimeType(calendar));
                     }
                     Channel channelNextTemp = thing.getChannel(CHANNEL_NEXTTEMP);
-                    updateState(channelNextTemp.getUID(),
+                    updateChannel(channelNextTemp.getUID(),
                             new DecimalType(device.getHkr().getNextchange().getTchange()));
                 }
                 Channel channelBattery = thing.getChannel(CHANNEL_BATTERY);
                 if (device.getHkr().getBatterylow() == null) {
-                    updateState(channelBattery.getUID(), UnDefType.UNDEF);
+                    updateChannel(channelBattery.getUID(), UnDefType.UNDEF);
                 } else if (device.getHkr().getBatterylow().equals(HeatingModel.BATTERY_ON)) {
-                    updateState(channelBattery.getUID(), OnOffType.ON);
+                    updateChannel(channelBattery.getUID(), OnOffType.ON);
                 } else if (device.getHkr().getBatterylow().equals(HeatingModel.BATTERY_OFF)) {
-                    updateState(channelBattery.getUID(), OnOffType.OFF);
+                    updateChannel(channelBattery.getUID(), OnOffType.OFF);
                 } else {
                     logger.warn("Received unknown value {} for channel {}", device.getHkr().getBatterylow(),
                             channelBattery.getUID());
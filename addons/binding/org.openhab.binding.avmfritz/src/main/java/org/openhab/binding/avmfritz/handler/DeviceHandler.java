@@ -13,6 +13,8 @@ import static org.openhab.binding.avmfritz.BindingConstants.*;
 import java.math.BigDecimal;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -30,6 +32,7 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.avmfritz.BindingConstants;
 import org.openhab.binding.avmfritz.config.AvmFritzConfiguration;
@@ -76,6 +79,10 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
      * Schedule for polling
      */
     private ScheduledFuture<?> pollingJob;
+    /**
+     * Last states published for the channels of a PL546E standalone
+     */
+    private final Map<String, State> channelStates = new ConcurrentHashMap<>();
 
     public DeviceHandler(Thing thing) {
         super(thing);
@@ -96,6 +103,7 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
             logger.debug("discovered PL546E initialized: {}", config);
 
             this.refreshInterval = config.getPollingInterval();
+            this.channelStates.clear();
             this.connection = new FritzahaWebInterface(config, this);
             if (config.getPassword() != null) {
                 this.onUpdate();
@@ -143,15 +151,16 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         logger.debug("Handle command {} for channel {}", channelUID.getIdWithoutGroup(), command);
-        FritzahaWebInterface fritzBox = null;
+        IFritzHandler fritzHandler = null;
         if (!getThing().getThingTypeUID().equals(PL546E_STANDALONE_THING_TYPE)) {
             Bridge bridge = getBridge();
             if (bridge != null && bridge.getHandler() instanceof BoxHandler) {
-                fritzBox = ((BoxHandler) bridge.getHandler()).getWebInterface();
+                fritzHandler = (BoxHandler) bridge.getHandler();
             }
         } else {
-            fritzBox = getWebInterface();
+            fritzHandler = this;
         }
+        FritzahaWebInterface fritzBox = fritzHandler != null ? fritzHandler.getWebInterface() : null;
         String ain = getThing().getConfiguration().get(THING_AIN).toString();
         switch (channelUID.getIdWithoutGroup()) {
             case CHANNEL_TEMP:
@@ -167,6 +176,7 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
             case CHANNEL_SWITCH:
                 if (command instanceof OnOffType) {
                     fritzBox.setSwitch(ain, command.equals(OnOffType.ON) ? true : false);
+                    fritzHandler.forgetChannelState(channelUID);
                 }
                 break;
             case CHANNEL_SETTEMP:
@@ -178,10 +188,12 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
                         temperature = HeatingModel.TEMP_MAX;
                     }
                     fritzBox.setSetTemp(ain, temperature.divide(HeatingModel.TEMP_FACTOR));
+                    fritzHandler.forgetChannelState(channelUID);
                 } else if (command instanceof OnOffType) {
                     BigDecimal temperature = command.equals(OnOffType.ON) ? HeatingModel.TEMP_ON
                             : HeatingModel.TEMP_OFF;
                     fritzBox.setSetTemp(ain, temperature);
+                    fritzHandler.forgetChannelState(channelUID);
                 }
                 break;
             default:
@@ -203,6 +215,11 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
         return this.connection;
     }
 
+    @Override
+    public void forgetChannelState(ChannelUID channelUID) {
+        channelStates.remove(channelUID.getId());
+    }
+
     @Override
     public void addDeviceList(DeviceModel device) {
         try {
@@ -219,7 +236,7 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
                 }
                 if (device.isSwitchableOutlet() && device.getSwitch() != null) {
                     if (device.getSwitch().getState() == null) {
-                        updateState(CHANNEL_SWITCH, UnDefType.UNDEF);
+                        updateChannel(CHANNEL_SWITCH, UnDefType.UNDEF);
                     } else if (device.getSwitch().getState().equals(SwitchModel.ON)) {
                         updateSwitchChannel(OnOffType.ON);
                     } else if (device.getSwitch().getState().equals(SwitchModel.OFF)) {
@@ -236,14 +253,14 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
                     updateComfortTempChannel(device.getHkr().getKomfort());
                     if (device.getHkr().getNextchange() != null) {
                         if (device.getHkr().getNextchange().getEndperiod() == 0) {
-                            updateState(CHANNEL_NEXTCHANGE, UnDefType.UNDEF);
+                            updateChannel(CHANNEL_NEXTCHANGE, UnDefType.UNDEF);
                         } else {
                             updateNextChangeChannel(device.getHkr().getNextchange().getEndperiod());
                         }
                         updateNextTempChannel(device.getHkr().getNextchange().getTchange());
                     }
                     if (device.getHkr().getBatterylow() == null) {
-                        updateState(CHANNEL_BATTERY, UnDefType.UNDEF);
+                        updateChannel(CHANNEL_BATTERY, UnDefType.UNDEF);
                     } else if (device.getHkr().getBatterylow().equals(HeatingModel.BATTERY_ON)) {
                         updateBatteryChannel(OnOffType.ON);
                     } else if (device.getHkr().getBatterylow().equals(HeatingModel.BATTERY_OFF)) {
@@ -290,49 +307,61 @@ public class DeviceHandler extends BaseThingHandler implements IFritzHandler {
         }
     }
 
+    /**
+     * Updates a channel if its state differs from the state published last.
+     *
+     * @param channelId Channel to be updated.
+     * @param state New state of the channel.
+     */
+    private void updateChannel(String channelId, State state) {
+        if (!state.equals(channelStates.put(channelId, state))) {
+            updateState(channelId, state);
+        }
+    }
+
     public void updateTemperatureChannel(BigDecimal temperature) {
-        updateState(CHANNEL_TEMP, new DecimalType(temperature));
+        updateChannel(CHANNEL_TEMP, new DecimalType(temperature));
     }
 
     public void updateEnergyChannel(BigDecimal energy) {
-        updateState(CHANNEL_ENERGY, new DecimalType(energy));
+        updateChannel(CHANNEL_ENERGY, new DecimalType(energy));
     }
 
     public void updatePowerChannel(BigDecimal power) {
-        updateState(CHANNEL_POWER, new DecimalType(power));
+        updateChannel(CHANNEL_POWER, new DecimalType(power));
     }
 
     public void updateSwitchChannel(OnOffType state) {
-        updateState(CHANNEL_SWITCH, state);
+        updateChannel(CHANNEL_SWITCH, state);
     }
 
     public void updateActualTempChannel(BigDecimal temperature) {
-        updateState(CHANNEL_ACTUALTEMP, new DecimalType(temperature));
+        updateChannel(CHANNEL_ACTUALTEMP, new DecimalType(temperature));
     }
 
     public void updateSetTempChannel(BigDecimal temperature) {
-        updateState(CHANNEL_SETTEMP, new DecimalType(temperature));
+        updateChannel(CHANNEL_SETTEMP, new DecimalType(temperature));
     }
 
     public void updateEcoTempChannel(BigDecimal temperature) {
-        updateState(CHANNEL_ECOTEMP, new DecimalType(temperature));
+        updateChannel(CHANNEL_ECOTEMP, new DecimalType(temperature));
     }
 
     public void updateComfortTempChannel(BigDecimal temperature) {
-        updateState(CHANNEL_COMFORTTEMP, new DecimalType(temperature));
+        updateChannel(CHANNEL_COMFORTTEMP, new DecimalType(temperature));
     }
 
     public void updateNextChangeChannel(int timestamp) {
         Calendar calendar = Calendar.getInstance();
         calendar.setTime(new Date(timestamp * 1000L));
-        updateState(CHANNEL_NEXTCHANGE, new DateTimeType(calendar));
+        updateChannel(CHANNEL_NEXTCHANGE, new DateTimeType(calendar));
     }
 
     public void updateNextTempChannel(BigDecimal temperature) {
-        updateState(CHANNEL_NEXTTEMP, new DecimalType(temperature));
+        updateChannel(CHANNEL_NEXTTEMP, new DecimalType(temperature));
     }
 
     public void updateBatteryChannel(OnOffType state) {
-        updateState(CHANNEL_BATTERY, state);
+        updateChannel(CHANNEL_BATTERY, state);
     }
 }
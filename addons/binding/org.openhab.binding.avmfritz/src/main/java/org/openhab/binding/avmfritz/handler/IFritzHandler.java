@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.avmfritz.handler;
 
+import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.openhab.binding.avmfritz.internal.ahamodel.DeviceModel;
@@ -47,4 +48,12 @@ public interface IFritzHandler {
      * @return The web interface object
      */
     public FritzahaWebInterface getWebInterface();
+
+    /**
+     * Forgets the state published last for a channel, so that it is updated
+     * with the next poll even if its value did not change.
+     *
+     * @param channelUID Channel which received a command
+     */
+    public void forgetChannelState(ChannelUID channelUID);
 }
@@ -116,6 +116,18 @@ public class DeviceModel {
         this.ident = identifier;
     }
 
+    void setDeviceId(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    void setBitmask(int bitmask) {
+        this.bitmask = bitmask;
+    }
+
+    void setManufacturer(String manufacturer) {
+        this.deviceManufacturer = manufacturer;
+    }
+
     public boolean isSwitchableOutlet() {
         return (bitmask & DeviceModel.SWITCH_BIT) > 0;
     }
@@ -140,18 +152,34 @@ public class DeviceModel {
         return firmwareVersion;
     }
 
+    void setFirmwareVersion(String firmwareVersion) {
+        this.firmwareVersion = firmwareVersion;
+    }
+
     public String getProductName() {
         return productName;
     }
 
+    void setProductName(String productName) {
+        this.productName = productName;
+    }
+
     public int getPresent() {
         return present;
     }
 
+    void setPresent(Integer present) {
+        this.present = present;
+    }
+
     public String getName() {
         return name;
     }
 
+    void setName(String name) {
+        this.name = name;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this).append("ain", this.getIdentifier()).append("bitmask", this.bitmask)
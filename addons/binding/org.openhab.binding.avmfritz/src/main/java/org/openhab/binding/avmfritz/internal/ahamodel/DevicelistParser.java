@@ -0,0 +1,308 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.avmfritz.internal.ahamodel;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streaming parser for the response of the getdevicelistinfos command. It
+ * builds the same {@link DeviceModel}s as the JAXB binding of
+ * {@link DevicelistModel}, but remembers a hash of every device element it
+ * has seen, so that devices whose element did not change since the last
+ * response can be skipped.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class DevicelistParser {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private static final long HASH_SEED = 1125899906842597L;
+
+    /**
+     * Hash of the last device element by AIN
+     */
+    private final Map<String, Long> fragmentHashes = new HashMap<>();
+    /**
+     * Buffers reused for every parsed element
+     */
+    private final StringBuilder text = new StringBuilder();
+    private final Deque<String> elements = new ArrayDeque<>();
+
+    private long hash;
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Parses a device list and returns the devices which are new or have
+     * changed since the last call.
+     *
+     * @param xml Response of the getdevicelistinfos command
+     * @return Devices with changed data
+     * @throws XMLStreamException if the response is no well-formed XML
+     */
+    public synchronized List<DeviceModel> parseChangedDevices(String xml) throws XMLStreamException {
+        List<DeviceModel> changedDevices = new ArrayList<>();
+        Set<String> ains = new HashSet<>();
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(new StringReader(xml));
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "device".equals(reader.getLocalName())) {
+                    DeviceModel device = readDevice(reader);
+                    String ain = device.getIdentifier();
+                    if (ain == null) {
+                        continue;
+                    }
+                    ains.add(ain);
+                    Long lastHash = fragmentHashes.put(ain, hash);
+                    if (lastHash == null || lastHash != hash) {
+                        changedDevices.add(device);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        fragmentHashes.keySet().retainAll(ains);
+        return changedDevices;
+    }
+
+    /**
+     * Forgets the last state of a device, so that it is returned by the next
+     * call of {@link #parseChangedDevices(String)} even if it did not change.
+     *
+     * @param ain AIN of the device
+     */
+    public synchronized void forget(String ain) {
+        if (ain != null) {
+            fragmentHashes.remove(ain.replace(" ", ""));
+        }
+    }
+
+    /**
+     * Reads a device element up to its end tag and updates {@link #hash}
+     * with its attributes, elements and values.
+     */
+    private DeviceModel readDevice(XMLStreamReader reader) throws XMLStreamException {
+        DeviceModel device = new DeviceModel();
+        hash = HASH_SEED;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String name = reader.getAttributeLocalName(i);
+            String value = reader.getAttributeValue(i);
+            updateHash(name);
+            updateHash(value);
+            switch (name) {
+                case "identifier":
+                    device.setIdentifier(value);
+                    break;
+                case "id":
+                    device.setDeviceId(value);
+                    break;
+                case "functionbitmask":
+                    device.setBitmask(parseInt(value));
+                    break;
+                case "fwversion":
+                    device.setFirmwareVersion(value);
+                    break;
+                case "manufacturer":
+                    device.setManufacturer(value);
+                    break;
+                case "productname":
+                    device.setProductName(value);
+                    break;
+            }
+        }
+
+        elements.clear();
+        elements.push("device");
+        text.setLength(0);
+        while (!elements.isEmpty()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    String name = reader.getLocalName();
+                    updateHash(name);
+                    startElement(device, name);
+                    elements.push(name);
+                    text.setLength(0);
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    String element = elements.pop();
+                    String value = text.toString().trim();
+                    text.setLength(0);
+                    if (!value.isEmpty()) {
+                        updateHash(value);
+                        setValue(device, elements.peek(), element, value);
+                    }
+                    break;
+            }
+        }
+        return device;
+    }
+
+    private void startElement(DeviceModel device, String name) {
+        switch (name) {
+            case "switch":
+                device.setSwitch(new SwitchModel());
+                break;
+            case "powermeter":
+                device.setPowermeter(new PowerMeterModel());
+                break;
+            case "temperature":
+                device.setTemperature(new TemperatureModel());
+                break;
+            case "hkr":
+                device.setHkr(new HeatingModel());
+                break;
+            case "nextchange":
+                if (device.getHkr() != null) {
+                    device.getHkr().setNextchange(new HeatingModel.Nextchange());
+                }
+                break;
+        }
+    }
+
+    private void setValue(DeviceModel device, String parent, String element, String value) {
+        if (parent == null) {
+            return;
+        }
+        switch (parent) {
+            case "device":
+                if ("present".equals(element)) {
+                    device.setPresent(parseInt(value));
+                } else if ("name".equals(element)) {
+                    device.setName(value);
+                }
+                break;
+            case "switch":
+                setSwitchValue(device.getSwitch(), element, value);
+                break;
+            case "powermeter":
+                if ("power".equals(element)) {
+                    device.getPowermeter().setPower(parseDecimal(value));
+                } else if ("energy".equals(element)) {
+                    device.getPowermeter().setEnergy(parseDecimal(value));
+                }
+                break;
+            case "temperature":
+                if ("celsius".equals(element)) {
+                    device.getTemperature().setCelsius(parseDecimal(value));
+                } else if ("offset".equals(element)) {
+                    device.getTemperature().setOffset(parseDecimal(value));
+                }
+                break;
+            case "hkr":
+                setHeatingValue(device.getHkr(), element, value);
+                break;
+            case "nextchange":
+                HeatingModel.Nextchange nextchange = device.getHkr() != null ? device.getHkr().getNextchange() : null;
+                if (nextchange == null) {
+                    break;
+                }
+                if ("endperiod".equals(element)) {
+                    nextchange.setEndperiod(parseInt(value));
+                } else if ("tchange".equals(element)) {
+                    nextchange.setTchange(parseDecimal(value));
+                }
+                break;
+        }
+    }
+
+    private void setSwitchValue(SwitchModel switchModel, String element, String value) {
+        switch (element) {
+            case "state":
+                switchModel.setState(parseDecimal(value));
+                break;
+            case "mode":
+                switchModel.setMode(value);
+                break;
+            case "lock":
+                switchModel.setLock(parseDecimal(value));
+                break;
+        }
+    }
+
+    private void setHeatingValue(HeatingModel heatingModel, String element, String value) {
+        switch (element) {
+            case "tist":
+                heatingModel.setTist(parseDecimal(value));
+                break;
+            case "tsoll":
+                heatingModel.setTsoll(parseDecimal(value));
+                break;
+            case "absenk":
+                heatingModel.setAbsenk(parseDecimal(value));
+                break;
+            case "komfort":
+                heatingModel.setKomfort(parseDecimal(value));
+                break;
+            case "lock":
+                heatingModel.setLock(parseDecimal(value));
+                break;
+            case "devicelock":
+                heatingModel.setDevicelock(parseDecimal(value));
+                break;
+            case "errorcode":
+                heatingModel.setErrorcode(value);
+                break;
+            case "batterylow":
+                heatingModel.setBatterylow(parseDecimal(value));
+                break;
+        }
+    }
+
+    private void updateHash(String value) {
+        long h = hash;
+        for (int i = 0; i < value.length(); i++) {
+            h = 31 * h + value.charAt(i);
+        }
+        // separator, so that "ab" + "c" and "a" + "bc" differ
+        hash = 31 * h + 0xFFFF;
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
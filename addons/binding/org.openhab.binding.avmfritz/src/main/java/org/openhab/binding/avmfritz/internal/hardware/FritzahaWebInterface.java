@@ -29,6 +29,7 @@ import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.io.net.http.HttpUtil;
 import org.openhab.binding.avmfritz.config.AvmFritzConfiguration;
 import org.openhab.binding.avmfritz.handler.IFritzHandler;
+import org.openhab.binding.avmfritz.internal.ahamodel.DevicelistParser;
 import org.openhab.binding.avmfritz.internal.ahamodel.HeatingModel;
 import org.openhab.binding.avmfritz.internal.hardware.callbacks.FritzAhaCallback;
 import org.openhab.binding.avmfritz.internal.hardware.callbacks.FritzAhaSetHeatingTemperatureCallback;
@@ -68,6 +69,10 @@ public class FritzahaWebInterface {
      * Bridge thing handler for updating thing status
      */
     protected IFritzHandler fbHandler;
+    /**
+     * Parser for device list responses, remembers the last state of each device
+     */
+    private final DevicelistParser devicelistParser = new DevicelistParser();
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
     // Uses RegEx to handle bad FRITZ!Box XML
@@ -181,6 +186,10 @@ public class FritzahaWebInterface {
         return !(sid == null);
     }
 
+    public DevicelistParser getDevicelistParser() {
+        return devicelistParser;
+    }
+
     public AvmFritzConfiguration getConfig() {
         return config;
     }
@@ -314,11 +323,14 @@ public class FritzahaWebInterface {
     }
 
     public FritzahaContentExchange setSwitch(String ain, boolean switchOn) {
+        // report the device with the next poll even if the command had no effect
+        devicelistParser.forget(ain);
         FritzAhaSetSwitchCallback callback = new FritzAhaSetSwitchCallback(this, ain, switchOn);
         return asyncGet(callback);
     }
 
     public FritzahaContentExchange setSetTemp(String ain, BigDecimal temperature) {
+        devicelistParser.forget(ain);
         FritzAhaSetHeatingTemperatureCallback callback = new FritzAhaSetHeatingTemperatureCallback(this, ain,
                 temperature);
         return asyncGet(callback);
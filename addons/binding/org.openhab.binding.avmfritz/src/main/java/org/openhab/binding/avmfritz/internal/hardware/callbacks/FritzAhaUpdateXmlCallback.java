@@ -8,24 +8,22 @@
  */
 package org.openhab.binding.avmfritz.internal.hardware.callbacks;
 
-import java.io.StringReader;
+import java.util.List;
 
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
 
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.openhab.binding.avmfritz.handler.IFritzHandler;
 import org.openhab.binding.avmfritz.internal.ahamodel.DeviceModel;
-import org.openhab.binding.avmfritz.internal.ahamodel.DevicelistModel;
 import org.openhab.binding.avmfritz.internal.hardware.FritzahaWebInterface;
-import org.openhab.binding.avmfritz.util.JAXBtUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Callback implementation for updating multiple numbers decoded from a xml
- * response. Supports reauthorization.
+ * response. Only devices which changed since the last response are passed to
+ * the handler. Supports reauthorization.
  *
  * @author Robert Bausdorf
  * @author Christoph Weitkamp
@@ -60,18 +58,14 @@ public class FritzAhaUpdateXmlCallback extends FritzAhaReauthCallback {
         logger.trace("Received State response {}", response);
         if (isValidRequest()) {
             try {
-                final Unmarshaller jaxbUnmarshaller = JAXBtUtils.JAXBCONTEXT.createUnmarshaller();
-                final DevicelistModel model = (DevicelistModel) jaxbUnmarshaller.unmarshal(new StringReader(response));
-                if (model != null) {
-                    for (final DeviceModel device : model.getDevicelist()) {
-                        handler.addDeviceList(device);
-                    }
-                    handler.setStatusInfo(ThingStatus.ONLINE, ThingStatusDetail.NONE, "FRITZ!Box online");
-                } else {
-                    logger.warn("no model in response");
+                final List<DeviceModel> devices = getWebIface().getDevicelistParser().parseChangedDevices(response);
+                logger.debug("{} devices changed", devices.size());
+                for (final DeviceModel device : devices) {
+                    handler.addDeviceList(device);
                 }
-            } catch (JAXBException e) {
-                logger.error("Exception creating Unmarshaller: {}", e.getLocalizedMessage(), e);
+                handler.setStatusInfo(ThingStatus.ONLINE, ThingStatusDetail.NONE, "FRITZ!Box online");
+            } catch (XMLStreamException e) {
+                logger.error("Exception parsing device list: {}", e.getLocalizedMessage(), e);
             }
         } else {
             logger.info("request is invalid: {}", status);
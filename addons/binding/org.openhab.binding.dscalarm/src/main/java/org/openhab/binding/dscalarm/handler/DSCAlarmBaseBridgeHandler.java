@@ -14,6 +14,8 @@ import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -25,6 +27,7 @@ import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.dscalarm.config.DSCAlarmPartitionConfiguration;
@@ -57,13 +60,19 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
     private DSCAlarmDiscoveryService dscAlarmDiscoveryService = null;
 
     /** The Panel Thing handler for the bridge. */
-    private DSCAlarmBaseThingHandler panelThingHandler = null;
+    private volatile DSCAlarmBaseThingHandler panelThingHandler = null;
+
+    /** The Thing handlers by Thing type, partition and zone. */
+    private final Map<Integer, DSCAlarmBaseThingHandler> thingHandlers = new ConcurrentHashMap<>();
+
+    /** Lock serializing the commands written to the DSC Alarm. */
+    private final Object writeLock = new Object();
 
     /** Connection status for the bridge. */
     private boolean connected = false;
 
     /** Determines if things have changed. */
-    private boolean thingsHaveChanged = false;
+    private volatile boolean thingsHaveChanged = false;
 
     /** Determines if all things have been initialized. */
     private boolean allThingsInitialized = false;
@@ -381,6 +390,75 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof DSCAlarmBaseThingHandler) {
+            DSCAlarmBaseThingHandler handler = (DSCAlarmBaseThingHandler) childHandler;
+            if (handler.getDSCAlarmThingType() != null) {
+                thingHandlers.put(getThingHandlerKey(handler.getDSCAlarmThingType(), handler.getPartitionNumber(),
+                        handler.getZoneNumber()), handler);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        thingHandlers.values().remove(childHandler);
+    }
+
+    /**
+     * Returns the key of a Thing handler in the index. Zones are only identified by their zone number, as zone
+     * messages do not always include a partition.
+     */
+    private static int getThingHandlerKey(DSCAlarmThingType dscAlarmThingType, int partitionId, int zoneId) {
+        switch (dscAlarmThingType) {
+            case PARTITION:
+                return (dscAlarmThingType.ordinal() << 16) | (partitionId & 0xFFFF);
+            case ZONE:
+                return (dscAlarmThingType.ordinal() << 16) | (zoneId & 0xFFFF);
+            default:
+                return dscAlarmThingType.ordinal() << 16;
+        }
+    }
+
+    /**
+     * Find the handler of a Thing, using the index of Thing handlers. Falls back to searching the Things if the
+     * index has no or an outdated entry, e.g. after a handler has been reconfigured.
+     *
+     * @param dscAlarmThingType
+     * @param partitionId
+     * @param zoneId
+     * @return thing handler
+     */
+    private DSCAlarmBaseThingHandler findThingHandler(DSCAlarmThingType dscAlarmThingType, int partitionId,
+            int zoneId) {
+        int key = getThingHandlerKey(dscAlarmThingType, partitionId, zoneId);
+        DSCAlarmBaseThingHandler handler = thingHandlers.get(key);
+
+        if (handler != null && handler.getDSCAlarmThingType() != null && key == getThingHandlerKey(
+                handler.getDSCAlarmThingType(), handler.getPartitionNumber(), handler.getZoneNumber())) {
+            return handler;
+        }
+
+        Thing thing = findThing(dscAlarmThingType, partitionId, zoneId);
+        if (thing != null && thing.getHandler() instanceof DSCAlarmBaseThingHandler) {
+            handler = (DSCAlarmBaseThingHandler) thing.getHandler();
+            thingHandlers.put(key, handler);
+            return handler;
+        }
+
+        if (handler != null) {
+            thingHandlers.remove(key, handler);
+        }
+        return null;
+    }
+
     /**
      * Find a Thing.
      *
@@ -452,13 +530,21 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
      *
      * @param incomingMessage
      */
-    public synchronized void handleIncomingMessage(String incomingMessage) {
+    public void handleIncomingMessage(String incomingMessage) {
         if (incomingMessage != null && !incomingMessage.isEmpty()) {
             DSCAlarmMessage dscAlarmMessage = new DSCAlarmMessage(incomingMessage);
             DSCAlarmMessageType dscAlarmMessageType = dscAlarmMessage.getDSCAlarmMessageType();
 
-            logger.debug("handleIncomingMessage(): Message received: {} - {}", incomingMessage,
-                    dscAlarmMessage.toString());
+            if (logger.isDebugEnabled()) {
+                logger.debug("handleIncomingMessage(): Message received: {} - {}", incomingMessage,
+                        dscAlarmMessage.toString());
+            }
+
+            if (!dscAlarmMessage.isChecksumValid()) {
+                logger.warn("handleIncomingMessage(): Message '{}' has an invalid checksum, ignoring it!",
+                        incomingMessage);
+                return;
+            }
 
             DSCAlarmEvent event = new DSCAlarmEvent(this);
             event.dscAlarmEventMessage(dscAlarmMessage);
@@ -466,11 +552,11 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
             int partitionId = 0;
             int zoneId = 0;
 
-            DSCAlarmCode dscAlarmCode = DSCAlarmCode
-                    .getDSCAlarmCodeValue(dscAlarmMessage.getMessageInfo(DSCAlarmMessageInfoType.CODE));
+            DSCAlarmCode dscAlarmCode = dscAlarmMessage.getDSCAlarmCode();
 
-            if (panelThingHandler != null) {
-                panelThingHandler.setPanelMessage(dscAlarmMessage);
+            DSCAlarmBaseThingHandler panelHandler = panelThingHandler;
+            if (panelHandler != null) {
+                panelHandler.setPanelMessage(dscAlarmMessage);
             }
 
             if (dscAlarmCode == DSCAlarmCode.LoginResponse) {
@@ -495,12 +581,11 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
                     break;
                 case PARTITION_EVENT:
                     dscAlarmThingType = DSCAlarmThingType.PARTITION;
-                    partitionId = Integer
-                            .parseInt(event.getDSCAlarmMessage().getMessageInfo(DSCAlarmMessageInfoType.PARTITION));
+                    partitionId = dscAlarmMessage.getPartitionId();
                     break;
                 case ZONE_EVENT:
                     dscAlarmThingType = DSCAlarmThingType.ZONE;
-                    zoneId = Integer.parseInt(event.getDSCAlarmMessage().getMessageInfo(DSCAlarmMessageInfoType.ZONE));
+                    zoneId = dscAlarmMessage.getZoneId();
                     break;
                 case KEYPAD_EVENT:
                     dscAlarmThingType = DSCAlarmThingType.KEYPAD;
@@ -511,20 +596,17 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
 
             if (dscAlarmThingType != null) {
 
-                Thing thing = findThing(dscAlarmThingType, partitionId, zoneId);
-
-                logger.debug("handleIncomingMessage(): Thing Search - '{}'", thing);
+                DSCAlarmBaseThingHandler thingHandler = findThingHandler(dscAlarmThingType, partitionId, zoneId);
 
-                if (thing != null) {
-                    DSCAlarmBaseThingHandler thingHandler = (DSCAlarmBaseThingHandler) thing.getHandler();
+                logger.debug("handleIncomingMessage(): Thing Handler Search - '{}'", thingHandler);
 
-                    if (thingHandler != null) {
-                        if (thingHandler.isThingHandlerInitialized()) {
-                            thingHandler.dscAlarmEventReceived(event, thing);
+                if (thingHandler != null) {
+                    if (thingHandler.isThingHandlerInitialized()) {
+                        thingHandler.dscAlarmEventReceived(event, thingHandler.getThing());
 
-                        } else {
-                            logger.debug("handleIncomingMessage(): Thing '{}' Not Refreshed!", thing.getUID());
-                        }
+                    } else {
+                        logger.debug("handleIncomingMessage(): Thing '{}' Not Refreshed!",
+                                thingHandler.getThing().getUID());
                     }
                 } else {
                     logger.debug("handleIncomingMessage(): Thing Not Found! Send to Discovery Service!");
@@ -814,7 +896,9 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
 
         if (validCommand) {
             String cmd = dscAlarmCommand(command, data);
-            write(cmd);
+            synchronized (writeLock) {
+                write(cmd);
+            }
             successful = true;
             logger.debug("sendCommand(): '{}' Command Sent - {}", dscAlarmCode, cmd);
         } else {
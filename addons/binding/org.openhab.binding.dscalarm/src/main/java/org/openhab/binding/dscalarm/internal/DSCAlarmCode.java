@@ -192,6 +192,20 @@ public enum DSCAlarmCode {
      */
     private static Map<String, DSCAlarmCode> codeToDSCAlarmCodeValue;
 
+    /**
+     * Lookup table to get a DSCAlarmCode value from its numeric code.
+     */
+    private static final DSCAlarmCode[] NUMBER_TO_DSCALARM_CODE = new DSCAlarmCode[1000];
+
+    static {
+        initMapping();
+        for (DSCAlarmCode s : values()) {
+            if (s != UnknownCode) {
+                NUMBER_TO_DSCALARM_CODE[Integer.parseInt(s.code)] = s;
+            }
+        }
+    }
+
     /**
      * Constructor
      *
@@ -244,10 +258,6 @@ public enum DSCAlarmCode {
     public static DSCAlarmCode getDSCAlarmCodeValue(String code) {
         DSCAlarmCode dscAlarmCode;
 
-        if (codeToDSCAlarmCodeValue == null) {
-            initMapping();
-        }
-
         dscAlarmCode = codeToDSCAlarmCodeValue.get(code);
 
         if (dscAlarmCode == null) {
@@ -256,4 +266,18 @@ public enum DSCAlarmCode {
 
         return dscAlarmCode;
     }
+
+    /**
+     * Lookup function to return the DSCAlarmCode value based on the numeric code. Returns 'UnknownCode' if the code
+     * is not found.
+     *
+     * @param code
+     * @return enum value
+     */
+    public static DSCAlarmCode getDSCAlarmCodeValue(int code) {
+        DSCAlarmCode dscAlarmCode = code >= 0 && code < NUMBER_TO_DSCALARM_CODE.length ? NUMBER_TO_DSCALARM_CODE[code]
+                : null;
+
+        return dscAlarmCode != null ? dscAlarmCode : UnknownCode;
+    }
 }
@@ -48,14 +48,26 @@ public class DSCAlarmMessage {
 
     private DSCAlarmMessageType messageType = DSCAlarmMessageType.PANEL_EVENT;
 
-    private String message = "";
+    /** The message as received, including time stamp and checksum. */
+    private final String rawMessage;
+
+    /** Bounds of the command code and data within the raw message. */
+    private int start = 0;
+    private int end = 0;
+
+    /** Positions of the partition and zone numbers within the raw message, -1 if there are none. */
+    private int partitionStart = -1;
+    private int zoneStart = -1;
+
+    private DSCAlarmCode dscAlarmCode = DSCAlarmCode.UnknownCode;
+    private boolean checksumValid = true;
+    private int partitionId = 0;
+    private int zoneId = 0;
+
     private String name = "";
     private String description = "";
     private String codeReceived = "";
     private String timeStamp = "";
-    private String partition = "0";
-    private String zone = "0";
-    private String data = "";
     private String mode = "";
     private String user = "";
     private String error = "";
@@ -67,36 +79,36 @@ public class DSCAlarmMessage {
      *            - the message received
      */
     public DSCAlarmMessage(String message) {
-        this.message = message;
+        this.rawMessage = message;
         processDSCAlarmMessage();
     }
 
     /**
-     * Processes the incoming DSC Alarm message and extracts the information.
+     * Processes the incoming DSC Alarm message and extracts the information. The command code, checksum, partition
+     * and zone are decoded in place; strings for the other parts are only created when they are requested.
      */
     private void processDSCAlarmMessage() {
-        DSCAlarmCode dscAlarmCode;
+        String message = rawMessage;
 
         if (message.length() > 3) {
-            try {
-                if (message.length() >= 8 && message.charAt(2) == ':' && message.charAt(5) == ':') {
-                    timeStamp = message.substring(0, 8);
-                    message = message.substring(9, message.length() - 2);
-                } else {
-                    message = message.substring(0, message.length() - 2);
-                }
-
-                codeReceived = message.substring(0, 3);
+            if (message.length() >= 8 && message.charAt(2) == ':' && message.charAt(5) == ':') {
+                timeStamp = message.substring(0, 8);
+                start = 9;
+            }
+            end = message.length() - 2;
 
-                if (message.length() >= 4) {
-                    data = message.substring(3);
-                }
-            } catch (Exception e) {
-                logger.error("processDSCAlarmMessage(): Error processing message ({}) - {}", message, e);
+            if (end - start < 3) {
+                logger.error("processDSCAlarmMessage(): Error processing message ({}) - too short", message);
                 return;
             }
 
-            dscAlarmCode = DSCAlarmCode.getDSCAlarmCodeValue(codeReceived);
+            checksumValid = isChecksumValid(message, start, end)
+                    || (start > 0 && isChecksumValid(message, 0, end));
+
+            int code = parseNumber(message, start, start + 3);
+            dscAlarmCode = DSCAlarmCode.getDSCAlarmCodeValue(code);
+            codeReceived = dscAlarmCode != DSCAlarmCode.UnknownCode ? dscAlarmCode.getCode()
+                    : message.substring(start, start + 3);
 
             if (dscAlarmCode != null) {
 
@@ -109,16 +121,14 @@ public class DSCAlarmMessage {
                     boolean hasPartition = messageParms.hasPartition();
                     boolean hasZone = messageParms.hasZone();
 
-                    if (hasPartition) {
-                        partition = message.substring(3, 4);
+                    if (hasPartition && end > start + 3) {
+                        partitionStart = start + 3;
+                        partitionId = parseNumber(message, partitionStart, partitionStart + 1);
                     }
 
-                    if (hasZone) {
-                        if (hasPartition) {
-                            zone = message.substring(4);
-                        } else {
-                            zone = message.substring(3);
-                        }
+                    if (hasZone && end > (hasPartition ? start + 4 : start + 3)) {
+                        zoneStart = hasPartition ? start + 4 : start + 3;
+                        zoneId = parseNumber(message, zoneStart, end);
                     }
 
                     messageType = messageParms.getType();
@@ -128,7 +138,7 @@ public class DSCAlarmMessage {
                 switch (dscAlarmCode) {
                     case SystemError: /* 502 */
                         int systemErrorCode = 0;
-                        systemErrorCode = Integer.parseInt(data);
+                        systemErrorCode = Integer.parseInt(getData());
                         switch (systemErrorCode) {
                             case 1:
                                 error = "Receive Buffer Overrun";
@@ -216,7 +226,7 @@ public class DSCAlarmMessage {
                         break;
 
                     case PartitionArmed: /* 652 */
-                        mode = message.substring(4);
+                        mode = message.substring(start + 4, end);
                         if (mode.equals("0")) {
                             name += " (Away)";
                         } else if (mode.equals("1")) {
@@ -229,16 +239,16 @@ public class DSCAlarmMessage {
                         messageType = DSCAlarmMessageType.PARTITION_EVENT;
                         break;
                     case UserClosing: /* 700 */
-                        user = message.substring(4);
+                        user = message.substring(start + 4, end);
                         name = name.concat(": " + user);
-                        description = codeReceived + ": Partition " + String.valueOf(partition)
+                        description = codeReceived + ": Partition " + partitionId
                                 + " has been armed by user " + user + ".";
                         messageType = DSCAlarmMessageType.PARTITION_EVENT;
                         break;
                     case UserOpening: /* 750 */
-                        user = message.substring(4);
+                        user = message.substring(start + 4, end);
                         name = name.concat(": " + user);
-                        description = codeReceived + ": Partition " + String.valueOf(partition)
+                        description = codeReceived + ": Partition " + partitionId
                                 + " has been disarmed by user " + user + ".";
                         messageType = DSCAlarmMessageType.PARTITION_EVENT;
                         break;
@@ -247,20 +257,97 @@ public class DSCAlarmMessage {
                         break;
                 }
 
-                logger.debug(
-                        "parseAPIMessage(): Message Received ({}) - Code: {}, Name: {}, Description: {}, Data: {}\r\n",
-                        message, codeReceived, name, description, data);
+                if (logger.isDebugEnabled()) {
+                    logger.debug(
+                            "parseAPIMessage(): Message Received ({}) - Code: {}, Name: {}, Description: {}, Data: {}\r\n",
+                            getMessage(), codeReceived, name, description, getData());
+                }
             }
         } else {
             codeReceived = "-1";
-            data = "";
-            dscAlarmCode = DSCAlarmCode.getDSCAlarmCodeValue(codeReceived);
+            dscAlarmCode = DSCAlarmCode.UnknownCode;
             name = dscAlarmCode.getName();
             description = dscAlarmCode.getDescription();
             logger.debug("parseAPIMessage(): Invalid Message Received");
         }
     }
 
+    /**
+     * Checks the two hex digit checksum following the given range of the message.
+     */
+    private static boolean isChecksumValid(String message, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += message.charAt(i);
+        }
+        int checksum = (Character.digit(message.charAt(to), 16) << 4) | Character.digit(message.charAt(to + 1), 16);
+        return checksum == (sum & 0xFF);
+    }
+
+    /**
+     * Parses the decimal digits in the given range of the message.
+     *
+     * @return the number, or -1 if the range contains anything else
+     */
+    private static int parseNumber(String message, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = from; i < to; i++) {
+            char c = message.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    private String getMessage() {
+        return end > start ? rawMessage.substring(start, end) : rawMessage;
+    }
+
+    private String getData() {
+        return end - start >= 4 ? rawMessage.substring(start + 3, end) : "";
+    }
+
+    /**
+     * Returns the DSCAlarm Code of the message.
+     *
+     * @return dscAlarmCode
+     */
+    public DSCAlarmCode getDSCAlarmCode() {
+        return dscAlarmCode;
+    }
+
+    /**
+     * Returns whether the checksum of the message matches its content.
+     *
+     * @return checksumValid
+     */
+    public boolean isChecksumValid() {
+        return checksumValid;
+    }
+
+    /**
+     * Returns the partition number of a message with partition, 0 otherwise.
+     *
+     * @return partitionId
+     */
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    /**
+     * Returns the zone number of a message with zone, 0 otherwise.
+     *
+     * @return zoneId
+     */
+    public int getZoneId() {
+        return zoneId;
+    }
+
     /**
      * Returns the DSCAlarm Message Type.
      *
@@ -282,7 +369,7 @@ public class DSCAlarmMessage {
 
         switch (dscAlarmMessageInfoType) {
             case MESSAGE:
-                info = message;
+                info = getMessage();
                 break;
             case NAME:
                 info = name;
@@ -297,13 +384,13 @@ public class DSCAlarmMessage {
                 info = timeStamp;
                 break;
             case PARTITION:
-                info = partition;
+                info = partitionStart >= 0 ? rawMessage.substring(partitionStart, partitionStart + 1) : "0";
                 break;
             case ZONE:
-                info = zone;
+                info = zoneStart >= 0 ? rawMessage.substring(zoneStart, end) : "0";
                 break;
             case DATA:
-                info = data;
+                info = getData();
                 break;
             case MODE:
                 info = mode;
@@ -347,16 +434,19 @@ public class DSCAlarmMessage {
             sb.append(timeStamp);
         }
 
+        String partition = getMessageInfo(DSCAlarmMessageInfoType.PARTITION);
         if (!partition.equals("0")) {
             sb.append(", Partition: ");
             sb.append(partition);
         }
 
+        String zone = getMessageInfo(DSCAlarmMessageInfoType.ZONE);
         if (!zone.equals("0")) {
             sb.append(", Zone: ");
             sb.append(zone);
         }
 
+        String data = getData();
         if (!data.equals("")) {
             sb.append(", Data: ");
             sb.append(data);
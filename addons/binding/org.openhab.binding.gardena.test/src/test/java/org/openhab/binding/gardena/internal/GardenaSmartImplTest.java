@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.gardena.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jetty.http.HttpMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.gardena.internal.config.GardenaConfig;
+import org.openhab.binding.gardena.internal.exception.GardenaException;
+import org.openhab.binding.gardena.internal.model.Device;
+import org.openhab.binding.gardena.internal.model.NoResult;
+import org.openhab.binding.gardena.internal.model.deser.DateDeserializer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests the device refresh of {@link GardenaSmartImpl} against recorded Gardena Smart Home responses.
+ *
+ * @author agent - Initial contribution
+ */
+public class GardenaSmartImplTest {
+    private static final String MOWER_ID = "d1f3b5a7-0c2e-4f6a-8b9d-1e3c5a7b9d0f";
+    private static final String SENSOR_ID = "a2c4e6f8-1b3d-4e5f-9a7c-2d4f6b8e0a1c";
+    private static final String GATEWAY_ID = "f0e1d2c3-b4a5-4968-8776-655443322110";
+
+    private RecordedGardenaSmart gardenaSmart;
+    private CapturingScheduler scheduler;
+    private RecordingEventListener eventListener;
+
+    @Before
+    public void setUp() throws GardenaException {
+        scheduler = new CapturingScheduler();
+        eventListener = new RecordingEventListener();
+        gardenaSmart = new RecordedGardenaSmart();
+        gardenaSmart.init("test", new GardenaConfig("test@example.org", "secret"), eventListener, scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        gardenaSmart.dispose();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testLoadSkipsGateway() throws GardenaException {
+        assertEquals(MOWER_ID, gardenaSmart.getDevice(MOWER_ID).getId());
+        assertEquals(SENSOR_ID, gardenaSmart.getDevice(SENSOR_ID).getId());
+        try {
+            gardenaSmart.getDevice(GATEWAY_ID);
+            fail("The gateway must not be a device");
+        } catch (GardenaException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testUnchangedDevicesAreNotReported() {
+        scheduler.refresh();
+
+        assertTrue(eventListener.updatedDevices.isEmpty());
+        assertTrue(eventListener.newDevices.isEmpty());
+        assertTrue(eventListener.deletedDevices.isEmpty());
+    }
+
+    @Test
+    public void testChangedDeviceIsReported() {
+        gardenaSmart.devicesResource = "devices-light-changed.json";
+        scheduler.refresh();
+
+        assertEquals(1, eventListener.updatedDevices.size());
+        assertEquals(SENSOR_ID, eventListener.updatedDevices.get(0).getId());
+    }
+
+    @Test
+    public void testMowerCommandResetsSwitchOnNextRefresh() throws GardenaException {
+        Device mower = gardenaSmart.getDevice(MOWER_ID);
+        gardenaSmart.sendCommand(mower, GardenaSmartCommandName.PARK_UNTIL_NEXT_TIMER, Boolean.TRUE);
+
+        assertEquals(1, gardenaSmart.commandRequests);
+        assertEquals(1, scheduler.intermediateRefreshes);
+
+        // the values are unchanged, but the command switch must be reset
+        scheduler.refresh();
+        assertEquals(1, eventListener.updatedDevices.size());
+        Device updatedMower = eventListener.updatedDevices.get(0);
+        assertEquals(MOWER_ID, updatedMower.getId());
+        assertEquals("false", updatedMower.getAbility("mower").getProperty("park_until_next_timer").getValue());
+
+        // the command is reported once only
+        scheduler.refresh();
+        assertEquals(1, eventListener.updatedDevices.size());
+    }
+
+    @Test
+    public void testSensorCommandResetsSwitchOnNextRefresh() throws GardenaException {
+        gardenaSmart.sendCommand(gardenaSmart.getDevice(SENSOR_ID), GardenaSmartCommandName.MEASURE_LIGHT,
+                Boolean.TRUE);
+        scheduler.refresh();
+
+        assertEquals(1, eventListener.updatedDevices.size());
+        assertEquals(SENSOR_ID, eventListener.updatedDevices.get(0).getId());
+    }
+
+    @Test
+    public void testDurationIsNoCommand() throws GardenaException {
+        gardenaSmart.sendCommand(gardenaSmart.getDevice(MOWER_ID), GardenaSmartCommandName.DURATION_PROPERTY, "60");
+        scheduler.refresh();
+
+        assertEquals(0, gardenaSmart.commandRequests);
+        assertTrue(eventListener.updatedDevices.isEmpty());
+    }
+
+    /**
+     * Stands in for Gardena Smart Home and answers the requests with recorded responses.
+     */
+    private static class RecordedGardenaSmart extends GardenaSmartImpl {
+        private final Gson gson = new GsonBuilder().registerTypeAdapter(Date.class, new DateDeserializer()).create();
+
+        private String devicesResource = "devices.json";
+        private int commandRequests;
+
+        @Override
+        <T> T executeRequest(HttpMethod method, String url, Object contentObject, Class<T> result)
+                throws GardenaException {
+            if (url.contains("/command")) {
+                commandRequests++;
+            }
+            if (result == NoResult.class) {
+                return null;
+            }
+
+            String resource;
+            if (url.contains("/sessions")) {
+                resource = "session.json";
+            } else if (url.contains("/locations/")) {
+                resource = "locations.json";
+            } else if (url.contains("/devices/")) {
+                resource = devicesResource;
+            } else {
+                throw new GardenaException("Unexpected request " + method + " " + url);
+            }
+            return gson.fromJson(load(resource), result);
+        }
+
+        private String load(String resource) throws GardenaException {
+            InputStream in = getClass().getClassLoader().getResourceAsStream("gardena/" + resource);
+            if (in == null) {
+                throw new GardenaException("Recorded response " + resource + " not found");
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                StringBuilder content = new StringBuilder();
+                char[] buffer = new char[4096];
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    content.append(buffer, 0, read);
+                }
+                return content.toString();
+            } catch (IOException ex) {
+                throw new GardenaException(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Captures the scheduled refreshes instead of running them, so the test runs them when it wants to.
+     */
+    private static class CapturingScheduler extends ScheduledThreadPoolExecutor {
+        private Runnable refreshCommand;
+        private int intermediateRefreshes;
+
+        public CapturingScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+                TimeUnit unit) {
+            refreshCommand = command;
+            return super.scheduleWithFixedDelay(command, 1, 1, TimeUnit.DAYS);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            intermediateRefreshes++;
+            return super.schedule(command, 1, TimeUnit.DAYS);
+        }
+
+        public void refresh() {
+            refreshCommand.run();
+        }
+    }
+
+    private static class RecordingEventListener implements GardenaSmartEventListener {
+        private List<Device> updatedDevices = new ArrayList<Device>();
+        private List<Device> newDevices = new ArrayList<Device>();
+        private List<Device> deletedDevices = new ArrayList<Device>();
+
+        @Override
+        public void onDeviceUpdated(Device device) {
+            updatedDevices.add(device);
+        }
+
+        @Override
+        public void onNewDevice(Device device) {
+            newDevices.add(device);
+        }
+
+        @Override
+        public void onDeviceDeleted(Device device) {
+            deletedDevices.add(device);
+        }
+
+        @Override
+        public void onConnectionLost() {
+            fail("The connection must not be lost");
+        }
+
+        @Override
+        public void onConnectionResumed() {
+        }
+    }
+}
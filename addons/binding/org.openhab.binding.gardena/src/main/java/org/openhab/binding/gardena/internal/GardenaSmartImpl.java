@@ -8,12 +8,16 @@
  */
 package org.openhab.binding.gardena.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -21,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.ObjectUtils;
+import org.apache.commons.lang.StringUtils;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.HttpResponseException;
 import org.eclipse.jetty.client.api.ContentResponse;
@@ -97,7 +102,7 @@ public class GardenaSmartImpl implements GardenaSmart {
     private HttpClient httpClient;
 
     private String mowerDuration = DEFAULT_MOWER_DURATION;
-    private Session session;
+    private volatile Session session;
     private GardenaConfig config;
     private String id;
 
@@ -107,7 +112,13 @@ public class GardenaSmartImpl implements GardenaSmart {
 
     private GardenaSmartEventListener eventListener;
 
-    private Map<String, Device> allDevicesById = new HashMap<String, Device>();
+    private volatile Map<String, Device> allDevicesById = new HashMap<String, Device>();
+
+    /**
+     * The ids of the devices a command has been sent to, they are reported by the next refresh even if no value has
+     * changed, so the command channels are reset.
+     */
+    private Set<String> commandedDeviceIds = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
     private Set<Location> allLocations = new HashSet<Location>();
 
     /**
@@ -153,6 +164,7 @@ public class GardenaSmartImpl implements GardenaSmart {
         }
         allLocations.clear();
         allDevicesById.clear();
+        commandedDeviceIds.clear();
     }
 
     /**
@@ -344,6 +356,7 @@ public class GardenaSmartImpl implements GardenaSmart {
         if (command != null) {
             executeRequest(HttpMethod.POST, getCommandUrl(device, ability), command, NoResult.class);
         }
+        commandedDeviceIds.add(device.getId());
         scheduleIntermediateRefresh();
     }
 
@@ -355,9 +368,10 @@ public class GardenaSmartImpl implements GardenaSmart {
     }
 
     /**
-     * Communicates with Gardena Smart Home and parses the result.
+     * Communicates with Gardena Smart Home and parses the result. Requests are not serialized, so commands are sent
+     * while a refresh is running. Not private, so tests can answer the requests with recorded responses.
      */
-    private synchronized <T> T executeRequest(HttpMethod method, String url, Object contentObject, Class<T> result)
+    <T> T executeRequest(HttpMethod method, String url, Object contentObject, Class<T> result)
             throws GardenaException {
         try {
             if (logger.isTraceEnabled()) {
@@ -419,7 +433,7 @@ public class GardenaSmartImpl implements GardenaSmart {
     /**
      * Verifies the Gardena Smart Home session and reconnects if necessary.
      */
-    private void verifySession() throws GardenaException {
+    private synchronized void verifySession() throws GardenaException {
         if (session == null
                 || session.getCreated() + (config.getSessionTimeout() * 60000) <= System.currentTimeMillis()) {
             logger.trace("(Re)logging in to Gardena Smart Home");
@@ -428,6 +442,30 @@ public class GardenaSmartImpl implements GardenaSmart {
         }
     }
 
+    /**
+     * Returns true, if the name, the synchronization state or a property value of the device has changed.
+     */
+    private boolean isChanged(Device oldDevice, Device newDevice) {
+        if (!StringUtils.equals(oldDevice.getName(), newDevice.getName())
+                || oldDevice.isConfigurationSynchronized() != newDevice.isConfigurationSynchronized()) {
+            return true;
+        }
+        return !getPropertyValues(oldDevice).equals(getPropertyValues(newDevice));
+    }
+
+    /**
+     * Returns the values of all properties of the device by ability and property name.
+     */
+    private Map<String, String> getPropertyValues(Device device) {
+        Map<String, String> values = new HashMap<String, String>();
+        for (Ability ability : device.getAbilities()) {
+            for (Property property : ability.getProperties()) {
+                values.put(ability.getName() + "." + property.getName(), property.getValue());
+            }
+        }
+        return values;
+    }
+
     /**
      * Thread which refreshes the data from Gardena Smart Home.
      */
@@ -438,7 +476,7 @@ public class GardenaSmartImpl implements GardenaSmart {
          * {@inheritDoc}
          */
         @Override
-        public void run() {
+        public synchronized void run() {
             try {
                 logger.debug("Refreshing gardena device data");
                 Map<String, Device> newDevicesById = new HashMap<String, Device>();
@@ -470,10 +508,17 @@ public class GardenaSmartImpl implements GardenaSmart {
                 Collection<Device> newDevices = CollectionUtils.subtract(newDevicesById.values(),
                         allDevicesById.values());
 
-                // determine updated devices
-                @SuppressWarnings("unchecked")
-                Collection<Device> updatedDevices = CollectionUtils.intersection(allDevicesById.values(),
-                        newDevicesById.values());
+                // determine updated devices, only those with changed values or a command sent to
+                List<Device> updatedDevices = new ArrayList<Device>();
+                for (Device newDevice : newDevicesById.values()) {
+                    Device oldDevice = allDevicesById.get(newDevice.getId());
+                    boolean commanded = commandedDeviceIds.remove(newDevice.getId());
+                    if (oldDevice != null && (commanded || isChanged(oldDevice, newDevice))) {
+                        updatedDevices.add(newDevice);
+                    }
+                }
+                logger.debug("Gardena devices: {} new, {} deleted, {} updated", newDevices.size(),
+                        deletedDevices.size(), updatedDevices.size());
 
                 allDevicesById = newDevicesById;
                 newDevicesById = null;
@@ -14,6 +14,7 @@ import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
@@ -25,14 +26,21 @@ import java.net.SocketException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -50,6 +58,8 @@ import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+import org.openhab.binding.globalcache.internal.GlobalCacheCodeTable;
+import org.openhab.binding.globalcache.internal.GlobalCacheCodeTable.HexCodeConversionException;
 import org.openhab.binding.globalcache.internal.command.CommandGetstate;
 import org.openhab.binding.globalcache.internal.command.CommandGetversion;
 import org.openhab.binding.globalcache.internal.command.CommandSendir;
@@ -71,6 +81,8 @@ public class GlobalCacheHandler extends BaseThingHandler {
 
     private static final String GLOBALCACHE_THREAD_POOL = "globalCacheHandler";
 
+    private static final String TRANSFORM_FOLDER = "transform";
+
     private InetAddress ifAddress;
     private CommandProcessor commandProcessor;
     private ScheduledExecutorService scheduledExecutorService = ThreadPoolManager
@@ -79,6 +91,9 @@ public class GlobalCacheHandler extends BaseThingHandler {
 
     private LinkedBlockingQueue<RequestMessage> sendQueue = null;
 
+    // IR and serial codes of the MAP file
+    private GlobalCacheCodeTable codeTable;
+
     // IR transaction counter
     private AtomicInteger irCounter;
 
@@ -245,6 +260,50 @@ public class GlobalCacheHandler extends BaseThingHandler {
             return null;
         }
 
+        GlobalCacheCodeTable table = getCodeTable(mapFile);
+        if (table == null) {
+            // The map file is not in the transform folder, so leave it to the transformation service to find it
+            return transformCode(command, mapFile);
+        }
+
+        String code;
+        try {
+            code = table.lookup(command.toString());
+        } catch (IOException e) {
+            logger.error("Failed to read map file '{}' for thing {}, exception={}", mapFile, thingID(),
+                    e.getMessage());
+            return null;
+        }
+
+        if (code == null) {
+            logger.warn("No entry for {} in map file '{}' for thing {}", command, mapFile, thingID());
+            return null;
+        }
+
+        logger.debug("Found code for {} for thing {} in map file '{}'", command, thingID(), mapFile);
+        return code;
+    }
+
+    /*
+     * Get the code table for the MAP file, or null if the MAP file is not in the transform folder.
+     */
+    private synchronized GlobalCacheCodeTable getCodeTable(String mapFile) {
+        File file = new File(ConfigConstants.getConfigFolder() + File.separator + TRANSFORM_FOLDER + File.separator
+                + mapFile);
+        if (!file.isFile()) {
+            return null;
+        }
+        if (codeTable == null || !codeTable.getMapFile().equals(file)) {
+            logger.debug("Using code table for map file '{}' for thing {}", file, thingID());
+            codeTable = new GlobalCacheCodeTable(file);
+        }
+        return codeTable;
+    }
+
+    /*
+     * Look up the IR or serial command code using the MAP transformation service.
+     */
+    private String transformCode(Command command, String mapFile) {
         TransformationService transformService = TransformationHelper.getTransformationService(bundleContext, "MAP");
         if (transformService == null) {
             logger.error("Failed to get MAP transformation service for thing {}; is bundle installed?", thingID());
@@ -269,10 +328,10 @@ public class GlobalCacheHandler extends BaseThingHandler {
         logger.debug("Transformed {} for thing {} with map file '{}'", command, thingID(), mapFile);
 
         // Determine if the code is hex format. If so, convert to GC format
-        if (isHexCode(code)) {
+        if (GlobalCacheCodeTable.isHexCode(code)) {
             logger.debug("Code is in hex format, convert to GC format");
             try {
-                code = convertHexToGC(code);
+                code = GlobalCacheCodeTable.convertHexToGC(code);
                 logger.debug("Converted hex code is: {}", code);
             } catch (HexCodeConversionException e) {
                 logger.info("Failed to convert hex code to globalcache format: {}", e.getMessage());
@@ -282,72 +341,6 @@ public class GlobalCacheHandler extends BaseThingHandler {
         return code;
     }
 
-    /*
-     * Check if the string looks like a hex code; if not then assume it's GC format
-     */
-    private boolean isHexCode(String code) {
-        Pattern pattern = Pattern.compile("0000( +[0-9A-Fa-f][0-9A-Fa-f][0-9A-Fa-f][0-9A-Fa-f])+");
-        return pattern.matcher(code).find();
-    }
-
-    /*
-     * Convert a hex code IR string to a Global Cache formatted IR string
-     */
-    private String convertHexToGC(String hexCode) throws HexCodeConversionException {
-        // Magic number for converting frequency to GC format
-        final int freqConversionFactor = 4145146;
-        final int repeat = 1;
-        int frequency;
-        int sequence1Length;
-        int offset;
-
-        String[] hexCodeArray = hexCode.trim().split(" ");
-
-        if (hexCodeArray.length < 5) {
-            throw new HexCodeConversionException("Hex code is too short");
-        }
-
-        if (!hexCodeArray[0].equals("0000")) {
-            throw new HexCodeConversionException("Illegal hex code element 0, should be 0000");
-        }
-
-        try {
-            // Use magic number to get frequency
-            frequency = Math.round(freqConversionFactor / Integer.parseInt(hexCodeArray[1], 16));
-        } catch (Exception e) {
-            throw new HexCodeConversionException("Unable to convert frequency from element 1");
-        }
-
-        try {
-            // Offset is derived from sequenceLength1
-            sequence1Length = Integer.parseInt(hexCodeArray[2], 16);
-            offset = (sequence1Length * 2) + 1;
-        } catch (Exception e) {
-            throw new HexCodeConversionException("Unable to convert offset from element 2");
-        }
-
-        // sequenceLength2 (hexCodeArray[3]) is not used
-
-        StringBuilder gcCode = new StringBuilder();
-        gcCode.append(frequency);
-        gcCode.append(",");
-        gcCode.append(repeat);
-        gcCode.append(",");
-        gcCode.append(offset);
-
-        try {
-            // The remaining fields are just converted to decimal
-            for (int i = 4; i < hexCodeArray.length; i++) {
-                gcCode.append(",");
-                gcCode.append(Integer.parseInt(hexCodeArray[i], 16));
-            }
-        } catch (Exception e) {
-            throw new HexCodeConversionException("Unable to convert remaining hex code string");
-        }
-
-        return gcCode.toString();
-    }
-
     public static String getAsHexString(byte[] b) {
         StringBuilder sb = new StringBuilder();
 
@@ -415,25 +408,17 @@ public class GlobalCacheHandler extends BaseThingHandler {
         return thing.getStatusInfo().getStatusDetail();
     }
 
-    /**
-     * The {@link HexCodeConversionException} class is responsible for
-     *
-     * @author Mark Hilbush - Initial contribution
-     */
-    private class HexCodeConversionException extends Exception {
-        private static final long serialVersionUID = -4422352677677729196L;
-
-        public HexCodeConversionException(String message) {
-            super(message);
-        }
-    }
-
     /**
      * The {@link CommandProcessor} class is responsible for handling communication with the GlobalCache
      * device. It waits for requests to arrive on a queue. When a request arrives, it sends the command to the
-     * GlobalCache device, waits for a response from the device, parses the response, then responds to the caller by
-     * placing a message in a response queue. Device response time is typically well below 100 ms, hence the reason
-     * fgor a relatively low timeout when reading the response queue.
+     * GlobalCache device, and a {@link CommandReplyReader} responds to the caller by placing the device's reply in a
+     * response queue. Device response time is typically well below 100 ms, hence the reason fgor a relatively low
+     * timeout when reading the response queue.
+     *
+     * Commands are queued per module:connector address. Each connector has at most one command in flight, so an IR
+     * command is not sent before the completeir of the previous one on the same connector, but commands to different
+     * connectors are sent without waiting for each other's replies. Commands not addressed to a connector, such as
+     * getversion, are sent only when no other command is in flight.
      *
      * @author Mark Hilbush - Initial contribution
      */
@@ -444,9 +429,34 @@ public class GlobalCacheHandler extends BaseThingHandler {
         private final String TERMINATE_COMMAND = "terminate";
 
         private final int SEND_QUEUE_MAX_DEPTH = 10;
-        private final int SEND_QUEUE_TIMEOUT = 2000;
+        private final int SEND_QUEUE_TIMEOUT = 500;
+
+        // Matches the caller's timeout for the response queue
+        private final int REPLY_TIMEOUT = 3000;
+
+        // Key for commands that are not addressed to a module and connector
+        private final String UNADDRESSED = "";
+
+        // The module:connector address in replies like completeir,1:1,5 or ERR_1:1,001
+        private final Pattern REPLY_ADDRESS_PATTERN = Pattern.compile("^(?:ERR_|[^,]+,)(\\d+:\\d+)");
 
         private ConnectionManager connectionManager;
+        private CommandReplyReader replyReader;
+
+        // Commands waiting for their connector, by address
+        private final Map<String, Deque<PendingCommand>> waitingCommands = new LinkedHashMap<>();
+
+        // Commands sent to the device and waiting for a reply, by address, oldest first
+        private final Map<String, PendingCommand> inFlightCommands = new LinkedHashMap<>();
+
+        // Set when writing to the device failed; the connection is reset by the processor thread
+        private String commError;
+
+        // Metrics since the last connection check
+        private long transactions;
+        private long totalRoundTripTime;
+        private long maxRoundTripTime;
+        private int maxQueueDepth;
 
         public CommandProcessor() {
             super("GlobalCache Command Processor");
@@ -479,40 +489,29 @@ public class GlobalCacheHandler extends BaseThingHandler {
                 RequestMessage requestMessage;
                 while (!terminate) {
                     requestMessage = sendQueue.poll(SEND_QUEUE_TIMEOUT, TimeUnit.MILLISECONDS);
-                    if (requestMessage != null) {
-                        if (requestMessage.getCommandName().equals(TERMINATE_COMMAND)) {
-                            logger.debug("Processor for thing {} received terminate message", thingID());
-                            break;
-                        }
-
-                        String deviceReply;
-                        connectionManager.connect();
-                        if (connectionManager.isConnected()) {
-                            try {
-                                long startTime = System.currentTimeMillis();
-                                if (requestMessage.isCommand()) {
-                                    writeCommandToDevice(requestMessage);
-                                    deviceReply = readReplyFromDevice(requestMessage);
-                                } else {
-                                    writeSerialToDevice(requestMessage);
-                                    deviceReply = "successful";
-                                }
-                                long endTime = System.currentTimeMillis();
-                                logger.debug("Transaction '{}' for thing {} at {} took {} ms",
-                                        requestMessage.getCommandName(), thingID(), getIP(), endTime - startTime);
-
-                            } catch (IOException e) {
-                                logger.error("Comm error for thing {} at {}: {}", thingID(), getIP(), e.getMessage());
-                                deviceReply = "ERROR: " + e.getMessage();
-                                connectionManager.setCommError(deviceReply);
-                                connectionManager.disconnect();
-                            }
-                        } else {
-                            deviceReply = "ERROR: " + "No connection to device";
-                        }
-
-                        logger.trace("Processor for thing {} queuing response message: {}", thingID(), deviceReply);
-                        requestMessage.getReceiveQueue().put(new ResponseMessage(deviceReply));
+
+                    resetFailedConnection();
+                    expireCommands(System.currentTimeMillis());
+
+                    if (requestMessage == null) {
+                        continue;
+                    }
+                    if (requestMessage.getCommandName().equals(TERMINATE_COMMAND)) {
+                        logger.debug("Processor for thing {} received terminate message", thingID());
+                        break;
+                    }
+
+                    connectionManager.connect();
+                    if (!connectionManager.isConnected()) {
+                        respond(requestMessage, "ERROR: " + "No connection to device");
+                        continue;
+                    }
+                    startReplyReader();
+
+                    if (requestMessage.isCommand()) {
+                        queueCommand(requestMessage);
+                    } else {
+                        sendSerial(requestMessage);
                     }
                 }
             } catch (InterruptedException e) {
@@ -520,41 +519,245 @@ public class GlobalCacheHandler extends BaseThingHandler {
                 Thread.currentThread().interrupt();
             }
 
+            failCommands("ERROR: " + "Command processor terminated");
             connectionManager.cancelConnectionMonitorJob();
             connectionManager.disconnect();
+            stopReplyReader();
             connectionManager = null;
             logger.debug("Command processor TERMINATING for thing {} at IP {}", thingID(), getIP());
         }
 
         /*
-         * Write the command to the device.
+         * Reset the connection if writing to or reading from the device failed.
          */
-        private void writeCommandToDevice(RequestMessage requestMessage) throws IOException {
-            logger.trace("Processor for thing {} writing command to device", thingID());
+        private void resetFailedConnection() {
+            String error;
+            synchronized (this) {
+                error = commError;
+                commError = null;
+            }
+            if (error == null && (replyReader == null || replyReader.isRunning()
+                    || replyReader.getInput() != connectionManager.getCommandIn())) {
+                return;
+            }
+            if (error == null) {
+                error = "ERROR: " + "Connection to device was lost";
+            }
+            logger.error("Comm error for thing {} at {}: {}", thingID(), getIP(), error);
+            failCommands(error);
+            connectionManager.setCommError(error);
+            connectionManager.disconnect();
+            stopReplyReader();
+        }
+
+        private void startReplyReader() {
+            BufferedReader commandIn = connectionManager.getCommandIn();
+            if (commandIn == null || (replyReader != null && replyReader.getInput() == commandIn)) {
+                return;
+            }
+            stopReplyReader();
+            replyReader = new CommandReplyReader(commandIn);
+            replyReader.start();
+        }
+
+        private void stopReplyReader() {
+            if (replyReader != null) {
+                replyReader.stop();
+                replyReader = null;
+            }
+        }
+
+        private synchronized void queueCommand(RequestMessage requestMessage) {
+            String address = requestMessage.getConnectorAddress();
+            if (address == null) {
+                address = UNADDRESSED;
+            }
+            Deque<PendingCommand> queue = waitingCommands.get(address);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                waitingCommands.put(address, queue);
+            }
+            queue.add(new PendingCommand(requestMessage, address, System.currentTimeMillis()));
+
+            int queueDepth = getQueueDepth();
+            if (queueDepth > maxQueueDepth) {
+                maxQueueDepth = queueDepth;
+            }
+            logger.trace("Processor for thing {} queued '{}' for {}, queue depth={}", thingID(),
+                    requestMessage.getCommandName(), address, queueDepth);
 
-            if (connectionManager.getCommandOut() == null) {
+            sendWaitingCommands();
+        }
+
+        /*
+         * Send the next waiting command for every connector that has no command in flight.
+         */
+        private synchronized void sendWaitingCommands() {
+            if (inFlightCommands.containsKey(UNADDRESSED)) {
+                return;
+            }
+
+            // Let unaddressed commands drain the pipeline, so their replies cannot be mistaken for others
+            Deque<PendingCommand> unaddressed = waitingCommands.get(UNADDRESSED);
+            if (unaddressed != null && !unaddressed.isEmpty()) {
+                if (inFlightCommands.isEmpty()) {
+                    sendCommand(unaddressed.poll());
+                }
+                return;
+            }
+
+            for (Deque<PendingCommand> queue : waitingCommands.values()) {
+                PendingCommand next = queue.peek();
+                if (next != null && !inFlightCommands.containsKey(next.address)) {
+                    queue.poll();
+                    sendCommand(next);
+                }
+            }
+        }
+
+        private void sendCommand(PendingCommand pendingCommand) {
+            DataOutputStream commandOut = connectionManager.getCommandOut();
+            if (commandOut == null) {
                 logger.debug("Error writing to device because output stream object is null");
+                respond(pendingCommand.request, "ERROR: " + "No connection to device");
+                return;
+            }
+
+            logger.trace("Processor for thing {} writing command to device", thingID());
+            try {
+                byte[] deviceCommand = (pendingCommand.request.getDeviceCommand() + '\r').getBytes();
+                commandOut.write(deviceCommand);
+                commandOut.flush();
+            } catch (IOException e) {
+                respond(pendingCommand.request, "ERROR: " + e.getMessage());
+                commError = "ERROR: " + e.getMessage();
                 return;
             }
+            pendingCommand.sentTime = System.currentTimeMillis();
+            inFlightCommands.put(pendingCommand.address, pendingCommand);
+        }
+
+        /*
+         * Called by the reply reader for each line received on the command connection.
+         */
+        private synchronized void replyReceived(String deviceReply) {
+            PendingCommand pendingCommand;
+            Matcher matcher = REPLY_ADDRESS_PATTERN.matcher(deviceReply);
+            if (matcher.find()) {
+                pendingCommand = inFlightCommands.remove(matcher.group(1));
+            } else if (!inFlightCommands.isEmpty()) {
+                // Replies without an address, like GC-100 and Flex errors, belong to the oldest command in flight
+                pendingCommand = inFlightCommands.remove(inFlightCommands.keySet().iterator().next());
+            } else {
+                pendingCommand = null;
+            }
+
+            if (pendingCommand == null) {
+                logger.debug("Processor for thing {} ignoring unsolicited reply: {}", thingID(), deviceReply);
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            long roundTripTime = now - pendingCommand.sentTime;
+            transactions++;
+            totalRoundTripTime += roundTripTime;
+            if (roundTripTime > maxRoundTripTime) {
+                maxRoundTripTime = roundTripTime;
+            }
+            logger.debug("Transaction '{}' for thing {} at {} took {} ms, {} ms queued",
+                    pendingCommand.request.getCommandName(), thingID(), getIP(), now - pendingCommand.queuedTime,
+                    pendingCommand.sentTime - pendingCommand.queuedTime);
+
+            respond(pendingCommand.request, deviceReply);
+            sendWaitingCommands();
+        }
+
+        /*
+         * Fail the commands the caller has stopped waiting for, so a lost reply does not block the connector.
+         */
+        private synchronized void expireCommands(long now) {
+            Iterator<PendingCommand> inFlight = inFlightCommands.values().iterator();
+            while (inFlight.hasNext()) {
+                PendingCommand pendingCommand = inFlight.next();
+                if (now - pendingCommand.sentTime > REPLY_TIMEOUT) {
+                    inFlight.remove();
+                    logger.debug("Processor for thing {} timed out waiting for reply to '{}' on {}", thingID(),
+                            pendingCommand.request.getCommandName(), pendingCommand.address);
+                    respond(pendingCommand.request, "ERROR: " + "Timed out waiting for reply from device");
+                }
+            }
+            for (Deque<PendingCommand> queue : waitingCommands.values()) {
+                // Don't send commands late, e.g. an IR command the user has already given up on
+                while (!queue.isEmpty() && now - queue.peek().queuedTime > REPLY_TIMEOUT) {
+                    respond(queue.poll().request, "ERROR: " + "Timed out waiting for connector");
+                }
+            }
+            sendWaitingCommands();
+        }
+
+        private synchronized void failCommands(String error) {
+            for (PendingCommand pendingCommand : inFlightCommands.values()) {
+                respond(pendingCommand.request, error);
+            }
+            inFlightCommands.clear();
+            for (Deque<PendingCommand> queue : waitingCommands.values()) {
+                for (PendingCommand pendingCommand : queue) {
+                    respond(pendingCommand.request, error);
+                }
+                queue.clear();
+            }
+        }
 
-            byte[] deviceCommand = (requestMessage.getDeviceCommand() + '\r').getBytes();
-            connectionManager.getCommandOut().write(deviceCommand);
-            connectionManager.getCommandOut().flush();
+        private int getQueueDepth() {
+            int queueDepth = 0;
+            for (Deque<PendingCommand> queue : waitingCommands.values()) {
+                queueDepth += queue.size();
+            }
+            return queueDepth;
         }
 
         /*
-         * Read command reply from the device, then remove the CR at the end of the line.
+         * Log and reset the transaction metrics; called by the connection monitor.
          */
-        private String readReplyFromDevice(RequestMessage requestMessage) throws IOException {
-            logger.trace("Processor for thing {} reading reply from device", thingID());
+        public synchronized void logMetrics() {
+            if (transactions > 0) {
+                logger.debug(
+                        "Thing {} at {} completed {} transactions, round trip avg {} ms, max {} ms, max queue depth {}",
+                        thingID(), getIP(), transactions, totalRoundTripTime / transactions, maxRoundTripTime,
+                        maxQueueDepth);
+            }
+            transactions = 0;
+            totalRoundTripTime = 0;
+            maxRoundTripTime = 0;
+            maxQueueDepth = 0;
+        }
 
-            if (connectionManager.getCommandIn() == null) {
-                logger.debug("Error reading from device because input stream object is null");
-                return "ERROR: BufferedReader is null!";
+        private void respond(RequestMessage requestMessage, String deviceReply) {
+            logger.trace("Processor for thing {} queuing response message: {}", thingID(), deviceReply);
+            if (!requestMessage.getReceiveQueue().offer(new ResponseMessage(deviceReply))) {
+                logger.debug("Processor for thing {} dropped response because caller is gone: {}", thingID(),
+                        deviceReply);
             }
+        }
 
-            logger.trace("Processor for thing {} reading response from device", thingID());
-            return connectionManager.getCommandIn().readLine().trim();
+        private void sendSerial(RequestMessage requestMessage) {
+            String deviceReply;
+            try {
+                long startTime = System.currentTimeMillis();
+                writeSerialToDevice(requestMessage);
+                deviceReply = "successful";
+                long endTime = System.currentTimeMillis();
+                logger.debug("Transaction '{}' for thing {} at {} took {} ms", requestMessage.getCommandName(),
+                        thingID(), getIP(), endTime - startTime);
+            } catch (IOException e) {
+                logger.error("Comm error for thing {} at {}: {}", thingID(), getIP(), e.getMessage());
+                deviceReply = "ERROR: " + e.getMessage();
+                failCommands(deviceReply);
+                connectionManager.setCommError(deviceReply);
+                connectionManager.disconnect();
+                stopReplyReader();
+            }
+            respond(requestMessage, deviceReply);
         }
 
         /*
@@ -575,6 +778,88 @@ public class GlobalCacheHandler extends BaseThingHandler {
         }
     }
 
+    /*
+     * The {@link PendingCommand} class holds a command request while it waits for its connector and for the reply
+     * from the device.
+     *
+     * @author agent - Initial contribution
+     */
+    private static class PendingCommand {
+        private final RequestMessage request;
+        private final String address;
+        private final long queuedTime;
+        private long sentTime;
+
+        PendingCommand(RequestMessage request, String address, long queuedTime) {
+            this.request = request;
+            this.address = address;
+            this.queuedTime = queuedTime;
+        }
+    }
+
+    /*
+     * The {@link CommandReplyReader} class reads replies from the command connection and passes them to the
+     * command processor, which matches them to the commands in flight.
+     *
+     * @author agent - Initial contribution
+     */
+    private class CommandReplyReader {
+        private Logger logger = LoggerFactory.getLogger(CommandReplyReader.class);
+
+        private final BufferedReader commandIn;
+        private ScheduledFuture<?> commandReplyReaderJob;
+        private volatile boolean running;
+
+        private Runnable commandReplyReaderRunnable = new Runnable() {
+            @Override
+            public void run() {
+                commandReplyReader();
+            }
+        };
+
+        CommandReplyReader(BufferedReader commandIn) {
+            this.commandIn = commandIn;
+        }
+
+        public BufferedReader getInput() {
+            return commandIn;
+        }
+
+        public boolean isRunning() {
+            return running;
+        }
+
+        public void start() {
+            running = true;
+            commandReplyReaderJob = scheduledExecutorService.schedule(commandReplyReaderRunnable, 0,
+                    TimeUnit.SECONDS);
+        }
+
+        public void stop() {
+            if (commandReplyReaderJob != null) {
+                commandReplyReaderJob.cancel(true);
+                commandReplyReaderJob = null;
+            }
+        }
+
+        private void commandReplyReader() {
+            logger.debug("Command reply reader RUNNING for {} on {}", thingID(), getIP());
+            try {
+                String line;
+                while ((line = commandIn.readLine()) != null) {
+                    logger.trace("Processor for thing {} read reply from device: {}", thingID(), line);
+                    commandProcessor.replyReceived(line.trim());
+                }
+                logger.debug("Command reply reader got end of stream from {}", getIP());
+            } catch (IOException e) {
+                logger.debug("Command reply reader got IOException: {}", e.getMessage());
+            } finally {
+                running = false;
+            }
+            logger.debug("Command reply reader STOPPING for {} on {}", thingID(), getIP());
+        }
+    }
+
     /*
      * The {@link ConnectionManager} class is responsible for managing the state of the connections to the
      * command port and the serial port(s) of the device.
@@ -871,6 +1156,8 @@ public class GlobalCacheHandler extends BaseThingHandler {
         }
 
         private void checkConnection() {
+            commandProcessor.logMetrics();
+
             CommandGetversion getversion = new CommandGetversion(thing, sendQueue);
             getversion.executeQuiet();
 
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.globalcache.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link GlobalCacheCodeTable} holds the IR and serial codes of a MAP file, with IR codes in hex format already
+ * converted to GlobalCache format. The MAP file is read again when it changes on disk.
+ *
+ * @author Mark Hilbush - Initial contribution
+ * @author agent - Precompiled code table
+ */
+public class GlobalCacheCodeTable {
+    private final Logger logger = LoggerFactory.getLogger(GlobalCacheCodeTable.class);
+
+    private static final Pattern HEX_CODE_PATTERN = Pattern
+            .compile("0000( +[0-9A-Fa-f][0-9A-Fa-f][0-9A-Fa-f][0-9A-Fa-f])+");
+
+    private final File mapFile;
+
+    private Map<String, String> codes = Collections.emptyMap();
+    private long lastModified = -1;
+    private long length = -1;
+
+    public GlobalCacheCodeTable(File mapFile) {
+        this.mapFile = mapFile;
+    }
+
+    public File getMapFile() {
+        return mapFile;
+    }
+
+    /**
+     * Look up the code for a command, reading the MAP file first if it has changed since it was last read.
+     *
+     * @param command the command string, which is the key in the MAP file
+     * @return the code in GlobalCache format, or null if the MAP file has no valid entry for the command
+     * @throws IOException if the MAP file cannot be read
+     */
+    public synchronized String lookup(String command) throws IOException {
+        long modified = mapFile.lastModified();
+        long size = mapFile.length();
+        if (modified != lastModified || size != length) {
+            load();
+            lastModified = modified;
+            length = size;
+        }
+        return codes.get(command);
+    }
+
+    private void load() throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(mapFile.toPath(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        Map<String, String> newCodes = new HashMap<>();
+        for (String command : properties.stringPropertyNames()) {
+            String code = properties.getProperty(command);
+            if (code.isEmpty()) {
+                continue;
+            }
+            if (isHexCode(code)) {
+                try {
+                    code = convertHexToGC(code);
+                } catch (HexCodeConversionException e) {
+                    logger.info("Failed to convert hex code for {} in map file '{}' to globalcache format: {}",
+                            command, mapFile.getName(), e.getMessage());
+                    continue;
+                }
+            }
+            newCodes.put(command, code);
+        }
+        codes = newCodes;
+        logger.debug("Loaded {} codes from map file '{}'", codes.size(), mapFile.getName());
+    }
+
+    /*
+     * Check if the string looks like a hex code; if not then assume it's GC format
+     */
+    public static boolean isHexCode(String code) {
+        return HEX_CODE_PATTERN.matcher(code).find();
+    }
+
+    /*
+     * Convert a hex code IR string to a Global Cache formatted IR string
+     */
+    public static String convertHexToGC(String hexCode) throws HexCodeConversionException {
+        // Magic number for converting frequency to GC format
+        final int freqConversionFactor = 4145146;
+        final int repeat = 1;
+        int frequency;
+        int sequence1Length;
+        int offset;
+
+        String[] hexCodeArray = hexCode.trim().split(" ");
+
+        if (hexCodeArray.length < 5) {
+            throw new HexCodeConversionException("Hex code is too short");
+        }
+
+        if (!hexCodeArray[0].equals("0000")) {
+            throw new HexCodeConversionException("Illegal hex code element 0, should be 0000");
+        }
+
+        try {
+            // Use magic number to get frequency
+            frequency = Math.round(freqConversionFactor / Integer.parseInt(hexCodeArray[1], 16));
+        } catch (Exception e) {
+            throw new HexCodeConversionException("Unable to convert frequency from element 1");
+        }
+
+        try {
+            // Offset is derived from sequenceLength1
+            sequence1Length = Integer.parseInt(hexCodeArray[2], 16);
+            offset = (sequence1Length * 2) + 1;
+        } catch (Exception e) {
+            throw new HexCodeConversionException("Unable to convert offset from element 2");
+        }
+
+        // sequenceLength2 (hexCodeArray[3]) is not used
+
+        StringBuilder gcCode = new StringBuilder();
+        gcCode.append(frequency);
+        gcCode.append(",");
+        gcCode.append(repeat);
+        gcCode.append(",");
+        gcCode.append(offset);
+
+        try {
+            // The remaining fields are just converted to decimal
+            for (int i = 4; i < hexCodeArray.length; i++) {
+                gcCode.append(",");
+                gcCode.append(Integer.parseInt(hexCodeArray[i], 16));
+            }
+        } catch (Exception e) {
+            throw new HexCodeConversionException("Unable to convert remaining hex code string");
+        }
+
+        return gcCode.toString();
+    }
+
+    /**
+     * The {@link HexCodeConversionException} class is responsible for
+     *
+     * @author Mark Hilbush - Initial contribution
+     */
+    public static class HexCodeConversionException extends Exception {
+        private static final long serialVersionUID = -4422352677677729196L;
+
+        public HexCodeConversionException(String message) {
+            super(message);
+        }
+    }
+}
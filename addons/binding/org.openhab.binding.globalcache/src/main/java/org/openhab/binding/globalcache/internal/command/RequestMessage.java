@@ -9,6 +9,8 @@
 package org.openhab.binding.globalcache.internal.command;
 
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
 
@@ -19,6 +21,9 @@ import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
  * @author Mark Hilbush - Initial contribution
  */
 public class RequestMessage {
+    // The module:connector address in commands like sendir,1:1,...
+    private static final Pattern ADDRESS_PATTERN = Pattern.compile("^[^,]+,(\\d+:\\d+)");
+
     private LinkedBlockingQueue<ResponseMessage> rcvQueue;
     private String deviceCommand;
     private CommandType commandType;
@@ -40,6 +45,18 @@ public class RequestMessage {
         return commandName;
     }
 
+    /**
+     * @return the module:connector address the command is sent to, or null if the command is not addressed to a
+     *         connector
+     */
+    public String getConnectorAddress() {
+        if (deviceCommand == null) {
+            return null;
+        }
+        Matcher matcher = ADDRESS_PATTERN.matcher(deviceCommand);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
     public CommandType getCommandType() {
         return commandType;
     }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+/**
+ * Tests the decoding of recorded XML-RPC responses by {@link XmlRpcResponse}. The responses of a test are decoded on
+ * the same thread one after the other, so they are decoded by the same reused SAX parser.
+ *
+ * @author agent - Initial contribution
+ */
+public class XmlRpcResponseTest {
+    private static final String ENCODING = "ISO-8859-1";
+
+    /** Response which is cut off in the middle of a struct, like a connection closed while reading */
+    private static final String TRUNCATED_RESPONSE = "<?xml version=\"1.0\"?><methodResponse><params><param>"
+            + "<value><struct><member><name>STATE</name><value><boolean>1</boolean></value></member>"
+            + "<member><name>LEVEL</name><value><double>0.5";
+
+    /** Response with a value the decoding fails for after part of the response has been decoded */
+    private static final String INVALID_VALUE_RESPONSE = "<?xml version=\"1.0\"?><methodResponse><params><param>"
+            + "<value><struct><member><name>STATE</name><value><boolean>1</boolean></value></member>"
+            + "<member><name>LEVEL</name><value><unknown>0.5</unknown></value></member>"
+            + "</struct></value></param></params></methodResponse>";
+
+    @Test
+    public void testDecodeListDevices() throws Exception {
+        assertListDevices(decode("listDevices.xml"));
+    }
+
+    @Test
+    public void testDecodeGetParamset() throws Exception {
+        assertParamset(decode("getParamset.xml"));
+    }
+
+    @Test
+    public void testDecodeResponsesInARow() throws Exception {
+        assertListDevices(decode("listDevices.xml"));
+        assertParamset(decode("getParamset.xml"));
+        assertListDevices(decode("listDevices.xml"));
+    }
+
+    @Test
+    public void testDecodeAfterTruncatedResponse() throws Exception {
+        assertListDevices(decode("listDevices.xml"));
+        try {
+            decode(TRUNCATED_RESPONSE.getBytes(StandardCharsets.ISO_8859_1));
+            fail("The truncated response must not be decoded");
+        } catch (SAXException ex) {
+            // expected
+        }
+        assertParamset(decode("getParamset.xml"));
+    }
+
+    @Test
+    public void testDecodeAfterInvalidValue() throws Exception {
+        try {
+            decode(INVALID_VALUE_RESPONSE.getBytes(StandardCharsets.ISO_8859_1));
+            fail("The response with an unknown tag must not be decoded");
+        } catch (SAXException ex) {
+            // expected
+        }
+        assertParamset(decode("getParamset.xml"));
+        assertListDevices(decode("listDevices.xml"));
+    }
+
+    private void assertListDevices(XmlRpcResponse response) {
+        Object[] responseData = response.getResponseData();
+        assertEquals(1, responseData.length);
+
+        Object[] devices = (Object[]) responseData[0];
+        assertEquals(2, devices.length);
+
+        Map<?, ?> device = (Map<?, ?>) devices[0];
+        assertEquals("MEQ0123456", device.get("ADDRESS"));
+        assertEquals("HM-LC-Sw1-FM", device.get("TYPE"));
+        assertEquals(26, device.get("VERSION"));
+        assertArrayEquals(new Object[] { "MASTER", "LINK" }, (Object[]) device.get("PARAMSETS"));
+
+        Map<?, ?> channel = (Map<?, ?>) devices[1];
+        assertEquals("MEQ0123456:1", channel.get("ADDRESS"));
+        assertEquals("MEQ0123456", channel.get("PARENT"));
+        assertArrayEquals(new Object[] { "MASTER", "VALUES", "LINK" }, (Object[]) channel.get("PARAMSETS"));
+    }
+
+    private void assertParamset(XmlRpcResponse response) {
+        Object[] responseData = response.getResponseData();
+        assertEquals(1, responseData.length);
+
+        Map<?, ?> paramset = (Map<?, ?>) responseData[0];
+        assertEquals(5, paramset.size());
+        assertEquals(Boolean.TRUE, paramset.get("STATE"));
+        assertEquals(0.55, (Double) paramset.get("LEVEL"), 0.0001);
+        assertEquals(0, paramset.get("ON_TIME"));
+        assertEquals(Boolean.FALSE, paramset.get("WORKING"));
+        assertEquals("OK", paramset.get("INSTALL_TEST"));
+    }
+
+    private XmlRpcResponse decode(String resource) throws Exception {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("homematic/" + resource)) {
+            assertNotNull("Recorded response " + resource + " not found", is);
+            return new XmlRpcResponse(is, ENCODING);
+        }
+    }
+
+    private XmlRpcResponse decode(byte[] response) throws Exception {
+        return new XmlRpcResponse(new ByteArrayInputStream(response), ENCODING);
+    }
+}
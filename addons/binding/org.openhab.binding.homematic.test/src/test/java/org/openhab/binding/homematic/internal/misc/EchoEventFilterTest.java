@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.internal.misc;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+
+/**
+ * Tests the {@link EchoEventFilter} by replaying sent values and the events received for them.
+ *
+ * @author agent - Initial contribution
+ */
+public class EchoEventFilterTest {
+    private static final HmDatapointInfo LEVEL = new HmDatapointInfo("MEQ0123456", HmParamsetType.VALUES, 1,
+            "LEVEL");
+    private static final HmDatapointInfo STATE = new HmDatapointInfo("MEQ0123456", HmParamsetType.VALUES, 2,
+            "STATE");
+
+    private ClockedEchoEventFilter filter;
+
+    @Before
+    public void setUp() {
+        filter = new ClockedEchoEventFilter();
+    }
+
+    @Test
+    public void testEchoOfSentValueIsDropped() {
+        filter.valueSent(STATE, Boolean.TRUE);
+
+        assertTrue(filter.isEcho(STATE, Boolean.TRUE));
+        assertEquals(1, filter.getSuppressedEvents());
+    }
+
+    @Test
+    public void testEventWithOtherValueIsNoEcho() {
+        filter.valueSent(STATE, Boolean.TRUE);
+
+        assertFalse(filter.isEcho(STATE, Boolean.FALSE));
+        assertEquals(0, filter.getSuppressedEvents());
+    }
+
+    @Test
+    public void testEventOfOtherDatapointIsNoEcho() {
+        filter.valueSent(STATE, Boolean.TRUE);
+
+        assertFalse(filter.isEcho(LEVEL, Boolean.TRUE));
+        assertTrue(filter.isEcho(STATE, Boolean.TRUE));
+    }
+
+    @Test
+    public void testEchoIsDroppedOnce() {
+        filter.valueSent(STATE, Boolean.TRUE);
+
+        assertTrue(filter.isEcho(STATE, Boolean.TRUE));
+        assertFalse(filter.isEcho(STATE, Boolean.TRUE));
+        assertEquals(1, filter.getSuppressedEvents());
+    }
+
+    @Test
+    public void testSentValueIsComparedWithFirstEventOnly() {
+        filter.valueSent(STATE, Boolean.TRUE);
+
+        assertFalse(filter.isEcho(STATE, Boolean.FALSE));
+        assertFalse(filter.isEcho(STATE, Boolean.TRUE));
+    }
+
+    @Test
+    public void testLastSentValueIsCompared() {
+        filter.valueSent(LEVEL, 0.5);
+        filter.valueSent(LEVEL, 1.0);
+
+        assertFalse(filter.isEcho(LEVEL, 0.5));
+
+        filter.valueSent(LEVEL, 0.5);
+        filter.valueSent(LEVEL, 1.0);
+
+        assertTrue(filter.isEcho(LEVEL, 1.0));
+    }
+
+    @Test
+    public void testNumbersAreComparedByValue() {
+        filter.valueSent(LEVEL, Integer.valueOf(1));
+        assertTrue(filter.isEcho(LEVEL, Double.valueOf(1.0)));
+
+        filter.valueSent(LEVEL, Double.valueOf(0.0));
+        assertTrue(filter.isEcho(LEVEL, Integer.valueOf(0)));
+
+        filter.valueSent(LEVEL, Integer.valueOf(1));
+        assertFalse(filter.isEcho(LEVEL, Double.valueOf(0.99)));
+
+        assertEquals(2, filter.getSuppressedEvents());
+    }
+
+    @Test
+    public void testNumberAndStringAreDifferent() {
+        filter.valueSent(LEVEL, Integer.valueOf(1));
+
+        assertFalse(filter.isEcho(LEVEL, "1"));
+    }
+
+    @Test
+    public void testSentValueExpires() {
+        filter.valueSent(STATE, Boolean.TRUE);
+        filter.now += EchoEventFilter.ECHO_TIMEOUT;
+        assertTrue(filter.isEcho(STATE, Boolean.TRUE));
+
+        filter.valueSent(STATE, Boolean.TRUE);
+        filter.now += EchoEventFilter.ECHO_TIMEOUT + 1;
+        assertFalse(filter.isEcho(STATE, Boolean.TRUE));
+
+        assertEquals(1, filter.getSuppressedEvents());
+    }
+
+    @Test
+    public void testClearForgetsSentValues() {
+        filter.valueSent(STATE, Boolean.TRUE);
+        filter.clear();
+
+        assertFalse(filter.isEcho(STATE, Boolean.TRUE));
+    }
+
+    @Test
+    public void testSuppressedEventsOfEventSequence() {
+        // value sent from openHAB, echoed by the gateway, then changed at the device
+        filter.valueSent(STATE, Boolean.TRUE);
+        filter.valueSent(LEVEL, 0.7);
+        assertTrue(filter.isEcho(STATE, Boolean.TRUE));
+        assertTrue(filter.isEcho(LEVEL, 0.7));
+        assertFalse(filter.isEcho(LEVEL, 0.3));
+        assertFalse(filter.isEcho(STATE, Boolean.FALSE));
+
+        // the device did not accept the value sent
+        filter.valueSent(STATE, Boolean.TRUE);
+        assertFalse(filter.isEcho(STATE, Boolean.FALSE));
+
+        assertEquals(2, filter.getSuppressedEvents());
+    }
+
+    /**
+     * EchoEventFilter with a clock the test moves forward.
+     */
+    private static class ClockedEchoEventFilter extends EchoEventFilter {
+        private long now = 1000000;
+
+        @Override
+        protected long currentTimeMillis() {
+            return now;
+        }
+    }
+}
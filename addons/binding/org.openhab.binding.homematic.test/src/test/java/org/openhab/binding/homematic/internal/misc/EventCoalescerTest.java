@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.internal.misc;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.misc.EventCoalescer.EventCoalescerCallback;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests the {@link EventCoalescer} by replaying event sequences of a Homematic gateway.
+ *
+ * @author agent - Initial contribution
+ */
+public class EventCoalescerTest {
+    private static final long WINDOW = 200;
+
+    private CapturingScheduler scheduler;
+    private RecordingCallback callback;
+    private EventCoalescer coalescer;
+
+    private HmDatapoint level;
+    private HmDatapoint state;
+    private HmDatapoint pressShort;
+
+    @Before
+    public void setUp() {
+        scheduler = new CapturingScheduler();
+        callback = new RecordingCallback();
+        coalescer = new EventCoalescer(scheduler, WINDOW, callback);
+
+        HmDevice device = new HmDevice();
+        device.setAddress("MEQ0123456");
+        level = createDatapoint(device, 1, "LEVEL", HmValueType.FLOAT);
+        state = createDatapoint(device, 2, "STATE", HmValueType.BOOL);
+        pressShort = createDatapoint(device, 3, "PRESS_SHORT", HmValueType.ACTION);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testBurstIsMergedIntoLastValue() {
+        assertFalse(coalescer.eventReceived(level, 0.1));
+        assertTrue(coalescer.eventReceived(level, 0.4));
+        assertTrue(coalescer.eventReceived(level, 0.8));
+
+        assertTrue(callback.values.isEmpty());
+        assertEquals(1, scheduler.windows.size());
+        assertEquals(Long.valueOf(WINDOW), scheduler.delays.get(0));
+
+        scheduler.endWindows();
+
+        assertEquals(1, callback.values.size());
+        assertEquals(new HmDatapointInfo(level), callback.dpInfos.get(0));
+        assertEquals(0.8, callback.values.get(0));
+        assertEquals(2, coalescer.getMergedEvents());
+    }
+
+    @Test
+    public void testEventAfterWindowOpensNewWindow() {
+        coalescer.eventReceived(level, 0.1);
+        scheduler.endWindows();
+        assertFalse(coalescer.eventReceived(level, 0.2));
+        scheduler.endWindows();
+
+        assertEquals(2, callback.values.size());
+        assertEquals(0.1, callback.values.get(0));
+        assertEquals(0.2, callback.values.get(1));
+        assertEquals(0, coalescer.getMergedEvents());
+    }
+
+    @Test
+    public void testDatapointsAreMergedSeparately() {
+        coalescer.eventReceived(level, 0.1);
+        coalescer.eventReceived(state, Boolean.TRUE);
+        coalescer.eventReceived(level, 0.3);
+        coalescer.eventReceived(state, Boolean.FALSE);
+
+        assertEquals(2, scheduler.windows.size());
+        scheduler.endWindows();
+
+        assertEquals(2, callback.values.size());
+        assertEquals(0.3, callback.values.get(0));
+        assertEquals(Boolean.FALSE, callback.values.get(1));
+        assertEquals(2, coalescer.getMergedEvents());
+    }
+
+    @Test
+    public void testPressIsNeverMerged() {
+        assertFalse(coalescer.eventReceived(pressShort, Boolean.TRUE));
+        assertFalse(coalescer.eventReceived(pressShort, Boolean.TRUE));
+        assertFalse(coalescer.eventReceived(pressShort, Boolean.TRUE));
+
+        assertEquals(3, callback.values.size());
+        assertEquals(new HmDatapointInfo(pressShort), callback.dpInfos.get(0));
+        assertTrue(scheduler.windows.isEmpty());
+        assertEquals(0, coalescer.getMergedEvents());
+    }
+
+    @Test
+    public void testPressIsDeliveredWithinWindowOfOtherDatapoint() {
+        coalescer.eventReceived(level, 0.1);
+        coalescer.eventReceived(pressShort, Boolean.TRUE);
+
+        assertEquals(1, callback.values.size());
+        assertEquals(new HmDatapointInfo(pressShort), callback.dpInfos.get(0));
+
+        scheduler.endWindows();
+        assertEquals(2, callback.values.size());
+    }
+
+    @Test
+    public void testClearDiscardsPendingEvents() {
+        coalescer.eventReceived(level, 0.1);
+        coalescer.clear();
+        scheduler.endWindows();
+
+        assertTrue(callback.values.isEmpty());
+    }
+
+    private static HmDatapoint createDatapoint(HmDevice device, int channelNumber, String name, HmValueType type) {
+        HmChannel channel = new HmChannel();
+        channel.setNumber(channelNumber);
+        channel.setDevice(device);
+        device.addChannel(channel);
+
+        HmDatapoint dp = new HmDatapoint(name, name, type, null, false, HmParamsetType.VALUES);
+        channel.addDatapoint(dp);
+        return dp;
+    }
+
+    /**
+     * Captures the windows instead of scheduling them, so the test ends them when it wants to.
+     */
+    private static class CapturingScheduler extends ScheduledThreadPoolExecutor {
+        private List<Runnable> windows = new ArrayList<Runnable>();
+        private List<Long> delays = new ArrayList<Long>();
+
+        public CapturingScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            windows.add(command);
+            delays.add(unit.toMillis(delay));
+            return super.schedule(command, 1, TimeUnit.DAYS);
+        }
+
+        public void endWindows() {
+            List<Runnable> endedWindows = new ArrayList<Runnable>(windows);
+            windows.clear();
+            for (Runnable window : endedWindows) {
+                window.run();
+            }
+        }
+    }
+
+    private static class RecordingCallback implements EventCoalescerCallback {
+        private List<HmDatapointInfo> dpInfos = new ArrayList<HmDatapointInfo>();
+        private List<Object> values = new ArrayList<Object>();
+
+        @Override
+        public void eventReceived(HmDatapointInfo dpInfo, Object value) {
+            dpInfos.add(dpInfo);
+            values.add(value);
+        }
+    }
+}
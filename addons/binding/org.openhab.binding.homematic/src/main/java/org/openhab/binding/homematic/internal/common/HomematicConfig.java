@@ -50,6 +50,7 @@ public class HomematicConfig {
     private int socketMaxAlive = 900;
     private int timeout = 15;
     private int reconnectInterval = 0;
+    private int eventCoalescingWindow = 0;
 
     private HmGatewayInfo gatewayInfo;
 
@@ -199,6 +200,20 @@ public class HomematicConfig {
         this.reconnectInterval = reconnectInterval;
     }
 
+    /**
+     * Returns the window in milliseconds to merge bursts of events for the same datapoint.
+     */
+    public int getEventCoalescingWindow() {
+        return eventCoalescingWindow;
+    }
+
+    /**
+     * Sets the window in milliseconds to merge bursts of events for the same datapoint.
+     */
+    public void setEventCoalescingWindow(int eventCoalescingWindow) {
+        this.eventCoalescingWindow = eventCoalescingWindow;
+    }
+
     /**
      * Returns the HmGatewayType.
      */
@@ -343,7 +358,8 @@ public class HomematicConfig {
                 .append("gatewayType", gatewayType).append("rfPort", getRfPort()).append("wiredPort", getWiredPort())
                 .append("hmIpPort", getHmIpPort()).append("cuxdPort", getCuxdPort()).append("groupPort", getGroupPort())
                 .append("aliveInterval", aliveInterval).append("reconnectInterval", reconnectInterval)
-                .append("timeout", timeout).append("socketMaxAlive", socketMaxAlive);
+                .append("timeout", timeout).append("socketMaxAlive", socketMaxAlive)
+                .append("eventCoalescingWindow", eventCoalescingWindow);
         return tsb.toString();
     }
 }
@@ -57,6 +57,9 @@ import org.openhab.binding.homematic.internal.communicator.virtual.VirtualDatapo
 import org.openhab.binding.homematic.internal.communicator.virtual.VirtualGateway;
 import org.openhab.binding.homematic.internal.misc.DelayedExecuter;
 import org.openhab.binding.homematic.internal.misc.DelayedExecuter.DelayedExecuterCallback;
+import org.openhab.binding.homematic.internal.misc.EchoEventFilter;
+import org.openhab.binding.homematic.internal.misc.EventCoalescer;
+import org.openhab.binding.homematic.internal.misc.EventCoalescer.EventCoalescerCallback;
 import org.openhab.binding.homematic.internal.misc.HomematicClientException;
 import org.openhab.binding.homematic.internal.misc.MiscUtils;
 import org.openhab.binding.homematic.internal.model.HmChannel;
@@ -91,7 +94,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private HomematicGatewayListener eventListener;
     private long lastEventTime = System.currentTimeMillis();
     private DelayedExecuter delayedExecutor = new DelayedExecuter();
-    private Set<HmDatapointInfo> echoEvents = Collections.synchronizedSet(new HashSet<HmDatapointInfo>());
+    private EchoEventFilter echoEventFilter = new EchoEventFilter();
+    private volatile EventCoalescer eventCoalescer;
     private ScheduledFuture<?> eventTrackerThread;
     private ScheduledFuture<?> connectionTrackerThread;
     private ScheduledFuture<?> reconnectThread;
@@ -134,6 +138,21 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public void initialize() throws IOException {
         logger.debug("Initializing gateway with id '{}'", id);
 
+        if (config.getEventCoalescingWindow() > 0) {
+            eventCoalescer = new EventCoalescer(ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME),
+                    config.getEventCoalescingWindow(), new EventCoalescerCallback() {
+
+                        @Override
+                        public void eventReceived(HmDatapointInfo dpInfo, Object value) {
+                            try {
+                                handleEvent(getDatapoint(dpInfo), value);
+                            } catch (HomematicClientException ex) {
+                                // ignore datapoint not found
+                            }
+                        }
+                    });
+        }
+
         HmGatewayInfo gatewayInfo = config.getGatewayInfo();
         if (gatewayInfo.isHomegear()) {
             // Homegear
@@ -188,7 +207,12 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         stopServers();
         stopClients();
         devices.clear();
-        echoEvents.clear();
+        echoEventFilter.clear();
+        EventCoalescer coalescer = eventCoalescer;
+        eventCoalescer = null;
+        if (coalescer != null) {
+            coalescer.clear();
+        }
         availableInterfaces.clear();
         config.setGatewayInfo(null);
     }
@@ -579,9 +603,6 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private void sendDatapoint(final HmDatapoint dp, final HmDatapointConfig dpConfig, final Object newValue,
             final boolean ignoreVirtualDatapoints) throws IOException, HomematicClientException {
         final HmDatapointInfo dpInfo = new HmDatapointInfo(dp);
-        if (dp.isPressDatapoint() || (config.getGatewayInfo().isHomegear() && dp.isVariable())) {
-            echoEvents.add(dpInfo);
-        }
         if (dp.isReadOnly()) {
             logger.warn("Datapoint is readOnly, it is not published to the gateway with id '{}': '{}'", id, dpInfo);
         } else if (HmValueType.ACTION == dp.getType() && MiscUtils.isFalseValue(newValue)) {
@@ -607,10 +628,12 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                     } else if (dp.isVariable()) {
                         logger.debug("Sending variable '{}' with value '{}' to gateway with id '{}'", dp.getInfo(),
                                 newValue, id);
+                        echoEventFilter.valueSent(dpInfo, newValue);
                         setVariable(dp, newValue);
                     } else {
                         logger.debug("Sending datapoint '{}' with value '{}' to gateway with id '{}'", dpInfo, newValue,
                                 id);
+                        echoEventFilter.valueSent(dpInfo, newValue);
                         getRpcClient(dp.getChannel().getDevice().getHmInterface()).setDatapointValue(dp, newValue);
                     }
                     dp.setValue(newValue);
@@ -646,25 +669,41 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                 id);
         lastEventTime = System.currentTimeMillis();
 
-        if (echoEvents.remove(dpInfo)) {
-            logger.debug("Echo event detected, ignoring '{}'", dpInfo);
-        } else {
-            try {
-                HmDatapoint dp = getDatapoint(dpInfo);
-                dp.setValue(newValue);
+        if (echoEventFilter.isEcho(dpInfo, newValue)) {
+            logger.debug("Echo event detected, ignoring '{}' ({} echo events ignored)", dpInfo,
+                    echoEventFilter.getSuppressedEvents());
+            return;
+        }
 
-                eventListener.onStateUpdated(dp);
-                if (dp.isPressDatapoint() && MiscUtils.isTrueValue(dp.getValue())) {
-                    disableDatapoint(dp, DEFAULT_DISABLE_DELAY);
-                }
-                for (VirtualDatapointHandler vdph : virtualDatapointHandlers) {
-                    if (vdph.canHandleEvent(dp)) {
-                        vdph.handleEvent(this, dp);
-                        eventListener.onStateUpdated(vdph.getVirtualDatapoint(dp.getChannel()));
-                    }
-                }
-            } catch (HomematicClientException ex) {
-                // ignore datapoint not found
+        try {
+            HmDatapoint dp = getDatapoint(dpInfo);
+
+            EventCoalescer coalescer = eventCoalescer;
+            if (coalescer == null) {
+                handleEvent(dp, newValue);
+            } else if (coalescer.eventReceived(dp, newValue)) {
+                logger.trace("Merged event for '{}' into the pending one ({} events merged)", dpInfo,
+                        coalescer.getMergedEvents());
+            }
+        } catch (HomematicClientException ex) {
+            // ignore datapoint not found
+        }
+    }
+
+    /**
+     * Updates the datapoint with the value received from the gateway and passes it to the virtual datapoints.
+     */
+    private void handleEvent(HmDatapoint dp, Object newValue) {
+        dp.setValue(newValue);
+
+        eventListener.onStateUpdated(dp);
+        if (dp.isPressDatapoint() && MiscUtils.isTrueValue(dp.getValue())) {
+            disableDatapoint(dp, DEFAULT_DISABLE_DELAY);
+        }
+        for (VirtualDatapointHandler vdph : virtualDatapointHandlers) {
+            if (vdph.canHandleEvent(dp)) {
+                vdph.handleEvent(this, dp);
+                eventListener.onStateUpdated(vdph.getVirtualDatapoint(dp.getChannel()));
             }
         }
     }
@@ -8,13 +8,16 @@
  */
 package org.openhab.binding.homematic.internal.communicator.client;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.client.HttpClient;
-import org.eclipse.jetty.client.api.ContentResponse;
-import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.util.ByteBufferContentProvider;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
 import org.eclipse.jetty.http.HttpHeader;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
@@ -25,16 +28,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Client implementation for sending messages via XML-RPC to the Homematic server.
+ * Client implementation for sending messages via XML-RPC to the Homematic server. Several messages may be sent at the
+ * same time, responses are decoded while they are received.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class XmlRpcClient extends RpcClient<String> {
     private final Logger logger = LoggerFactory.getLogger(XmlRpcClient.class);
     private HttpClient httpClient;
+    private final Charset charset;
 
     public XmlRpcClient(HomematicConfig config) throws IOException {
         super(config);
+        try {
+            charset = Charset.forName(config.getEncoding());
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Unsupported encoding " + config.getEncoding(), ex);
+        }
+
         httpClient = new HttpClient();
         httpClient.setConnectTimeout(config.getTimeout() * 1000L);
 
@@ -59,7 +70,7 @@ public class XmlRpcClient extends RpcClient<String> {
      * {@inheritDoc}
      */
     @Override
-    public RpcRequest<String> createRpcRequest(String methodName) {
+    public XmlRpcRequest createRpcRequest(String methodName) {
         return new XmlRpcRequest(methodName);
     }
 
@@ -75,7 +86,7 @@ public class XmlRpcClient extends RpcClient<String> {
      * {@inheritDoc}
      */
     @Override
-    protected synchronized Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
+    protected Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
         if (logger.isTraceEnabled()) {
             logger.trace("Client XmlRpcRequest (port {}):\n{}", port, request);
         }
@@ -85,27 +96,32 @@ public class XmlRpcClient extends RpcClient<String> {
     /**
      * Sends the message, retries if there was an error.
      */
-    private synchronized Object[] sendMessage(int port, RpcRequest<String> request, int rpcRetryCounter)
-            throws IOException {
+    private Object[] sendMessage(int port, RpcRequest<String> request, int rpcRetryCounter) throws IOException {
         try {
-            BytesContentProvider content = new BytesContentProvider(
-                    request.createMessage().getBytes(config.getEncoding()));
+            ByteBufferContentProvider content = new ByteBufferContentProvider(createMessage(request));
             String url = String.format("http://%s:%s", config.getGatewayAddress(), port);
             if (port == config.getGroupPort()) {
                 url += "/groups";
             }
-            ContentResponse response = httpClient.POST(url).content(content)
-                    .timeout(config.getTimeout(), TimeUnit.SECONDS)
-                    .header(HttpHeader.CONTENT_TYPE, "text/xml;charset=" + config.getEncoding()).send();
+            InputStreamResponseListener listener = new InputStreamResponseListener();
+            httpClient.POST(url).content(content).timeout(config.getTimeout(), TimeUnit.SECONDS)
+                    .header(HttpHeader.CONTENT_TYPE, "text/xml;charset=" + charset.name()).send(listener);
 
-            String result = new String(response.getContent(), config.getEncoding());
+            Response response = listener.get(config.getTimeout(), TimeUnit.SECONDS);
+            if (response.getStatus() != 200) {
+                response.abort(new IOException("HTTP status " + response.getStatus()));
+                throw new IOException("XmlRpcRequest failed with HTTP status " + response.getStatus());
+            }
+
+            XmlRpcResponse xmlRpcResponse;
+            try (InputStream is = listener.getInputStream()) {
+                xmlRpcResponse = new XmlRpcResponse(is, charset.name());
+            }
             if (logger.isTraceEnabled()) {
-                logger.trace("Client XmlRpcResponse (port {}):\n{}", port, result);
+                logger.trace("Client XmlRpcResponse (port {}):\n{}", port, xmlRpcResponse);
             }
 
-            Object[] data = new XmlRpcResponse(new ByteArrayInputStream(result.getBytes(config.getEncoding())),
-                    config.getEncoding()).getResponseData();
-            return new RpcResponseParser(request).parse(data);
+            return new RpcResponseParser(request).parse(xmlRpcResponse.getResponseData());
         } catch (UnknownRpcFailureException | UnknownParameterSetException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -118,4 +134,14 @@ public class XmlRpcClient extends RpcClient<String> {
             }
         }
     }
+
+    /**
+     * Encodes the message of the request, requests created by this client are encoded without an intermediate String.
+     */
+    private ByteBuffer createMessage(RpcRequest<String> request) {
+        if (request instanceof XmlRpcRequest) {
+            return ((XmlRpcRequest) request).createMessage(charset);
+        }
+        return charset.encode(request.createMessage());
+    }
 }
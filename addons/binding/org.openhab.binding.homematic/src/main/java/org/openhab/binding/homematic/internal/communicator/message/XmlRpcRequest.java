@@ -10,6 +10,9 @@ package org.openhab.binding.homematic.internal.communicator.message;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -33,11 +36,23 @@ public class XmlRpcRequest implements RpcRequest<String> {
         RESPONSE;
     }
 
+    /** SimpleDateFormat is not thread safe and requests and responses are processed concurrently */
+    public static final ThreadLocal<SimpleDateFormat> XML_RPC_DATE_FORMAT = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss");
+        }
+    };
+
+    /** Every thread generates its messages into its own buffer, which is kept unless it grew too large */
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>();
+    private static final int BUFFER_SIZE = 1024;
+    private static final int MAX_BUFFER_SIZE = 64 * 1024;
+
     private String methodName;
     private List<Object> parms;
     private StringBuilder sb;
     private TYPE type;
-    public static SimpleDateFormat xmlRpcDateFormat = new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss");
 
     public XmlRpcRequest(String methodName) {
         this(methodName, TYPE.REQUEST);
@@ -65,6 +80,13 @@ public class XmlRpcRequest implements RpcRequest<String> {
         return toString();
     }
 
+    /**
+     * Generates the XML-RPC data encoded with the given charset, without creating an intermediate String.
+     */
+    public ByteBuffer createMessage(Charset charset) {
+        return charset.encode(CharBuffer.wrap(generateMessage()));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -78,7 +100,20 @@ public class XmlRpcRequest implements RpcRequest<String> {
      */
     @Override
     public String toString() {
-        sb = new StringBuilder();
+        return generateMessage().toString();
+    }
+
+    /**
+     * Generates the XML-RPC data into the buffer of the current thread. The returned buffer is only valid until the
+     * next message is generated by the same thread.
+     */
+    private StringBuilder generateMessage() {
+        sb = BUFFER.get();
+        if (sb == null || sb.capacity() > MAX_BUFFER_SIZE) {
+            sb = new StringBuilder(BUFFER_SIZE);
+            BUFFER.set(sb);
+        }
+        sb.setLength(0);
 
         sb.append("<?xml");
         attr("version", "1.0");
@@ -106,7 +141,7 @@ public class XmlRpcRequest implements RpcRequest<String> {
         } else {
             sb.append("</methodResponse>");
         }
-        return sb.toString();
+        return sb;
     }
 
     /**
@@ -145,7 +180,7 @@ public class XmlRpcRequest implements RpcRequest<String> {
             } else if (clazz == Boolean.class) {
                 tag("boolean", ((Boolean) value).booleanValue() ? "1" : "0");
             } else if (clazz == Date.class) {
-                tag("dateTime.iso8601", xmlRpcDateFormat.format(((Date) value)));
+                tag("dateTime.iso8601", XML_RPC_DATE_FORMAT.get().format(((Date) value)));
             } else if (value instanceof Calendar) {
                 generateValue(((Calendar) value).getTime());
             } else if (value instanceof byte[]) {
@@ -33,19 +33,41 @@ import org.xml.sax.helpers.DefaultHandler;
  * @author Gerhard Riegler - Initial contribution
  */
 public class XmlRpcResponse implements RpcResponse {
+    private static final SAXParserFactory PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    /** Creating a SAX parser is expensive, so every thread reuses its own parser */
+    private static final ThreadLocal<SAXParser> PARSER = new ThreadLocal<SAXParser>();
+
     private String methodName;
     private Object[] responseData;
 
     /**
-     * Decodes a XML-RPC message from the given InputStream.
+     * Decodes a XML-RPC message from the given InputStream while it is read.
      */
     public XmlRpcResponse(InputStream is, String encoding)
             throws SAXException, ParserConfigurationException, IOException {
-        SAXParserFactory factory = SAXParserFactory.newInstance();
-        SAXParser saxParser = factory.newSAXParser();
+        SAXParser saxParser = getParser();
         InputSource inputSource = new InputSource(is);
         inputSource.setEncoding(encoding);
-        saxParser.parse(inputSource, new XmlRpcHandler());
+        try {
+            saxParser.parse(inputSource, new XmlRpcHandler());
+        } finally {
+            saxParser.reset();
+        }
+    }
+
+    /**
+     * Returns the SAX parser of the current thread.
+     */
+    private static SAXParser getParser() throws SAXException, ParserConfigurationException {
+        SAXParser saxParser = PARSER.get();
+        if (saxParser == null) {
+            synchronized (PARSER_FACTORY) {
+                saxParser = PARSER_FACTORY.newSAXParser();
+            }
+            PARSER.set(saxParser);
+        }
+        return saxParser;
     }
 
     /**
@@ -81,7 +103,7 @@ public class XmlRpcResponse implements RpcResponse {
     private class XmlRpcHandler extends DefaultHandler {
         private List<Object> result = new ArrayList<Object>();
         private LinkedList<List<Object>> currentDataObject = new LinkedList<List<Object>>();
-        private StringBuilder tagValue;
+        private final StringBuilder tagValue = new StringBuilder();
         private boolean isValueTag;
 
         /**
@@ -112,7 +134,7 @@ public class XmlRpcResponse implements RpcResponse {
                 currentDataObject.addLast(new ArrayList<Object>());
             }
             isValueTag = tag.equals("value");
-            tagValue = new StringBuilder();
+            tagValue.setLength(0);
         }
 
         /**
@@ -163,7 +185,7 @@ public class XmlRpcResponse implements RpcResponse {
                     break;
                 case "datetime.iso8601":
                     try {
-                        data.add(XmlRpcRequest.xmlRpcDateFormat.parse(currentValue));
+                        data.add(XmlRpcRequest.XML_RPC_DATE_FORMAT.get().parse(currentValue));
                     } catch (ParseException ex) {
                         throw new SAXException(ex.getMessage(), ex);
                     }
@@ -189,7 +211,7 @@ public class XmlRpcResponse implements RpcResponse {
          */
         @Override
         public void characters(char[] ch, int start, int length) throws SAXException {
-            tagValue.append(new String(ch, start, length));
+            tagValue.append(ch, start, length);
         }
 
     }
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.internal.misc;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Remembers the values sent to the Homematic gateway for a short time to detect the events the gateway echoes back
+ * for them.
+ *
+ * @author agent - Initial contribution
+ */
+public class EchoEventFilter {
+    static final long ECHO_TIMEOUT = 5000;
+
+    private Map<HmDatapointInfo, SentValue> sentValues = new ConcurrentHashMap<HmDatapointInfo, SentValue>();
+    private AtomicLong suppressedEvents = new AtomicLong();
+
+    /**
+     * Remembers a value sent to the gateway for a datapoint.
+     */
+    public void valueSent(HmDatapointInfo dpInfo, Object value) {
+        sentValues.put(dpInfo, new SentValue(value, currentTimeMillis() + ECHO_TIMEOUT));
+    }
+
+    /**
+     * Returns true, if the event is the echo of the value sent last for the datapoint. Only the first event after
+     * sending a value is compared, so a sent value suppresses one event at most.
+     */
+    public boolean isEcho(HmDatapointInfo dpInfo, Object value) {
+        SentValue sentValue = sentValues.remove(dpInfo);
+        if (sentValue == null || sentValue.expires < currentTimeMillis() || !isSameValue(sentValue.value, value)) {
+            return false;
+        }
+        suppressedEvents.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns the number of echo events detected so far.
+     */
+    public long getSuppressedEvents() {
+        return suppressedEvents.get();
+    }
+
+    /**
+     * Forgets all sent values.
+     */
+    public void clear() {
+        sentValues.clear();
+    }
+
+    /**
+     * Returns the current time in milliseconds, the sent values expire by.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Compares numbers by their value, because the gateway may return another number type than the one sent.
+     */
+    private boolean isSameValue(Object sentValue, Object value) {
+        if (sentValue instanceof Number && value instanceof Number) {
+            return Double.compare(((Number) sentValue).doubleValue(), ((Number) value).doubleValue()) == 0;
+        }
+        return Objects.equals(sentValue, value);
+    }
+
+    private static class SentValue {
+        private final Object value;
+        private final long expires;
+
+        public SentValue(Object value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+}
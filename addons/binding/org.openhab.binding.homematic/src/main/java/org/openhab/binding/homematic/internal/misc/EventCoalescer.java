@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.internal.misc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges bursts of events for the same datapoint into one event with the last value. The first event of a burst
+ * opens a window of the given length, the events received within the window only replace the value delivered when
+ * it ends. Press events are never merged, every single press is delivered immediately.
+ *
+ * @author agent - Initial contribution
+ */
+public class EventCoalescer {
+    private final Logger logger = LoggerFactory.getLogger(EventCoalescer.class);
+
+    private Map<HmDatapointInfo, Object> pendingEvents = new HashMap<HmDatapointInfo, Object>();
+    private AtomicLong mergedEvents = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private long window;
+    private EventCoalescerCallback callback;
+
+    /**
+     * Creates a EventCoalescer with the given window in milliseconds.
+     */
+    public EventCoalescer(ScheduledExecutorService scheduler, long window, EventCoalescerCallback callback) {
+        this.scheduler = scheduler;
+        this.window = window;
+        this.callback = callback;
+    }
+
+    /**
+     * Delivers the value at the end of the window of the datapoint, opening the window if necessary. The value of a
+     * press datapoint is delivered immediately.
+     *
+     * @return true, if the event has been merged into a pending event of the datapoint
+     */
+    public boolean eventReceived(HmDatapoint dp, Object value) {
+        final HmDatapointInfo dpInfo = new HmDatapointInfo(dp);
+        if (dp.isPressDatapoint()) {
+            callback.eventReceived(dpInfo, value);
+            return false;
+        }
+
+        synchronized (pendingEvents) {
+            boolean pending = pendingEvents.containsKey(dpInfo);
+            pendingEvents.put(dpInfo, value);
+            if (pending) {
+                mergedEvents.incrementAndGet();
+                return true;
+            }
+        }
+
+        scheduler.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                deliver(dpInfo);
+            }
+        }, window, TimeUnit.MILLISECONDS);
+        return false;
+    }
+
+    /**
+     * Returns the number of events merged into a later event so far.
+     */
+    public long getMergedEvents() {
+        return mergedEvents.get();
+    }
+
+    /**
+     * Discards all pending events.
+     */
+    public void clear() {
+        synchronized (pendingEvents) {
+            pendingEvents.clear();
+        }
+    }
+
+    private void deliver(HmDatapointInfo dpInfo) {
+        Object value;
+        synchronized (pendingEvents) {
+            if (!pendingEvents.containsKey(dpInfo)) {
+                return;
+            }
+            value = pendingEvents.remove(dpInfo);
+        }
+
+        try {
+            callback.eventReceived(dpInfo, value);
+        } catch (Exception ex) {
+            logger.error("{}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Callback interface for the {@link EventCoalescer}.
+     *
+     * @author agent - Initial contribution
+     */
+    public interface EventCoalescerCallback {
+
+        public void eventReceived(HmDatapointInfo dpInfo, Object value);
+
+    }
+}
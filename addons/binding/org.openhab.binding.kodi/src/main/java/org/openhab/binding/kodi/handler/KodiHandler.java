@@ -129,14 +129,14 @@ public class KodiHandler extends BaseThingHandler implements KodiEventListener {
                         connection.playerFastForward();
                     }
                 } else if (command.equals(RefreshType.REFRESH)) {
-                    connection.updatePlayerStatus();
+                    connection.updatePlayerStatusAsync();
                 }
                 break;
             case CHANNEL_STOP:
                 if (command.equals(OnOffType.ON)) {
                     connection.playerStop();
                 } else if (command.equals(RefreshType.REFRESH)) {
-                    connection.updatePlayerStatus();
+                    connection.updatePlayerStatusAsync();
                 }
                 break;
             case CHANNEL_PLAYURI:
@@ -206,7 +206,7 @@ public class KodiHandler extends BaseThingHandler implements KodiEventListener {
             case CHANNEL_MEDIATYPE:
             case CHANNEL_PVR_CHANNEL:
                 if (command.equals(RefreshType.REFRESH)) {
-                    connection.updatePlayerStatus();
+                    connection.updatePlayerStatusAsync();
                 }
                 break;
             default:
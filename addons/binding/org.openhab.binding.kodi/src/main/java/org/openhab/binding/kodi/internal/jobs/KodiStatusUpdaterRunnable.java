@@ -33,7 +33,7 @@ public class KodiStatusUpdaterRunnable implements Runnable {
     @Override
     public void run() {
         if (this.connection.getState().equals(KodiState.Play)) {
-            this.connection.updatePlayerStatus();
+            this.connection.updatePlayerStatusAsync();
         }
     }
 
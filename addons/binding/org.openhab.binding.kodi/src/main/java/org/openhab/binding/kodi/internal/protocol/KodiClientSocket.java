@@ -9,9 +9,17 @@
 package org.openhab.binding.kodi.internal.protocol;
 
 import java.net.URI;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
@@ -24,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -32,6 +41,9 @@ import com.google.gson.JsonParser;
  * KodiClientSocket implements the low level communication to kodi through
  * websocket. Usually this communication is done through port 9090
  *
+ * Responses are matched to their requests by the JSON-RPC id, so any number of requests may be outstanding on the
+ * websocket at the same time.
+ *
  * @author Paul Frank
  *
  */
@@ -42,16 +54,17 @@ public class KodiClientSocket {
     private final ScheduledExecutorService scheduler;
     private static final int REQUEST_TIMEOUT_MS = 60000;
 
-    private CountDownLatch commandLatch = null;
-    private JsonObject commandResponse = null;
-    private int nextMessageId = 1;
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
+
+    /** The requests waiting for a response, by JSON-RPC id */
+    private final Map<Integer, CompletableFuture<JsonElement>> pendingRequests = new ConcurrentHashMap<>();
 
-    private boolean connected = false;
+    private volatile boolean connected = false;
 
     private final JsonParser parser = new JsonParser();
     private final Gson mapper = new Gson();
     private URI uri;
-    private Session session;
+    private volatile Session session;
     private WebSocketClient client;
 
     private final KodiClientSocketEventListener eventHandler;
@@ -100,6 +113,7 @@ public class KodiClientSocket {
         } catch (Exception e) {
             logger.error("Exception during closing the websocket {}", e.getMessage(), e);
         }
+        failPendingRequests("websocket closed");
     }
 
     public boolean isConnected() {
@@ -138,14 +152,17 @@ public class KodiClientSocket {
         @OnWebSocketMessage
         public void onMessage(String message) {
             logger.debug("Message received from server: {}", message);
-            final JsonObject json = parser.parse(message).getAsJsonObject();
-            if (json.has("id")) {
-                logger.debug("Response received from server: {}", json);
-                int messageId = json.get("id").getAsInt();
-                if (messageId == nextMessageId - 1) {
-                    commandResponse = json;
-                    commandLatch.countDown();
+            JsonElement element = parser.parse(message);
+            if (element.isJsonArray()) {
+                // response to a batch request
+                for (JsonElement response : element.getAsJsonArray()) {
+                    handleResponse(response.getAsJsonObject());
                 }
+                return;
+            }
+            final JsonObject json = element.getAsJsonObject();
+            if (json.has("id")) {
+                handleResponse(json);
             } else {
                 logger.debug("Event received from server: {}", json);
                 try {
@@ -176,6 +193,7 @@ public class KodiClientSocket {
             session = null;
             connected = false;
             logger.debug("Closing a WebSocket due to {}", reason);
+            failPendingRequests("websocket closed: " + reason);
             scheduler.submit(new Runnable() {
 
                 @Override
@@ -190,7 +208,35 @@ public class KodiClientSocket {
         }
     }
 
-    private void sendMessage(String str) throws Exception {
+    private void handleResponse(JsonObject response) {
+        logger.debug("Response received from server: {}", response);
+        JsonElement id = response.get("id");
+        if (id == null || id.isJsonNull()) {
+            // kodi could not parse the request, so it cannot tell which one it was
+            logger.debug("Error response without request id: {}", response);
+            return;
+        }
+        CompletableFuture<JsonElement> future = pendingRequests.remove(id.getAsInt());
+        if (future == null) {
+            logger.debug("Response to unknown or expired request {}", id);
+            return;
+        }
+        if (response.has("error")) {
+            logger.debug("Error response to request {}: {}", id, response.get("error"));
+        }
+        future.complete(response.get("result"));
+    }
+
+    private void failPendingRequests(String reason) {
+        for (Integer id : pendingRequests.keySet()) {
+            CompletableFuture<JsonElement> future = pendingRequests.remove(id);
+            if (future != null) {
+                future.completeExceptionally(new IllegalStateException(reason));
+            }
+        }
+    }
+
+    private synchronized void sendMessage(String str) throws Exception {
         if (isConnected()) {
             logger.debug("send message: {}", str);
             session.getRemote().sendString(str);
@@ -199,38 +245,130 @@ public class KodiClientSocket {
         }
     }
 
+    private JsonObject createRequest(int id, String methodName, JsonObject params) {
+        JsonObject payloadObject = new JsonObject();
+        payloadObject.addProperty("jsonrpc", "2.0");
+        payloadObject.addProperty("id", id);
+        payloadObject.addProperty("method", methodName);
+
+        if (params != null) {
+            payloadObject.add("params", params);
+        }
+        return payloadObject;
+    }
+
+    private CompletableFuture<JsonElement> registerRequest(final int id, final String methodName) {
+        final CompletableFuture<JsonElement> future = new CompletableFuture<>();
+        pendingRequests.put(id, future);
+        final ScheduledFuture<?> timeout = scheduler.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                if (pendingRequests.remove(id, future)) {
+                    future.completeExceptionally(new TimeoutException("Timeout during " + methodName));
+                }
+            }
+        }, REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, exception) -> timeout.cancel(false));
+        return future;
+    }
+
     public JsonElement callMethod(String methodName) {
         return callMethod(methodName, null);
     }
 
-    public synchronized JsonElement callMethod(String methodName, JsonObject params) {
+    /**
+     * Calls a method and waits for its result.
+     *
+     * @return the result, or null if the call failed or timed out
+     */
+    public JsonElement callMethod(String methodName, JsonObject params) {
         try {
-            JsonObject payloadObject = new JsonObject();
-            payloadObject.addProperty("jsonrpc", "2.0");
-            payloadObject.addProperty("id", nextMessageId);
-            payloadObject.addProperty("method", methodName);
+            JsonElement result = callMethodAsync(methodName, params).get();
+            logger.debug("callMethod returns {}", result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                logger.error("Timeout during callMethod({}, {})", methodName, params != null ? params.toString() : "");
+            } else {
+                logger.error("Error during callMethod", e.getCause());
+            }
+            return null;
+        }
+    }
 
-            if (params != null) {
-                payloadObject.add("params", params);
+    /**
+     * Calls a method without waiting for its result. The returned future is completed from the websocket thread, so
+     * dependent actions must not block; they may issue further asynchronous calls.
+     *
+     * @return the future result, which is null if kodi returned an error
+     */
+    public CompletableFuture<JsonElement> callMethodAsync(String methodName, JsonObject params) {
+        int id = nextMessageId.getAndIncrement();
+        CompletableFuture<JsonElement> future = registerRequest(id, methodName);
+        try {
+            sendMessage(mapper.toJson(createRequest(id, methodName, params)));
+        } catch (Exception e) {
+            pendingRequests.remove(id);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Sends several method calls in a single JSON-RPC batch request.
+     *
+     * @return the future results in the order of the calls
+     */
+    public CompletableFuture<List<JsonElement>> callBatchAsync(List<MethodCall> calls) {
+        final List<CompletableFuture<JsonElement>> futures = new ArrayList<>(calls.size());
+        List<Integer> ids = new ArrayList<>(calls.size());
+        JsonArray batch = new JsonArray();
+        for (MethodCall call : calls) {
+            int id = nextMessageId.getAndIncrement();
+            ids.add(id);
+            futures.add(registerRequest(id, call.getMethodName()));
+            batch.add(createRequest(id, call.getMethodName(), call.getParams()));
+        }
+        try {
+            sendMessage(mapper.toJson(batch));
+        } catch (Exception e) {
+            for (int i = 0; i < ids.size(); i++) {
+                pendingRequests.remove(ids.get(i));
+                futures.get(i).completeExceptionally(e);
             }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+                .thenApply(v -> {
+                    List<JsonElement> results = new ArrayList<>(futures.size());
+                    for (CompletableFuture<JsonElement> future : futures) {
+                        results.add(future.join());
+                    }
+                    return results;
+                });
+    }
 
-            String message = mapper.toJson(payloadObject);
+    /**
+     * A single method call of a batch request.
+     */
+    public static class MethodCall {
+        private final String methodName;
+        private final JsonObject params;
 
-            commandLatch = new CountDownLatch(1);
-            commandResponse = null;
-            nextMessageId++;
+        public MethodCall(String methodName, JsonObject params) {
+            this.methodName = methodName;
+            this.params = params;
+        }
 
-            sendMessage(message);
-            if (commandLatch.await(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-                logger.debug("callMethod returns {}", commandResponse.toString());
-                return commandResponse.get("result");
-            } else {
-                logger.error("Timeout during callMethod({}, {})", methodName, params != null ? params.toString() : "");
-                return null;
-            }
-        } catch (Exception e) {
-            logger.error("Error during callMethod", e);
-            return null;
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public JsonObject getParams() {
+            return params;
         }
     }
 }
@@ -9,11 +9,16 @@
 package org.openhab.binding.kodi.internal.protocol;
 
 import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
 
-import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.kodi.internal.KodiEventListener;
 import org.openhab.binding.kodi.internal.KodiEventListener.KodiState;
+import org.openhab.binding.kodi.internal.protocol.KodiClientSocket.MethodCall;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,11 +40,22 @@ public class KodiConnection implements KodiClientSocketEventListener {
 
     private static final int VOLUMESTEP = 10;
 
+    /** A lookup miss reloads the PVR directory if it is older than this */
+    private static final long PVR_DIRECTORY_MIN_AGE_MS = 60000;
+    /** A lookup reloads the PVR directory in the background if it is older than this */
+    private static final long PVR_DIRECTORY_MAX_AGE_MS = 3600000;
+
+    private static final String[] PLAYER_ITEM_PROPERTIES = { "title", "album", "artist", "director", "thumbnail",
+            "file", "fanart", "showtitle", "streamdetails", "channel", "channeltype" };
+
     private URI wsUri;
-    private KodiClientSocket socket;
+    private volatile KodiClientSocket socket;
+
+    private final AtomicInteger volume = new AtomicInteger();
+    private volatile KodiState currentState = KodiState.Stop;
 
-    private int volume = 0;
-    private KodiState currentState = KodiState.Stop;
+    private volatile KodiPVRDirectory pvrDirectory;
+    private CompletableFuture<KodiPVRDirectory> pvrDirectoryRefresh;
 
     private final KodiEventListener listener;
 
@@ -48,13 +64,14 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     @Override
-    public synchronized void onConnectionClosed() {
+    public void onConnectionClosed() {
         listener.updateConnectionState(false);
     }
 
     @Override
-    public synchronized void onConnectionOpened() {
+    public void onConnectionOpened() {
         listener.updateConnectionState(true);
+        refreshPVRDirectory();
     }
 
     public synchronized void connect(String hostName, int port, ScheduledExecutorService scheduler) {
@@ -68,7 +85,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private int getActivePlayer() {
-        JsonElement response = socket.callMethod("Player.GetActivePlayers");
+        return toActivePlayer(socket.callMethod("Player.GetActivePlayers"));
+    }
+
+    private int toActivePlayer(JsonElement response) {
         if (response != null) {
             boolean playing = response.isJsonArray() && response.getAsJsonArray().size() > 0;
             if (playing) {
@@ -79,21 +99,21 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return -1;
     }
 
-    public synchronized void playerPlayPause() {
+    public void playerPlayPause() {
         int activePlayer = getActivePlayer();
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         socket.callMethod("Player.PlayPause", params);
     }
 
-    public synchronized void playerStop() {
+    public void playerStop() {
         int activePlayer = getActivePlayer();
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         socket.callMethod("Player.Stop", params);
     }
 
-    public synchronized void playerNext() {
+    public void playerNext() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -101,10 +121,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
         params.addProperty("to", "next");
         socket.callMethod("Player.GoTo", params);
 
-        updatePlayerStatus();
+        updatePlayerStatusAsync();
     }
 
-    public synchronized void playerPrevious() {
+    public void playerPrevious() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -112,10 +132,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
         params.addProperty("to", "previous");
         socket.callMethod("Player.GoTo", params);
 
-        updatePlayerStatus();
+        updatePlayerStatusAsync();
     }
 
-    public synchronized void playerRewind() {
+    public void playerRewind() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -123,10 +143,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
         params.addProperty("speed", "-1");
         socket.callMethod("Player.SetSpeed", params);
 
-        updatePlayerStatus();
+        updatePlayerStatusAsync();
     }
 
-    public synchronized void playerFastForward() {
+    public void playerFastForward() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -134,70 +154,95 @@ public class KodiConnection implements KodiClientSocketEventListener {
         params.addProperty("speed", "2");
         socket.callMethod("Player.SetSpeed", params);
 
-        updatePlayerStatus();
+        updatePlayerStatusAsync();
     }
 
-    public synchronized void increaseVolume() {
-        this.volume += VOLUMESTEP;
-        JsonObject params = new JsonObject();
-        params.addProperty("volume", volume);
-        socket.callMethod("Application.SetVolume", params);
+    public void increaseVolume() {
+        sendVolume(volume.addAndGet(VOLUMESTEP));
     }
 
-    public synchronized void decreaseVolume() {
-        this.volume -= VOLUMESTEP;
-        JsonObject params = new JsonObject();
-        params.addProperty("volume", volume);
-        socket.callMethod("Application.SetVolume", params);
+    public void decreaseVolume() {
+        sendVolume(volume.addAndGet(-VOLUMESTEP));
+    }
+
+    public void setVolume(int volume) {
+        this.volume.set(volume);
+        sendVolume(volume);
     }
 
-    public synchronized void setVolume(int volume) {
-        this.volume = volume;
+    private void sendVolume(int volume) {
         JsonObject params = new JsonObject();
         params.addProperty("volume", volume);
         socket.callMethod("Application.SetVolume", params);
     }
 
     public int getVolume() {
-        return volume;
+        return volume.get();
     }
 
-    public synchronized void setMute(boolean mute) {
+    public void setMute(boolean mute) {
         JsonObject params = new JsonObject();
         params.addProperty("mute", mute);
         socket.callMethod("Application.SetMute", params);
     }
 
-    private int getSpeed(int activePlayer) {
+    private MethodCall getSpeedCall(int activePlayer) {
         final String[] properties = { "speed", "position" };
 
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
-
-        JsonObject result = response.getAsJsonObject();
-        return result.get("speed").getAsInt();
+        return new MethodCall("Player.GetProperties", params);
     }
 
-    public synchronized void updatePlayerStatus() {
-        if (socket.isConnected()) {
-            int activePlayer = getActivePlayer();
-            if (activePlayer >= 0) {
-                int speed = getSpeed(activePlayer);
-                if (speed == 0) {
-                    updateState(KodiState.Stop);
-                } else if (speed == 1) {
-                    updateState(KodiState.Play);
-                } else if (speed < 0) {
-                    updateState(KodiState.Rewind);
-                } else {
-                    updateState(KodiState.FastForward);
-                }
-                requestPlayerUpdate(activePlayer);
-            } else {
+    private MethodCall getItemCall(int activePlayer) {
+        JsonObject params = new JsonObject();
+        params.addProperty("playerid", activePlayer);
+        params.add("properties", getJsonArray(PLAYER_ITEM_PROPERTIES));
+        return new MethodCall("Player.GetItem", params);
+    }
+
+    /**
+     * Updates the player status without blocking the caller. The speed and the current item of the active player are
+     * requested in a single batch.
+     *
+     * @return a future which completes when the update is finished; it never completes exceptionally
+     */
+    public CompletableFuture<Void> updatePlayerStatusAsync() {
+        final KodiClientSocket socket = this.socket;
+        if (socket == null || !socket.isConnected()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return socket.callMethodAsync("Player.GetActivePlayers", null).thenCompose(response -> {
+            int activePlayer = toActivePlayer(response);
+            if (activePlayer < 0) {
                 updateState(KodiState.Stop);
+                return CompletableFuture.<Void> completedFuture(null);
             }
+            List<MethodCall> calls = Arrays.asList(getSpeedCall(activePlayer), getItemCall(activePlayer));
+            return socket.callBatchAsync(calls).thenAccept(results -> {
+                updateSpeed(results.get(0));
+                updatePlayerItem(results.get(1));
+            });
+        }).exceptionally(e -> {
+            logger.debug("Error updating player status: {}", e.getMessage());
+            return null;
+        });
+    }
+
+    private void updateSpeed(JsonElement response) {
+        if (!(response instanceof JsonObject)) {
+            return;
+        }
+        int speed = response.getAsJsonObject().get("speed").getAsInt();
+        if (speed == 0) {
+            updateState(KodiState.Stop);
+        } else if (speed == 1) {
+            updateState(KodiState.Play);
+        } else if (speed < 0) {
+            updateState(KodiState.Rewind);
+        } else {
+            updateState(KodiState.FastForward);
         }
     }
 
@@ -223,14 +268,14 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private void requestPlayerUpdate(int activePlayer) {
-        final String[] properties = { "title", "album", "artist", "director", "thumbnail", "file", "fanart",
-                "showtitle", "streamdetails", "channel", "channeltype" };
-
-        JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
-        params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetItem", params);
+        MethodCall call = getItemCall(activePlayer);
+        updatePlayerItem(socket.callMethod(call.getMethodName(), call.getParams()));
+    }
 
+    private void updatePlayerItem(JsonElement response) {
+        if (!(response instanceof JsonObject)) {
+            return;
+        }
         JsonObject item = ((JsonObject) response).get("item").getAsJsonObject();
 
         String title = "";
@@ -358,6 +403,9 @@ public class KodiConnection implements KodiClientSocketEventListener {
                 processSystemStateChanged(method, params);
             } else if (method.startsWith("GUI.OnScreensaver")) {
                 processScreensaverStateChanged(method, params);
+            } else if (method.startsWith("PVR.On")) {
+                logger.debug("PVR changed ({}), reloading channels", method);
+                refreshPVRDirectory();
             } else {
                 logger.debug("Received unknown method: {}", method);
             }
@@ -420,7 +468,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
                 logger.error("Event listener invoking error", e);
             }
 
-            this.volume = volume;
+            this.volume.set(volume);
         } else {
             logger.debug("Unknown event from Kodi {}: {}", method, json.toString());
         }
@@ -460,7 +508,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket = null;
     }
 
-    public synchronized void updateVolume() {
+    public void updateVolume() {
         if (socket.isConnected()) {
             String[] props = { "volume", "version", "name", "muted" };
 
@@ -472,7 +520,8 @@ public class KodiConnection implements KodiClientSocketEventListener {
             if (response instanceof JsonObject) {
                 JsonObject result = (JsonObject) response;
                 if (result.has("volume")) {
-                    volume = result.get("volume").getAsInt();
+                    int volume = result.get("volume").getAsInt();
+                    this.volume.set(volume);
                     listener.updateVolume(volume);
                 }
                 if (result.has("muted")) {
@@ -487,7 +536,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    public synchronized void playURI(String uri) {
+    public void playURI(String uri) {
         JsonObject item = new JsonObject();
         item.addProperty("file", uri);
 
@@ -496,65 +545,58 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.Open", params);
     }
 
-    private synchronized JsonArray getChannelGroups(final String channelType) {
-        JsonObject params = new JsonObject();
-        params.addProperty("channeltype", channelType);
-        JsonElement response = socket.callMethod("PVR.GetChannelGroups", params);
-
-        JsonArray channelGroups = null;
-        if (response instanceof JsonObject) {
-            JsonObject result = (JsonObject) response;
-            if (result.has("channelgroups")) {
-                channelGroups = result.get("channelgroups").getAsJsonArray();
-            }
-        }
-        return channelGroups;
-    }
-
     public int getChannelGroupID(final String channelType, final String channelGroupName) {
-        JsonArray channelGroups = getChannelGroups(channelType);
-        if (channelGroups instanceof JsonArray) {
-            for (JsonElement element : channelGroups) {
-                JsonObject channelGroup = (JsonObject) element;
-                String label = channelGroup.get("label").getAsString();
-                if (StringUtils.equalsIgnoreCase(label, channelGroupName)) {
-                    return channelGroup.get("channelgroupid").getAsInt();
-                }
-            }
-        }
-        return 0;
-    }
-
-    private synchronized JsonArray getChannels(final int channelGroupID) {
-        JsonObject params = new JsonObject();
-        params.addProperty("channelgroupid", channelGroupID);
-        JsonElement response = socket.callMethod("PVR.GetChannels", params);
-
-        JsonArray channels = null;
-        if (response instanceof JsonObject) {
-            JsonObject result = (JsonObject) response;
-            if (result.has("channels")) {
-                channels = result.get("channels").getAsJsonArray();
-            }
-        }
-        return channels;
+        return lookupPVR(directory -> directory.getChannelGroupID(channelType, channelGroupName));
     }
 
     public int getChannelID(final int channelGroupID, final String channelName) {
-        JsonArray channels = getChannels(channelGroupID);
-        if (channels instanceof JsonArray) {
-            for (JsonElement element : channels) {
-                JsonObject channel = (JsonObject) element;
-                String label = channel.get("label").getAsString();
-                if (StringUtils.equalsIgnoreCase(label, channelName)) {
-                    return channel.get("channelid").getAsInt();
-                }
+        return lookupPVR(directory -> directory.getChannelID(channelGroupID, channelName));
+    }
+
+    /**
+     * Looks up an id in the cached PVR directory. The directory is loaded on the first lookup, and reloaded if a
+     * lookup misses, as the channel may have been added since the directory was loaded.
+     */
+    private int lookupPVR(ToIntFunction<KodiPVRDirectory> lookup) {
+        KodiPVRDirectory directory = pvrDirectory;
+        if (directory == null) {
+            directory = refreshPVRDirectory().join();
+        } else if (directory.isOlderThan(PVR_DIRECTORY_MAX_AGE_MS)) {
+            refreshPVRDirectory();
+        }
+        int id = directory != null ? lookup.applyAsInt(directory) : 0;
+        if (id <= 0 && directory != null && directory.isOlderThan(PVR_DIRECTORY_MIN_AGE_MS)) {
+            directory = refreshPVRDirectory().join();
+            id = directory != null ? lookup.applyAsInt(directory) : 0;
+        }
+        return id;
+    }
+
+    /**
+     * Reloads the PVR directory in the background, unless a reload is already running.
+     *
+     * @return the future directory, which is the previous one (or null) if the reload failed
+     */
+    private synchronized CompletableFuture<KodiPVRDirectory> refreshPVRDirectory() {
+        if (pvrDirectoryRefresh == null || pvrDirectoryRefresh.isDone()) {
+            KodiClientSocket socket = this.socket;
+            if (socket == null || !socket.isConnected()) {
+                return CompletableFuture.completedFuture(pvrDirectory);
             }
+            pvrDirectoryRefresh = KodiPVRDirectory.loadAsync(socket).thenApply(directory -> {
+                logger.debug("Loaded {} PVR channel groups with {} channels from {}", directory.getChannelGroupCount(),
+                        directory.getChannelCount(), wsUri);
+                pvrDirectory = directory;
+                return directory;
+            }).exceptionally(e -> {
+                logger.debug("Error loading PVR channels from {}: {}", wsUri, e.getMessage());
+                return pvrDirectory;
+            });
         }
-        return 0;
+        return pvrDirectoryRefresh;
     }
 
-    public synchronized void playPVRChannel(final int channelID) {
+    public void playPVRChannel(final int channelID) {
         JsonObject item = new JsonObject();
         item.addProperty("channelid", channelID);
 
@@ -563,7 +605,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.Open", params);
     }
 
-    public synchronized void showNotification(String message) {
+    public void showNotification(String message) {
         JsonObject params = new JsonObject();
         params.addProperty("title", "openHAB");
         params.addProperty("message", message);
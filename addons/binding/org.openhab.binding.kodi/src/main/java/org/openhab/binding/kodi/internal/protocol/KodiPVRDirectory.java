@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.kodi.internal.protocol;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import org.openhab.binding.kodi.internal.protocol.KodiClientSocket.MethodCall;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * The {@link KodiPVRDirectory} is a snapshot of the PVR channel groups and channels of a kodi instance, indexed by
+ * their labels ignoring case. It is loaded with two batch requests: one for the channel groups of all channel types
+ * and one for the channels of all groups.
+ *
+ * @author agent - Initial contribution
+ */
+class KodiPVRDirectory {
+
+    private static final String[] CHANNEL_TYPES = { "tv", "radio" };
+
+    /** The channel group ids by channel type and group label */
+    private final Map<String, Map<String, Integer>> channelGroups;
+
+    /** The channel ids by channel group id and channel label */
+    private final Map<Integer, Map<String, Integer>> channels;
+
+    private final long loadTime = System.currentTimeMillis();
+
+    private KodiPVRDirectory(Map<String, Map<String, Integer>> channelGroups,
+            Map<Integer, Map<String, Integer>> channels) {
+        this.channelGroups = channelGroups;
+        this.channels = channels;
+    }
+
+    /**
+     * Loads the directory from kodi.
+     *
+     * @return the future directory; groups or channels kodi returned an error for are left out
+     */
+    static CompletableFuture<KodiPVRDirectory> loadAsync(final KodiClientSocket socket) {
+        List<MethodCall> groupCalls = new ArrayList<>(CHANNEL_TYPES.length);
+        for (String channelType : CHANNEL_TYPES) {
+            JsonObject params = new JsonObject();
+            params.addProperty("channeltype", channelType);
+            groupCalls.add(new MethodCall("PVR.GetChannelGroups", params));
+        }
+
+        return socket.callBatchAsync(groupCalls).thenCompose(groupResults -> {
+            final Map<String, Map<String, Integer>> channelGroups = new HashMap<>();
+            final List<Integer> groupIds = new ArrayList<>();
+            List<MethodCall> channelCalls = new ArrayList<>();
+            for (int i = 0; i < CHANNEL_TYPES.length; i++) {
+                Map<String, Integer> groupsByLabel = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                for (JsonElement element : getArray(groupResults.get(i), "channelgroups")) {
+                    JsonObject channelGroup = element.getAsJsonObject();
+                    int groupId = channelGroup.get("channelgroupid").getAsInt();
+                    groupsByLabel.putIfAbsent(channelGroup.get("label").getAsString(), groupId);
+                    if (!groupIds.contains(groupId)) {
+                        groupIds.add(groupId);
+                        JsonObject params = new JsonObject();
+                        params.addProperty("channelgroupid", groupId);
+                        channelCalls.add(new MethodCall("PVR.GetChannels", params));
+                    }
+                }
+                channelGroups.put(CHANNEL_TYPES[i], groupsByLabel);
+            }
+
+            if (channelCalls.isEmpty()) {
+                return CompletableFuture.completedFuture(
+                        new KodiPVRDirectory(channelGroups, Collections.<Integer, Map<String, Integer>> emptyMap()));
+            }
+            return socket.callBatchAsync(channelCalls).thenApply(channelResults -> {
+                Map<Integer, Map<String, Integer>> channels = new HashMap<>();
+                for (int i = 0; i < groupIds.size(); i++) {
+                    Map<String, Integer> channelsByLabel = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                    for (JsonElement element : getArray(channelResults.get(i), "channels")) {
+                        JsonObject channel = element.getAsJsonObject();
+                        channelsByLabel.putIfAbsent(channel.get("label").getAsString(),
+                                channel.get("channelid").getAsInt());
+                    }
+                    channels.put(groupIds.get(i), channelsByLabel);
+                }
+                return new KodiPVRDirectory(channelGroups, channels);
+            });
+        });
+    }
+
+    private static JsonArray getArray(JsonElement response, String memberName) {
+        if (response instanceof JsonObject) {
+            JsonObject result = (JsonObject) response;
+            if (result.has(memberName)) {
+                return result.get(memberName).getAsJsonArray();
+            }
+        }
+        return new JsonArray();
+    }
+
+    /**
+     * @return the id of the channel group, or 0 if there is no such group
+     */
+    int getChannelGroupID(String channelType, String channelGroupName) {
+        Map<String, Integer> groupsByLabel = channelGroups.get(channelType);
+        Integer groupId = groupsByLabel != null && channelGroupName != null ? groupsByLabel.get(channelGroupName)
+                : null;
+        return groupId != null ? groupId : 0;
+    }
+
+    /**
+     * @return the id of the channel in the channel group, or 0 if there is no such channel
+     */
+    int getChannelID(int channelGroupID, String channelName) {
+        Map<String, Integer> channelsByLabel = channels.get(channelGroupID);
+        Integer channelId = channelsByLabel != null && channelName != null ? channelsByLabel.get(channelName) : null;
+        return channelId != null ? channelId : 0;
+    }
+
+    /**
+     * @return the number of distinct channel groups of all channel types
+     */
+    int getChannelGroupCount() {
+        Set<Integer> groupIds = new HashSet<>();
+        for (Map<String, Integer> groupsByLabel : channelGroups.values()) {
+            groupIds.addAll(groupsByLabel.values());
+        }
+        return groupIds.size();
+    }
+
+    /**
+     * @return the number of channels of all channel groups
+     */
+    int getChannelCount() {
+        int count = 0;
+        for (Map<String, Integer> channelsByLabel : channels.values()) {
+            count += channelsByLabel.size();
+        }
+        return count;
+    }
+
+    boolean isOlderThan(long millis) {
+        return System.currentTimeMillis() - loadTime > millis;
+    }
+}
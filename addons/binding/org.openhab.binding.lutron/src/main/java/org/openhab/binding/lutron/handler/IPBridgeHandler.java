@@ -12,13 +12,14 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.config.discovery.DiscoveryService;
@@ -28,6 +29,7 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.lutron.config.IPBridgeConfig;
 import org.openhab.binding.lutron.internal.discovery.LutronDeviceDiscoveryService;
@@ -46,7 +48,7 @@ import org.slf4j.LoggerFactory;
  * @author Allan Tong - Initial contribution
  */
 public class IPBridgeHandler extends BaseBridgeHandler {
-    private static final Pattern STATUS_REGEX = Pattern.compile("~(OUTPUT|DEVICE|SYSTEM),([^,]+),(.*)");
+    private static final String[] STATUS_TYPES = { "OUTPUT", "DEVICE", "SYSTEM" };
 
     private static final String DB_UPDATE_DATE_FORMAT = "MM/dd/yyyy HH:mm:ss";
 
@@ -74,6 +76,11 @@ public class IPBridgeHandler extends BaseBridgeHandler {
     private Date lastDbUpdateDate;
     private ServiceRegistration<DiscoveryService> discoveryServiceRegistration;
 
+    private final Map<Integer, LutronHandler> handlersByIntegrationId = new ConcurrentHashMap<>();
+
+    private final AtomicLong linesProcessed = new AtomicLong();
+    private final AtomicLong updatesDispatched = new AtomicLong();
+
     public IPBridgeHandler(Bridge bridge) {
         super(bridge);
 
@@ -271,12 +278,50 @@ public class IPBridgeHandler extends BaseBridgeHandler {
         this.sendQueue.add(command);
     }
 
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof LutronHandler) {
+            Integer integrationId = getIntegrationId((LutronHandler) childHandler);
+
+            if (integrationId != null) {
+                this.handlersByIntegrationId.put(integrationId, (LutronHandler) childHandler);
+            }
+        }
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof LutronHandler) {
+            this.handlersByIntegrationId.values().remove(childHandler);
+        }
+    }
+
+    private Integer getIntegrationId(LutronHandler handler) {
+        try {
+            int integrationId = handler.getIntegrationId();
+
+            return integrationId > 0 ? integrationId : null;
+        } catch (IllegalStateException e) {
+            // Handler has no valid configuration
+            return null;
+        }
+    }
+
     private LutronHandler findThingHandler(int integrationId) {
+        LutronHandler handler = this.handlersByIntegrationId.get(integrationId);
+
+        if (handler != null) {
+            return handler;
+        }
+
+        // Fall back to the child things, in case the handler was initialized before the index knew about it
         for (Thing thing : getThing().getThings()) {
             if (thing.getHandler() instanceof LutronHandler) {
-                LutronHandler handler = (LutronHandler) thing.getHandler();
+                handler = (LutronHandler) thing.getHandler();
 
                 if (handler.getIntegrationId() == integrationId) {
+                    this.handlersByIntegrationId.put(integrationId, handler);
+
                     return handler;
                 }
             }
@@ -293,46 +338,108 @@ public class IPBridgeHandler extends BaseBridgeHandler {
             }
 
             this.logger.debug("Received message {}", line);
+            this.linesProcessed.incrementAndGet();
 
             // System is alive, cancel reconnect task.
             if (this.keepAliveReconnect != null) {
                 this.keepAliveReconnect.cancel(true);
             }
 
-            Matcher matcher = STATUS_REGEX.matcher(line);
+            parseStatusLine(line);
+        }
+    }
+
+    /**
+     * Parses a status line of the form {@code ~TYPE,id,param,param...}, where TYPE is OUTPUT, DEVICE or SYSTEM, and
+     * passes it to the handler of the integration id.
+     */
+    private void parseStatusLine(String line) {
+        int start = line.indexOf('~');
 
-            if (matcher.find()) {
-                LutronCommandType type = LutronCommandType.valueOf(matcher.group(1));
+        while (start >= 0) {
+            int typeEnd = line.indexOf(',', start + 1);
+            String type = typeEnd < 0 ? null : statusType(line, start + 1, typeEnd);
 
-                if (type == LutronCommandType.SYSTEM) {
-                    // SYSTEM messages are assumed to be a response to the SYSTEM_DBEXPORTDATETIME
-                    // query. The response returns the last time the device database was updated.
-                    setDbUpdateDate(matcher.group(2), matcher.group(3));
+            if (type != null) {
+                int idEnd = line.indexOf(',', typeEnd + 1);
 
-                    continue;
+                if (idEnd > typeEnd + 1) {
+                    handleStatus(LutronCommandType.valueOf(type), line, typeEnd + 1, idEnd);
+
+                    return;
                 }
+            }
 
-                Integer integrationId = new Integer(matcher.group(2));
-                LutronHandler handler = findThingHandler(integrationId);
+            start = line.indexOf('~', start + 1);
+        }
 
-                if (handler != null) {
-                    String paramString = matcher.group(3);
+        this.logger.info("Ignoring message {}", line);
+    }
 
-                    try {
-                        handler.handleUpdate(type, paramString.split(","));
-                    } catch (Exception e) {
-                        this.logger.error("Error processing update", e);
-                    }
-                } else {
-                    this.logger.info("No thing configured for integration ID {}", integrationId);
-                }
-            } else {
-                this.logger.info("Ignoring message {}", line);
+    private String statusType(String line, int start, int end) {
+        for (String type : STATUS_TYPES) {
+            if (type.length() == end - start && line.startsWith(type, start)) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+
+    private void handleStatus(LutronCommandType type, String line, int idStart, int idEnd) {
+        String paramString = line.substring(idEnd + 1);
+
+        if (type == LutronCommandType.SYSTEM) {
+            // SYSTEM messages are assumed to be a response to the SYSTEM_DBEXPORTDATETIME
+            // query. The response returns the last time the device database was updated.
+            setDbUpdateDate(line.substring(idStart, idEnd), paramString);
+
+            return;
+        }
+
+        int integrationId = parseIntegrationId(line, idStart, idEnd);
+
+        if (integrationId < 0) {
+            this.logger.info("Ignoring message {}", line);
+
+            return;
+        }
+
+        LutronHandler handler = findThingHandler(integrationId);
+
+        if (handler != null) {
+            this.updatesDispatched.incrementAndGet();
+
+            try {
+                handler.handleUpdate(type, paramString.split(","));
+            } catch (Exception e) {
+                this.logger.error("Error processing update", e);
             }
+        } else {
+            this.logger.info("No thing configured for integration ID {}", integrationId);
         }
     }
 
+    private int parseIntegrationId(String line, int start, int end) {
+        int integrationId = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+
+            if (c < '0' || c > '9' || integrationId > (Integer.MAX_VALUE - 9) / 10) {
+                return -1;
+            }
+
+            integrationId = integrationId * 10 + (c - '0');
+        }
+
+        return integrationId;
+    }
+
     private void sendKeepAlive() {
+        this.logger.debug("Processed {} lines, dispatched {} updates", this.linesProcessed.get(),
+                this.updatesDispatched.get());
+
         // Reconnect if no response is received within 30 seconds.
         this.keepAliveReconnect = this.scheduler.schedule(new Runnable() {
             @Override
@@ -349,15 +456,24 @@ public class IPBridgeHandler extends BaseBridgeHandler {
             Date date = new SimpleDateFormat(DB_UPDATE_DATE_FORMAT).parse(dateString + " " + timeString);
 
             if (this.lastDbUpdateDate == null || date.after(this.lastDbUpdateDate)) {
-                scanForDevices();
-
+                // set the date first, the scan runs asynchronously and reads it to key its cached results
                 this.lastDbUpdateDate = date;
+
+                scanForDevices();
             }
         } catch (ParseException e) {
             logger.error("Failed to parse DB update date {} {}", dateString, timeString);
         }
     }
 
+    /**
+     * @return the time the device database was last exported, as reported by the main repeater, or null if not yet
+     *         known
+     */
+    public Date getLastDbUpdateDate() {
+        return this.lastDbUpdateDate;
+    }
+
     private void scanForDevices() {
         try {
             DiscoveryService service = this.bundleContext.getService(this.discoveryServiceRegistration.getReference());
@@ -12,9 +12,12 @@ import static org.openhab.binding.lutron.LutronBindingConstants.*;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Stack;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -25,14 +28,11 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.lutron.handler.IPBridgeHandler;
 import org.openhab.binding.lutron.internal.LutronHandlerFactory;
-import org.openhab.binding.lutron.internal.discovery.project.Area;
 import org.openhab.binding.lutron.internal.discovery.project.Device;
-import org.openhab.binding.lutron.internal.discovery.project.DeviceGroup;
-import org.openhab.binding.lutron.internal.discovery.project.DeviceNode;
 import org.openhab.binding.lutron.internal.discovery.project.DeviceType;
 import org.openhab.binding.lutron.internal.discovery.project.Output;
 import org.openhab.binding.lutron.internal.discovery.project.OutputType;
-import org.openhab.binding.lutron.internal.discovery.project.Project;
+import org.openhab.binding.lutron.internal.xml.DbXmlInfoListener;
 import org.openhab.binding.lutron.internal.xml.DbXmlInfoReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +49,10 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
     private IPBridgeHandler bridgeHandler;
     private DbXmlInfoReader dbXmlInfoReader = new DbXmlInfoReader();
 
+    /** The results of the last scan and the export date of the device database they were read from */
+    private List<DiscoveryResult> cachedResults = Collections.emptyList();
+    private Date cachedDbUpdateDate;
+
     private ScheduledFuture<?> scanTask;
 
     public LutronDeviceDiscoveryService(IPBridgeHandler bridgeHandler) throws IllegalArgumentException {
@@ -78,55 +82,44 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
     }
 
     private void readDeviceDatabase() throws IOException {
-        String address = "http://" + this.bridgeHandler.getIPBridgeConfig().getIpAddress() + "/DbXmlInfo.xml";
-        URL dbXmlInfoUrl = new URL(address);
+        Date dbUpdateDate = this.bridgeHandler.getLastDbUpdateDate();
 
-        Project project = this.dbXmlInfoReader.readFromXML(dbXmlInfoUrl);
+        synchronized (this) {
+            if (dbUpdateDate != null && dbUpdateDate.equals(this.cachedDbUpdateDate)) {
+                logger.debug("Device database unchanged since {}, republishing {} cached results", dbUpdateDate,
+                        this.cachedResults.size());
 
-        if (project != null) {
-            Stack<String> locationContext = new Stack<>();
+                for (DiscoveryResult result : this.cachedResults) {
+                    thingDiscovered(result);
+                }
 
-            for (Area area : project.getAreas()) {
-                processArea(area, locationContext);
+                return;
             }
-        } else {
-            logger.info("Could not read project file at {}", address);
         }
-    }
 
-    private void processArea(Area area, Stack<String> context) {
-        context.push(area.getName());
+        String address = "http://" + this.bridgeHandler.getIPBridgeConfig().getIpAddress() + "/DbXmlInfo.xml";
+        URL dbXmlInfoUrl = new URL(address);
+        final List<DiscoveryResult> results = new ArrayList<>();
 
-        for (DeviceNode deviceNode : area.getDeviceNodes()) {
-            if (deviceNode instanceof DeviceGroup) {
-                processDeviceGroup((DeviceGroup) deviceNode, context);
-            } else if (deviceNode instanceof Device) {
-                processDevice((Device) deviceNode, context);
+        this.dbXmlInfoReader.readFromXML(dbXmlInfoUrl, new DbXmlInfoListener() {
+            @Override
+            public void deviceFound(List<String> context, Device device) {
+                processDevice(device, context, results);
             }
-        }
 
-        for (Output output : area.getOutputs()) {
-            processOutput(output, context);
-        }
-
-        for (Area subarea : area.getAreas()) {
-            processArea(subarea, context);
-        }
-
-        context.pop();
-    }
-
-    private void processDeviceGroup(DeviceGroup deviceGroup, Stack<String> context) {
-        context.push(deviceGroup.getName());
+            @Override
+            public void outputFound(List<String> context, Output output) {
+                processOutput(output, context, results);
+            }
+        });
 
-        for (Device device : deviceGroup.getDevices()) {
-            processDevice(device, context);
+        synchronized (this) {
+            this.cachedResults = results;
+            this.cachedDbUpdateDate = dbUpdateDate;
         }
-
-        context.pop();
     }
 
-    private void processDevice(Device device, Stack<String> context) {
+    private void processDevice(Device device, List<String> context, List<DiscoveryResult> results) {
         DeviceType type = device.getDeviceType();
 
         if (type != null) {
@@ -134,12 +127,12 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
 
             switch (type) {
                 case MOTION_SENSOR:
-                    notifyDiscovery(THING_TYPE_OCCUPANCYSENSOR, device.getIntegrationId(), label);
+                    notifyDiscovery(THING_TYPE_OCCUPANCYSENSOR, device.getIntegrationId(), label, results);
                     break;
 
                 case SEETOUCH_KEYPAD:
                 case HYBRID_SEETOUCH_KEYPAD:
-                    notifyDiscovery(THING_TYPE_KEYPAD, device.getIntegrationId(), label);
+                    notifyDiscovery(THING_TYPE_KEYPAD, device.getIntegrationId(), label, results);
                     break;
 
                 case MAIN_REPEATER:
@@ -151,7 +144,7 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
         }
     }
 
-    private void processOutput(Output output, Stack<String> context) {
+    private void processOutput(Output output, List<String> context, List<DiscoveryResult> results) {
         OutputType type = output.getOutputType();
 
         if (type != null) {
@@ -160,11 +153,11 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
             switch (type) {
                 case INC:
                 case MLV:
-                    notifyDiscovery(THING_TYPE_DIMMER, output.getIntegrationId(), label);
+                    notifyDiscovery(THING_TYPE_DIMMER, output.getIntegrationId(), label, results);
                     break;
 
                 case NON_DIM:
-                    notifyDiscovery(THING_TYPE_SWITCH, output.getIntegrationId(), label);
+                    notifyDiscovery(THING_TYPE_SWITCH, output.getIntegrationId(), label, results);
                     break;
             }
         } else {
@@ -172,7 +165,8 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
         }
     }
 
-    private void notifyDiscovery(ThingTypeUID thingTypeUID, Integer integrationId, String label) {
+    private void notifyDiscovery(ThingTypeUID thingTypeUID, Integer integrationId, String label,
+            List<DiscoveryResult> results) {
         if (integrationId == null) {
             logger.info("Discovered {} with no integration ID", label);
 
@@ -189,12 +183,13 @@ public class LutronDeviceDiscoveryService extends AbstractDiscoveryService {
         DiscoveryResult result = DiscoveryResultBuilder.create(uid).withBridge(bridgeUID).withLabel(label)
                 .withProperties(properties).withRepresentationProperty(INTEGRATION_ID).build();
 
+        results.add(result);
         thingDiscovered(result);
 
         logger.debug("Discovered {}", uid);
     }
 
-    private String generateLabel(Stack<String> context, String deviceName) {
+    private String generateLabel(List<String> context, String deviceName) {
         return String.join(" ", context) + " " + deviceName;
     }
 }
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.lutron.internal.xml;
+
+import java.util.List;
+
+import org.openhab.binding.lutron.internal.discovery.project.Device;
+import org.openhab.binding.lutron.internal.discovery.project.Output;
+
+/**
+ * Receives the devices and outputs found by the {@link DbXmlInfoReader} while it parses a project file.
+ *
+ * @author agent - Initial contribution
+ */
+public interface DbXmlInfoListener {
+
+    /**
+     * Called for each input device in the project.
+     *
+     * @param context the names of the enclosing areas and device group, outermost first
+     * @param device the device
+     */
+    void deviceFound(List<String> context, Device device);
+
+    /**
+     * Called for each output in the project.
+     *
+     * @param context the names of the enclosing areas, outermost first
+     * @param output the output
+     */
+    void outputFound(List<String> context, Output output);
+}
@@ -8,77 +8,232 @@
  */
 package org.openhab.binding.lutron.internal.xml;
 
-import org.eclipse.smarthome.config.xml.util.XmlDocumentReader;
-import org.openhab.binding.lutron.internal.discovery.project.Area;
-import org.openhab.binding.lutron.internal.discovery.project.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.openhab.binding.lutron.internal.discovery.project.Device;
-import org.openhab.binding.lutron.internal.discovery.project.DeviceGroup;
 import org.openhab.binding.lutron.internal.discovery.project.Output;
-import org.openhab.binding.lutron.internal.discovery.project.Project;
-
-import com.thoughtworks.xstream.XStream;
 
 /**
- * The {@link DbXmlInfoReader} reads Lutron XML project files and converts them to {@link Project}
- * objects describing the device things contained within the Lutron system.
+ * The {@link DbXmlInfoReader} reads Lutron XML project files and passes the device things contained within the
+ * Lutron system to a {@link DbXmlInfoListener}.
+ *
+ * The file is streamed rather than loaded into memory, as projects of larger systems run to several megabytes. Only
+ * the area hierarchy with its device groups, devices and outputs is read; all other elements, including device
+ * components, are skipped. Ignoring unknown elements also makes the binding more tolerant of potential future changes
+ * to the XML schema.
  *
  * @author Allan Tong - Initial contribution
  */
-public class DbXmlInfoReader extends XmlDocumentReader<Project> {
+public class DbXmlInfoReader {
+
+    private final XMLInputFactory inputFactory;
 
     public DbXmlInfoReader() {
-        super.setClassLoader(Project.class.getClassLoader());
+        inputFactory = XMLInputFactory.newInstance();
+        // the project file is fetched from the device, do not resolve anything it refers to
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Reads the project file at the given URL.
+     *
+     * @param url the location of the project file
+     * @param listener receives the devices and outputs as they are read
+     * @throws IOException if the file cannot be read or is not a project file
+     */
+    public void readFromXML(URL url, DbXmlInfoListener listener) throws IOException {
+        try (InputStream inputStream = url.openStream()) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+            try {
+                reader.nextTag();
+                if (!"Project".equals(reader.getLocalName())) {
+                    throw new IOException("Unexpected root element " + reader.getLocalName() + " in " + url);
+                }
+                readProject(reader, listener, new ArrayList<String>());
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to parse " + url + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void readProject(XMLStreamReader reader, DbXmlInfoListener listener, List<String> context)
+            throws XMLStreamException {
+        while (nextChild(reader)) {
+            if ("Areas".equals(reader.getLocalName())) {
+                readAreas(reader, listener, context);
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private void readAreas(XMLStreamReader reader, DbXmlInfoListener listener, List<String> context)
+            throws XMLStreamException {
+        while (nextChild(reader)) {
+            if ("Area".equals(reader.getLocalName())) {
+                readArea(reader, listener, context);
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private void readArea(XMLStreamReader reader, DbXmlInfoListener listener, List<String> context)
+            throws XMLStreamException {
+        context.add(reader.getAttributeValue(null, "Name"));
+
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "DeviceGroups":
+                    readDeviceNodes(reader, listener, context);
+                    break;
+
+                case "Outputs":
+                    readOutputs(reader, listener, context);
+                    break;
+
+                case "Areas":
+                    readAreas(reader, listener, context);
+                    break;
+
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+
+        context.remove(context.size() - 1);
+    }
+
+    /**
+     * Reads the contents of a DeviceGroups element, which holds device groups as well as devices not in any group.
+     */
+    private void readDeviceNodes(XMLStreamReader reader, DbXmlInfoListener listener, List<String> context)
+            throws XMLStreamException {
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "DeviceGroup":
+                    readDeviceGroup(reader, listener, context);
+                    break;
+
+                case "Device":
+                    readDevice(reader, listener, context);
+                    break;
+
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+    }
+
+    private void readDeviceGroup(XMLStreamReader reader, DbXmlInfoListener listener, List<String> context)
+            throws XMLStreamException {
+        context.add(reader.getAttributeValue(null, "Name"));
+
+        while (nextChild(reader)) {
+            if ("Devices".equals(reader.getLocalName())) {
+                while (nextChild(reader)) {
+                    if ("Device".equals(reader.getLocalName())) {
+                        readDevice(reader, listener, context);
+                    } else {
+                        skipElement(reader);
+                    }
+                }
+            } else {
+                skipElement(reader);
+            }
+        }
+
+        context.remove(context.size() - 1);
     }
 
-    @Override
-    public void registerConverters(XStream xstream) {
+    private void readDevice(XMLStreamReader reader, DbXmlInfoListener listener, List<String> context)
+            throws XMLStreamException {
+        Device device = new Device(reader.getAttributeValue(null, "Name"), getIntegrationId(reader),
+                reader.getAttributeValue(null, "DeviceType"));
+
+        // the components (buttons, LEDs) of a device are not needed for discovery
+        skipElement(reader);
+
+        listener.deviceFound(context, device);
+    }
+
+    private void readOutputs(XMLStreamReader reader, DbXmlInfoListener listener, List<String> context)
+            throws XMLStreamException {
+        while (nextChild(reader)) {
+            if ("Output".equals(reader.getLocalName())) {
+                Output output = new Output(reader.getAttributeValue(null, "Name"), getIntegrationId(reader),
+                        reader.getAttributeValue(null, "OutputType"));
+
+                skipElement(reader);
+
+                listener.outputFound(context, output);
+            } else {
+                skipElement(reader);
+            }
+        }
     }
 
-    @Override
-    public void registerAliases(XStream xstream) {
-        xstream.alias("Project", Project.class);
-        xstream.aliasField("AppVer", Project.class, "appVersion");
-        xstream.aliasField("XMLVer", Project.class, "xmlVersion");
-        xstream.aliasField("Areas", Project.class, "areas");
-
-        xstream.alias("Area", Area.class);
-        xstream.aliasField("Name", Area.class, "name");
-        xstream.useAttributeFor(Area.class, "name");
-        xstream.aliasField("DeviceGroups", Area.class, "deviceNodes");
-        xstream.aliasField("Outputs", Area.class, "outputs");
-        xstream.aliasField("Areas", Area.class, "areas");
-
-        xstream.alias("DeviceGroup", DeviceGroup.class);
-        xstream.aliasField("Name", DeviceGroup.class, "name");
-        xstream.useAttributeFor(DeviceGroup.class, "name");
-        xstream.aliasField("Devices", DeviceGroup.class, "devices");
-
-        xstream.alias("Device", Device.class);
-        xstream.aliasField("Name", Device.class, "name");
-        xstream.useAttributeFor(Device.class, "name");
-        xstream.aliasField("IntegrationID", Device.class, "integrationId");
-        xstream.useAttributeFor(Device.class, "integrationId");
-        xstream.aliasField("DeviceType", Device.class, "type");
-        xstream.useAttributeFor(Device.class, "type");
-        xstream.aliasField("Components", Device.class, "components");
-
-        xstream.alias("Component", Component.class);
-        xstream.aliasField("ComponentNumber", Component.class, "componentNumber");
-        xstream.useAttributeFor(Component.class, "componentNumber");
-        xstream.aliasField("ComponentType", Component.class, "type");
-        xstream.useAttributeFor(Component.class, "type");
-
-        xstream.alias("Output", Output.class);
-        xstream.aliasField("Name", Output.class, "name");
-        xstream.useAttributeFor(Output.class, "name");
-        xstream.aliasField("IntegrationID", Output.class, "integrationId");
-        xstream.useAttributeFor(Output.class, "integrationId");
-        xstream.aliasField("OutputType", Output.class, "type");
-        xstream.useAttributeFor(Output.class, "type");
-
-        // This reader is only interested in device thing information and does not read
-        // everything contained in DbXmlInfo. Ignoring unknown elements also makes the
-        // binding more tolerant of potential future changes to the XML schema.
-        xstream.ignoreUnknownElements();
+    private Integer getIntegrationId(XMLStreamReader reader) {
+        String value = reader.getAttributeValue(null, "IntegrationID");
+
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Moves to the next child element of the current element.
+     *
+     * @return true if positioned on the start of a child element, false if the end of the current element was reached
+     */
+    private boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Skips the remainder of the current element, including all of its children.
+     */
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
     }
 }
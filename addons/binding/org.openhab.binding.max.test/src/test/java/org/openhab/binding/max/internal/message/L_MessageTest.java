@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.max.internal.message;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.max.internal.Utils;
+import org.openhab.binding.max.internal.device.Device;
+import org.openhab.binding.max.internal.device.DeviceConfiguration;
+import org.openhab.binding.max.internal.device.HeatingThermostat;
+import org.openhab.binding.max.internal.device.ShutterContact;
+
+/**
+ * Tests cases for {@link L_Message}.
+ *
+ * @author agent - Initial contribution
+ */
+public class L_MessageTest {
+
+    private static final String THERMOSTAT_C_MESSAGE = "C:0b0da3,0gsNowIBEABLRVEwNTQ0MjQyLCQ9CQcYAzAM/wBIYViRSP1ZFE0gTSBNIEUgRSBFIEUgRSBFIEhhWJFQ/VkVUSBRIFEgRSBFIEUgRSBFIEUgSFBYWkj+WRRNIE0gTSBFIEUgRSBFIEUgRSBIUFhaSP5ZFE0gTSBNIEUgRSBFIEUgRSBFIEhQWFpI/lkUTSBNIE0gRSBFIEUgRSBFIEUgSFBYWkj+WRRNIE0gTSBFIEUgRSBFIEUgRSBIUFhaSP5ZFE0gTSBNIEUgRSBFIEUgRSBFIA==";
+    private static final String SHUTTER_C_MESSAGE = "C:0e75f6,EQ519gQCEABLRVExMTA0Mzgw";
+
+    // thermostat 0b0da3 in automatic mode at 20.0 (actual 20.1), shutter contact 0e75f6 open
+    private static final String L_MESSAGE = "L:CwsNowkSGAAoAMkABg519gkSEg==";
+    // the same, but with the shutter contact closed
+    private static final String L_MESSAGE_CLOSED = "L:CwsNowkSGAAoAMkABg519gkSEA==";
+    // a device without configuration
+    private static final String L_MESSAGE_UNKNOWN = "L:BhI0VgkSEg==";
+
+    private Map<Integer, Device> devices;
+    private Map<Integer, DeviceConfiguration> configurations;
+
+    @Before
+    public void Before() {
+        devices = new HashMap<>();
+        configurations = new HashMap<>();
+        for (String cMessage : new String[] { THERMOSTAT_C_MESSAGE, SHUTTER_C_MESSAGE }) {
+            DeviceConfiguration c = DeviceConfiguration.create(new C_Message(cMessage));
+            configurations.put(Utils.fromHex(c.getRFAddress()), c);
+        }
+    }
+
+    @Test
+    public void getRFAddressTest() {
+        assertEquals(Utils.fromHex("0b0da3"), L_Message.getRFAddress(new byte[] { 0x0b, 0x0d, (byte) 0xa3 }));
+        assertEquals(Utils.fromHex("FFFFFF"), L_Message.getRFAddress(new byte[] { -1, -1, -1 }));
+    }
+
+    @Test
+    public void createDevicesTest() {
+        List<Device> newDevices = new L_Message(L_MESSAGE).updateDevices(devices, configurations);
+
+        assertEquals(2, newDevices.size());
+        assertEquals(2, devices.size());
+
+        HeatingThermostat thermostat = (HeatingThermostat) devices.get(Utils.fromHex("0b0da3"));
+        assertEquals(new DecimalType(20.0), thermostat.getTemperatureSetpoint());
+        assertEquals(new DecimalType("20.1"), thermostat.getTemperatureActual());
+
+        ShutterContact shutterContact = (ShutterContact) devices.get(Utils.fromHex("0e75f6"));
+        assertEquals(OpenClosedType.OPEN, shutterContact.getShutterState());
+    }
+
+    @Test
+    public void unchangedDevicesTest() {
+        new L_Message(L_MESSAGE).updateDevices(devices, configurations);
+        for (Device device : devices.values()) {
+            device.setUpdated(false);
+        }
+
+        List<Device> newDevices = new L_Message(L_MESSAGE).updateDevices(devices, configurations);
+
+        assertTrue(newDevices.isEmpty());
+        for (Device device : devices.values()) {
+            assertFalse(device.isUpdated());
+        }
+    }
+
+    @Test
+    public void changedDeviceTest() {
+        new L_Message(L_MESSAGE).updateDevices(devices, configurations);
+        for (Device device : devices.values()) {
+            device.setUpdated(false);
+        }
+
+        new L_Message(L_MESSAGE_CLOSED).updateDevices(devices, configurations);
+
+        ShutterContact shutterContact = (ShutterContact) devices.get(Utils.fromHex("0e75f6"));
+        assertTrue(shutterContact.isUpdated());
+        assertEquals(OpenClosedType.CLOSED, shutterContact.getShutterState());
+        assertFalse(devices.get(Utils.fromHex("0b0da3")).isUpdated());
+    }
+
+    @Test
+    public void unknownDeviceTest() {
+        List<Device> newDevices = new L_Message(L_MESSAGE_UNKNOWN).updateDevices(devices, configurations);
+
+        assertTrue(newDevices.isEmpty());
+        assertTrue(devices.isEmpty());
+    }
+}
@@ -105,26 +105,38 @@ public abstract class Device {
         }
     }
 
-    public static Device create(byte[] raw, List<DeviceConfiguration> configurations) {
+    /**
+     * Creates a new device from its configuration and the real time information of an L message
+     *
+     * @param raw the device part of the L message
+     * @param c the configuration of the device with the RF address given in the L message
+     * @return Device
+     */
+    public static Device create(byte[] raw, DeviceConfiguration c) {
         if (raw.length == 0) {
             return null;
         }
 
-        String rfAddress = Utils.toHex(raw[0] & 0xFF, raw[1] & 0xFF, raw[2] & 0xFF);
-
         // Based on the RF address and the corresponding configuration,
         // create the device based on the type specified in it's configuration
 
-        Device device = Device.create(rfAddress, configurations);
-        if (device == null) {
+        if (c == null) {
             logger.warn("Can't create device from received message, returning NULL.");
             return null;
         }
 
-        return Device.update(raw, configurations, device);
+        return Device.update(raw, Device.create(c));
     }
 
-    public static Device update(byte[] raw, List<DeviceConfiguration> configurations, Device device) {
+    /**
+     * Updates a device with the real time information of an L message. Changes are flagged with
+     * {@link #setUpdated(boolean)}.
+     *
+     * @param raw the device part of the L message
+     * @param device the device with the RF address given in the L message
+     * @return the device
+     */
+    public static Device update(byte[] raw, Device device) {
 
         String rfAddress = device.getRFAddress();
 
@@ -145,8 +157,10 @@ public abstract class Device {
         device.setLinkStatusError(bits2[6]);
         device.setBatteryLow(bits2[7]);
 
-        logger.trace("Device {} ({}): L Message length: {} content: {}", rfAddress, device.getType().toString(),
-                raw.length, Utils.getHex(raw));
+        if (logger.isTraceEnabled()) {
+            logger.trace("Device {} ({}): L Message length: {} content: {}", rfAddress, device.getType().toString(),
+                    raw.length, Utils.getHex(raw));
+        }
 
         // TODO move the device specific readings into the sub classes
         switch (device.getType()) {
@@ -173,8 +187,7 @@ public abstract class Device {
                 // 9 2 858B Date until (05-09-2011) (see Encoding/Decoding
                 // date/time)
                 // B 1 2E Time until (23:00) (see Encoding/Decoding date/time)
-                String hexDate = Utils.toHex(raw[8] & 0xFF, raw[9] & 0xFF);
-                int dateValue = Utils.fromHex(hexDate);
+                int dateValue = (raw[8] & 0xFF) << 8 | (raw[9] & 0xFF);
                 int timeValue = raw[10] & 0xFF;
                 Date date = Utils.resolveDateTime(dateValue, timeValue);
                 heatingThermostat.setDateSetpoint(date);
@@ -197,9 +210,10 @@ public abstract class Device {
                 heatingThermostat.setTemperatureActual((double) actualTemp / 10);
                 break;
             case EcoSwitch:
-                String eCoSwitchData = Utils.toHex(raw[3] & 0xFF, raw[4] & 0xFF, raw[5] & 0xFF);
-                logger.trace("Device {} ({}): Status bytes : {}", rfAddress, device.getType().toString(),
-                        eCoSwitchData);
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Device {} ({}): Status bytes : {}", rfAddress, device.getType().toString(),
+                            Utils.toHex(raw[3] & 0xFF, raw[4] & 0xFF, raw[5] & 0xFF));
+                }
                 EcoSwitch ecoswitch = (EcoSwitch) device;
                 // xxxx xx10 = shutter open, xxxx xx00 = shutter closed
                 if (bits2[1] == true && bits2[0] == false) {
@@ -40,6 +40,9 @@ public class EcoSwitch extends ShutterContact {
     }
 
     public void setEcoMode(OnOffType ecoMode) {
+        if (this.ecoMode != ecoMode) {
+            setUpdated(true);
+        }
         this.ecoMode = ecoMode;
     }
 }
@@ -20,11 +20,14 @@ import java.net.Socket;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +47,7 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.max.MaxBinding;
 import org.openhab.binding.max.config.MaxCubeBridgeConfiguration;
+import org.openhab.binding.max.internal.Utils;
 import org.openhab.binding.max.internal.command.A_Command;
 import org.openhab.binding.max.internal.command.C_Command;
 import org.openhab.binding.max.internal.command.CubeCommand;
@@ -102,6 +106,10 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     private static final int NETWORK_TIMEOUT = 10000;
 
     private ArrayList<Device> devices = new ArrayList<Device>();
+    /** The devices by RF address, see {@link L_Message#getRFAddress(byte[])} */
+    private Map<Integer, Device> devicesByRfAddress = new ConcurrentHashMap<>();
+    /** The devices by upper case serial number */
+    private Map<String, Device> devicesBySerial = new ConcurrentHashMap<>();
     private ArrayList<RoomInformation> rooms;
     private HashSet<String> lastActiveDevices = new HashSet<String>();
 
@@ -111,7 +119,14 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     /** MAX! Thermostat default on temperature */
     private static final DecimalType DEFAULT_ON_TEMPERATURE = new DecimalType(30.5);
 
-    private ArrayList<DeviceConfiguration> configurations = new ArrayList<DeviceConfiguration>();
+    /** The device configurations by RF address */
+    private Map<Integer, DeviceConfiguration> configurationsByRfAddress = new HashMap<>();
+    /** The device configurations by upper case serial number */
+    private Map<String, DeviceConfiguration> configurationsBySerial = new HashMap<>();
+
+    /** Unchanged devices are passed to the listeners as well at this interval, for their time based checks */
+    private static final long FULL_UPDATE_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+    private long lastFullUpdate = 0;
 
     /** maximum queue size that we're allowing */
     private static final int MAX_COMMANDS = 50;
@@ -364,14 +379,22 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             if (sendCubeCommand(new L_Command())) {
                 updateStatus(ThingStatus.ONLINE);
                 previousOnline = true;
+                long now = System.currentTimeMillis();
+                boolean fullUpdate = now - lastFullUpdate >= FULL_UPDATE_INTERVAL;
+                if (fullUpdate) {
+                    lastFullUpdate = now;
+                }
                 for (Device di : devices) {
                     if (lastActiveDevices != null && lastActiveDevices.contains(di.getSerialNumber())) {
-                        for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
-                            try {
-                                deviceStatusListener.onDeviceStateChanged(getThing().getUID(), di);
-                            } catch (Exception e) {
-                                logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                                unregisterDeviceStatusListener(deviceStatusListener);
+                        // only pass devices of which the L message changed the state
+                        if (di.isUpdated() || fullUpdate) {
+                            for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
+                                try {
+                                    deviceStatusListener.onDeviceStateChanged(getThing().getUID(), di);
+                                } catch (Exception e) {
+                                    logger.error("An exception occurred while calling the DeviceStatusListener", e);
+                                    unregisterDeviceStatusListener(deviceStatusListener);
+                                }
                             }
                         }
                     }
@@ -388,6 +411,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                             lastActiveDevices.add(di.getSerialNumber());
                         }
                     }
+                    di.setUpdated(false);
                 }
             } else if (previousOnline) {
                 onConnectionLost();
@@ -593,20 +617,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                 }
                 setProperties(msg);
                 for (DeviceInformation di : msg.devices) {
-                    DeviceConfiguration c = null;
-                    for (DeviceConfiguration conf : configurations) {
-                        if (conf.getSerialNumber().equalsIgnoreCase(di.getSerialNumber())) {
-                            c = conf;
-                            break;
-                        }
-                    }
-
-                    if (c != null) {
-                        configurations.remove(c);
-                    }
-
-                    c = DeviceConfiguration.create(di);
-                    configurations.add(c);
+                    DeviceConfiguration c = DeviceConfiguration.create(di);
                     c.setRoomId(di.getRoomId());
                     String roomName = "";
                     for (RoomInformation room : msg.rooms) {
@@ -615,18 +626,14 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                         }
                     }
                     c.setRoomName(roomName);
+                    putConfiguration(c);
                 }
             } else if (message.getType() == MessageType.C) {
-                DeviceConfiguration c = null;
-                for (DeviceConfiguration conf : configurations) {
-                    if (conf.getSerialNumber().equalsIgnoreCase(((C_Message) message).getSerialNumber())) {
-                        c = conf;
-                        break;
-                    }
-                }
+                DeviceConfiguration c = configurationsBySerial
+                        .get(((C_Message) message).getSerialNumber().toUpperCase());
 
                 if (c == null) {
-                    configurations.add(DeviceConfiguration.create(message));
+                    putConfiguration(DeviceConfiguration.create(message));
                 } else {
                     c.setValues((C_Message) message);
                     Device di = getDevice(((C_Message) message).getSerialNumber());
@@ -651,7 +658,12 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                     }
                 }
             } else if (message.getType() == MessageType.L) {
-                ((L_Message) message).updateDevices(devices, configurations);
+                List<Device> newDevices = ((L_Message) message).updateDevices(devicesByRfAddress,
+                        configurationsByRfAddress);
+                for (Device device : newDevices) {
+                    devices.add(device);
+                    devicesBySerial.put(device.getSerialNumber().toUpperCase(), device);
+                }
                 logger.trace("{} devices found.", devices.size());
             } else if (message.getType() == MessageType.S) {
                 dutyCycle = ((S_Message) message).getDutyCycle();
@@ -744,13 +756,15 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         logger.debug("NTP properties updated");
     }
 
-    private Device getDevice(String serialNumber, ArrayList<Device> devices) {
-        for (Device device : devices) {
-            if (device.getSerialNumber().toUpperCase().equals(serialNumber)) {
-                return device;
-            }
-        }
-        return null;
+    private void putConfiguration(DeviceConfiguration c) {
+        configurationsBySerial.put(c.getSerialNumber().toUpperCase(), c);
+        configurationsByRfAddress.put(Utils.fromHex(c.getRFAddress()), c);
+    }
+
+    private void removeDevice(Device device) {
+        devices.remove(device);
+        devicesBySerial.remove(device.getSerialNumber().toUpperCase());
+        devicesByRfAddress.remove(Utils.fromHex(device.getRFAddress()));
     }
 
     /**
@@ -762,7 +776,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      */
 
     public Device getDevice(String serialNumber) {
-        return getDevice(serialNumber, devices);
+        return devicesBySerial.get(serialNumber.toUpperCase());
     }
 
     /**
@@ -813,7 +827,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         Command command = sendCommand.getCommand();
 
         // send command to MAX! Cube LAN Gateway
-        HeatingThermostat device = (HeatingThermostat) getDevice(serialNumber, devices);
+        HeatingThermostat device = (HeatingThermostat) getDevice(serialNumber);
 
         if (device == null) {
             logger.debug("Cannot send command to device with serial number {}, device not listed.", serialNumber);
@@ -888,7 +902,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             SendCommand sendCommand = new SendCommand(maxDeviceSerial, new T_Command(device.getRFAddress(), true),
                     "Delete device " + maxDeviceSerial + " from Cube!");
             queueCommand(sendCommand);
-            devices.remove(device);
+            removeDevice(device);
             sendDeviceAndRoomNameUpdate("Remove name entry for " + maxDeviceSerial);
             sendCommand = new SendCommand(maxDeviceSerial, new Q_Command(), "Reload Data");
             queueCommand(sendCommand);
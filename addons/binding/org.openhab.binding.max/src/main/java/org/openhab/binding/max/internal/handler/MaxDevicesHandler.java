@@ -112,8 +112,8 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
             }
             propertiesSet = false;
             configSet = false;
-            forceRefresh = true;
             getMaxCubeBridgeHandler();
+            setForceRefresh();
         } catch (Exception e) {
             logger.debug("Exception occurred during initialize : {}", e.getMessage(), e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
@@ -155,7 +155,7 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
     @Override
     public void thingUpdated(Thing thing) {
         configSet = false;
-        forceRefresh = true;
+        setForceRefresh();
         super.thingUpdated(thing);
     }
 
@@ -330,7 +330,7 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
             if (handler instanceof MaxCubeBridgeHandler) {
                 this.bridgeHandler = (MaxCubeBridgeHandler) handler;
                 this.bridgeHandler.registerDeviceStatusListener(this);
-                forceRefresh = true;
+                setForceRefresh();
             } else {
                 logger.debug("No available bridge handler found for {} bridge {} .", maxDeviceSerial, bridge.getUID());
                 return null;
@@ -350,7 +350,7 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
             return;
         }
         if (command instanceof RefreshType) {
-            forceRefresh = true;
+            setForceRefresh();
             maxCubeBridge.handleCommand(channelUID, command);
             return;
         }
@@ -525,10 +525,18 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
     }
 
     /**
-     * Set the forceRefresh flag to ensure update when next data is coming
+     * Set the forceRefresh flag to ensure update when next data is coming. As the bridge only passes devices with
+     * changes, the device is flagged as updated as well.
      */
     public void setForceRefresh() {
         forceRefresh = true;
+        MaxCubeBridgeHandler bridgeHandler = this.bridgeHandler;
+        if (bridgeHandler != null && maxDeviceSerial != null) {
+            Device device = bridgeHandler.getDevice(maxDeviceSerial);
+            if (device != null) {
+                device.setUpdated(true);
+            }
+        }
     }
 
     /**
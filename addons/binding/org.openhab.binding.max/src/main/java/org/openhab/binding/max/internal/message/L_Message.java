@@ -9,8 +9,8 @@
 package org.openhab.binding.max.internal.message;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.net.util.Base64;
 import org.openhab.binding.max.internal.Utils;
@@ -32,9 +32,16 @@ public final class L_Message extends Message {
         super(raw);
     }
 
-    public Collection<? extends Device> getDevices(List<DeviceConfiguration> configurations) {
-
-        List<Device> devices = new ArrayList<Device>();
+    /**
+     * Updates the known devices with the real time information in this message. Devices which are not known yet are
+     * created from their configuration.
+     *
+     * @param devices the known devices by RF address, see {@link #getRFAddress(byte[])}
+     * @param configurations the device configurations by RF address
+     * @return the devices created
+     */
+    public List<Device> updateDevices(Map<Integer, Device> devices, Map<Integer, DeviceConfiguration> configurations) {
+        List<Device> newDevices = new ArrayList<Device>();
 
         byte[] decodedRawMessage = Base64.decodeBase64(getPayload().getBytes());
 
@@ -42,47 +49,34 @@ public final class L_Message extends Message {
 
         while (tokenizer.hasMoreElements()) {
             byte[] token = tokenizer.nextElement();
-            Device tempDevice = Device.create(token, configurations);
-            if (tempDevice != null) {
-                devices.add(tempDevice);
+            if (token.length < 3) {
+                continue;
             }
-        }
-
-        return devices;
-    }
-
-    public Collection<? extends Device> updateDevices(List<Device> devices, List<DeviceConfiguration> configurations) {
-
-        byte[] decodedRawMessage = Base64.decodeBase64(getPayload().getBytes());
-
-        MaxTokenizer tokenizer = new MaxTokenizer(decodedRawMessage);
-
-        while (tokenizer.hasMoreElements()) {
-            byte[] token = tokenizer.nextElement();
-            String rfAddress = Utils.toHex(token[0] & 0xFF, token[1] & 0xFF, token[2] & 0xFF);
-            // logger.debug("token: "+token+" rfaddress: "+rfAddress);
+            int rfAddress = getRFAddress(token);
 
-            Device foundDevice = null;
-            for (Device device : devices) {
-                // logger.debug(device.getRFAddress().toUpperCase()+ " vs "+rfAddress);
-                if (device.getRFAddress().toUpperCase().equals(rfAddress)) {
-                    // logger.debug("Updating device..."+rfAddress);
-                    foundDevice = device;
-                }
-            }
+            Device foundDevice = devices.get(rfAddress);
             if (foundDevice != null) {
-                foundDevice = Device.update(token, configurations, foundDevice);
-                // devices.remove(token);
-                // devices.add(foundDevice);
+                Device.update(token, foundDevice);
             } else {
-                Device tempDevice = Device.create(token, configurations);
+                Device tempDevice = Device.create(token, configurations.get(rfAddress));
                 if (tempDevice != null) {
-                    devices.add(tempDevice);
+                    devices.put(rfAddress, tempDevice);
+                    newDevices.add(tempDevice);
                 }
             }
         }
 
-        return devices;
+        return newDevices;
+    }
+
+    /**
+     * Returns the RF address of a device part of an L message, which starts with the three address bytes.
+     *
+     * @param token the device part of the L message
+     * @return the RF address as integer, the same as {@link Utils#fromHex(String)} returns for the hex notation
+     */
+    public static int getRFAddress(byte[] token) {
+        return (token[0] & 0xFF) << 16 | (token[1] & 0xFF) << 8 | (token[2] & 0xFF);
     }
 
     @Override
@@ -21,23 +21,28 @@ import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.MalformedURLException;
 import java.net.MulticastSocket;
-import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 
-import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
@@ -45,6 +50,7 @@ import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.slf4j.Logger;
@@ -67,15 +73,25 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
 
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = Collections.singleton(THING_TYPE_XGW3000);
 
+    private static final String THREADPOOL_NAME = "miele";
+
     private static final Pattern IP_PATTERN = Pattern
             .compile("^(([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\.){3}([01]?\\d\\d?|2[0-4]\\d|25[0-5])$");
 
     protected final int POLLING_PERIOD = 15; // in seconds
+    protected final int MAX_CONCURRENT_POLLS = 4;
+    protected final int MAX_SKIPPED_POLLS = 4;
     protected final int JSON_RPC_PORT = 2810;
     protected final String JSON_RPC_MULTICAST_IP1 = "239.255.68.139";
     protected final String JSON_RPC_MULTICAST_IP2 = "224.255.68.139";
+    protected final int EVENT_BUFFER_SIZE = 256;
+    protected final int EVENT_LISTENER_RETRY_DELAY = 1; // in seconds
+
+    private static final byte[] EVENT_PROPERTY = "property".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EVENT_VALUE = "value".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EVENT_ID = "id".getBytes(StandardCharsets.US_ASCII);
+
     private boolean lastBridgeConnectionState = false;
-    private boolean currentBridgeConnectionState = false;
 
     protected Random rand = new Random();
     protected Gson gson = new Gson();
@@ -84,8 +100,13 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
     protected List<ApplianceStatusListener> applianceStatusListeners = new CopyOnWriteArrayList<>();
     protected ScheduledFuture<?> pollingJob;
     protected ScheduledFuture<?> eventListenerJob;
+    protected final ExecutorService pollingExecutor = ThreadPoolManager.getPool(THREADPOOL_NAME);
+    protected volatile MulticastSocket eventSocket;
 
-    protected List<HomeDevice> previousHomeDevices = new CopyOnWriteArrayList<HomeDevice>();
+    protected Map<String, HomeDevice> homeDevices = new LinkedHashMap<>();
+    protected Map<String, Long> lastEventTimes = new ConcurrentHashMap<>();
+    protected Map<String, Long> lastPollTimes = new ConcurrentHashMap<>();
+    protected Map<String, MieleApplianceHandler<?>> handlersByUID = new ConcurrentHashMap<>();
 
     protected URL url;
     protected Map<String, String> headers;
@@ -189,88 +210,27 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
         public void run() {
             if (IP_PATTERN.matcher((String) getConfig().get(HOST)).matches()) {
                 try {
-                    if (isReachable((String) getConfig().get(HOST))) {
-                        currentBridgeConnectionState = true;
-                    } else {
-                        currentBridgeConnectionState = false;
+                    // the list of home devices doubles as reachability check of the gateway
+                    List<HomeDevice> currentHomeDevices = loadHomeDevices();
+                    if (currentHomeDevices == null) {
+                        logger.debug("{} is not reachable", getConfig().get(HOST));
                         if (lastBridgeConnectionState) {
                             lastBridgeConnectionState = false;
                             onConnectionLost();
                         }
+                        return;
                     }
 
-                    if (!lastBridgeConnectionState && currentBridgeConnectionState) {
+                    if (!lastBridgeConnectionState) {
                         logger.debug("Connection to Miele Gateway {} established.", getConfig().get(HOST));
                         lastBridgeConnectionState = true;
                         onConnectionResumed();
                     }
 
-                    if (currentBridgeConnectionState) {
-                        if (getThing().getStatus() == ThingStatus.ONLINE) {
-                            List<HomeDevice> currentHomeDevices = getHomeDevices();
-                            for (HomeDevice hd : currentHomeDevices) {
-                                boolean isExisting = false;
-                                for (HomeDevice phd : previousHomeDevices) {
-                                    if (phd.UID.equals(hd.UID)) {
-                                        isExisting = true;
-                                        break;
-                                    }
-                                }
-                                if (!isExisting) {
-                                    logger.info("A new appliance with ID '{}' has been added", hd.UID);
-                                    for (ApplianceStatusListener listener : applianceStatusListeners) {
-                                        listener.onApplianceAdded(hd);
-                                    }
-                                }
-                            }
-
-                            for (HomeDevice hd : previousHomeDevices) {
-                                boolean isCurrent = false;
-                                for (HomeDevice chd : currentHomeDevices) {
-                                    if (chd.UID.equals(hd.UID)) {
-                                        isCurrent = true;
-                                        break;
-                                    }
-                                }
-                                if (!isCurrent) {
-                                    logger.info("The appliance with ID '{}' has been removed", hd);
-                                    for (ApplianceStatusListener listener : applianceStatusListeners) {
-                                        listener.onApplianceRemoved(hd);
-                                    }
-                                }
-                            }
-
-                            previousHomeDevices = currentHomeDevices;
-
-                            for (Thing appliance : getThing().getThings()) {
-                                if (appliance.getStatus() == ThingStatus.ONLINE) {
-                                    String UID = "hdm:ZigBee:"
-                                            + (String) appliance.getConfiguration().getProperties().get(APPLIANCE_ID);
-
-                                    Object[] args = new Object[2];
-                                    args[0] = UID;
-                                    args[1] = true;
-                                    JsonElement result = invokeRPC("HDAccess/getDeviceClassObjects", args);
-
-                                    if (result != null) {
-                                        for (JsonElement obj : result.getAsJsonArray()) {
-                                            try {
-                                                DeviceClassObject dco = gson.fromJson(obj, DeviceClassObject.class);
-
-                                                for (ApplianceStatusListener listener : applianceStatusListeners) {
-                                                    listener.onApplianceStateChanged(UID, dco);
-                                                }
-                                            } catch (Exception e) {
-                                                logger.error("An exception occurred while quering an appliance : '{}'",
-                                                        e.getMessage());
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
+                    if (getThing().getStatus() == ThingStatus.ONLINE) {
+                        updateHomeDevices(currentHomeDevices);
+                        pollAppliances();
                     }
-
                 } catch (Exception e) {
                     logger.error("An exception occurred while polling an appliance :'{}'", e.getMessage());
                 }
@@ -278,27 +238,119 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
                 logger.error("Invalid IP address for the Miele@Home gateway : '{}'", getConfig().get(HOST));
             }
         }
+    };
 
-        private boolean isReachable(String ipAddress) {
-            try {
-                // note that InetAddress.isReachable is unreliable, see
-                // http://stackoverflow.com/questions/9922543/why-does-inetaddress-isreachable-return-false-when-i-can-ping-the-ip-address
-                // That's why we do an HTTP access instead
-
-                // If there is no connection, this line will fail
-                JsonElement result = invokeRPC("system.listMethods", null);
-                if (result == null) {
-                    logger.debug("{} is not reachable", ipAddress);
-                    return false;
+    /**
+     * Notifies the listeners about the appliances added or removed since the last poll.
+     */
+    private void updateHomeDevices(List<HomeDevice> currentHomeDevices) {
+        Map<String, HomeDevice> currentHomeDevicesByUID = new LinkedHashMap<>();
+        for (HomeDevice hd : currentHomeDevices) {
+            currentHomeDevicesByUID.put(hd.UID, hd);
+            if (!homeDevices.containsKey(hd.UID)) {
+                logger.info("A new appliance with ID '{}' has been added", hd.UID);
+                for (ApplianceStatusListener listener : applianceStatusListeners) {
+                    listener.onApplianceAdded(hd);
                 }
-            } catch (Exception e) {
-                return false;
             }
+        }
 
-            logger.debug("{} is reachable", ipAddress);
-            return true;
+        for (HomeDevice hd : homeDevices.values()) {
+            if (!currentHomeDevicesByUID.containsKey(hd.UID)) {
+                logger.info("The appliance with ID '{}' has been removed", hd);
+                for (ApplianceStatusListener listener : applianceStatusListeners) {
+                    listener.onApplianceRemoved(hd);
+                }
+            }
         }
-    };
+
+        homeDevices = currentHomeDevicesByUID;
+    }
+
+    /**
+     * Queries the state of all online appliances, at most {@link #MAX_CONCURRENT_POLLS} at a time. Appliances which
+     * sent a multicast event during the last polling period are skipped, unless they have not been polled for
+     * {@link #MAX_SKIPPED_POLLS} periods.
+     *
+     * The polls run in the shared Miele thread pool, so the limit is kept by queueing the appliances and having
+     * {@link #MAX_CONCURRENT_POLLS} workers take them from the queue.
+     */
+    private void pollAppliances() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long period = TimeUnit.SECONDS.toMillis(POLLING_PERIOD);
+        final ConcurrentLinkedQueue<String> pendingPolls = new ConcurrentLinkedQueue<>();
+        for (Thing appliance : getThing().getThings()) {
+            if (appliance.getStatus() == ThingStatus.ONLINE) {
+                final String UID = "hdm:ZigBee:"
+                        + (String) appliance.getConfiguration().getProperties().get(APPLIANCE_ID);
+
+                Long lastEvent = lastEventTimes.get(UID);
+                Long lastPoll = lastPollTimes.get(UID);
+                if (lastEvent != null && now - lastEvent < period && lastPoll != null
+                        && now - lastPoll < MAX_SKIPPED_POLLS * period) {
+                    logger.trace("Skipping the poll of appliance '{}', it sent an event recently", UID);
+                    continue;
+                }
+
+                pendingPolls.add(UID);
+            }
+        }
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int i = Math.min(pendingPolls.size(), MAX_CONCURRENT_POLLS); i > 0; i--) {
+            workers.add(() -> {
+                String UID;
+                while ((UID = pendingPolls.poll()) != null) {
+                    pollAppliance(UID);
+                }
+                return null;
+            });
+        }
+        if (!workers.isEmpty()) {
+            pollingExecutor.invokeAll(workers);
+        }
+    }
+
+    private void pollAppliance(String UID) {
+        Object[] args = new Object[2];
+        args[0] = UID;
+        args[1] = true;
+        JsonElement result = invokeRPC("HDAccess/getDeviceClassObjects", args);
+
+        if (result != null) {
+            lastPollTimes.put(UID, System.currentTimeMillis());
+            for (JsonElement obj : result.getAsJsonArray()) {
+                try {
+                    DeviceClassObject dco = gson.fromJson(obj, DeviceClassObject.class);
+
+                    for (ApplianceStatusListener listener : applianceStatusListeners) {
+                        listener.onApplianceStateChanged(UID, dco);
+                    }
+                } catch (Exception e) {
+                    logger.error("An exception occurred while quering an appliance : '{}'", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the home devices known to the gateway, or null if the gateway could not be queried
+     */
+    private List<HomeDevice> loadHomeDevices() {
+        String[] args = new String[1];
+        args[0] = "(type=SuperVision)";
+        JsonElement result = invokeRPC("HDAccess/getHomeDevices", args);
+        if (result == null || !result.isJsonArray()) {
+            return null;
+        }
+
+        List<HomeDevice> devices = new ArrayList<HomeDevice>();
+        for (JsonElement obj : result.getAsJsonArray()) {
+            HomeDevice hd = gson.fromJson(obj, HomeDevice.class);
+            devices.add(hd);
+        }
+        return devices;
+    }
 
     public List<HomeDevice> getHomeDevices() {
 
@@ -306,13 +358,9 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
 
         if (getThing().getStatus() == ThingStatus.ONLINE) {
             try {
-                String[] args = new String[1];
-                args[0] = "(type=SuperVision)";
-                JsonElement result = invokeRPC("HDAccess/getHomeDevices", args);
-
-                for (JsonElement obj : result.getAsJsonArray()) {
-                    HomeDevice hd = gson.fromJson(obj, HomeDevice.class);
-                    devices.add(hd);
+                List<HomeDevice> currentDevices = loadHomeDevices();
+                if (currentDevices != null) {
+                    devices.addAll(currentDevices);
                 }
             } catch (Exception e) {
                 logger.error("An exception occurred while getting the home devices :'{}'", e.getMessage());
@@ -325,96 +373,153 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
 
         @Override
         public void run() {
-            if (IP_PATTERN.matcher((String) getConfig().get(INTERFACE)).matches()) {
-                while (true) {
-                    // Get the address that we are going to connect to.
-                    InetAddress address1 = null;
-                    InetAddress address2 = null;
-                    try {
-                        address1 = InetAddress.getByName(JSON_RPC_MULTICAST_IP1);
-                        address2 = InetAddress.getByName(JSON_RPC_MULTICAST_IP2);
-                    } catch (UnknownHostException e) {
-                        logger.error("An exception occurred while setting up the multicast receiver : '{}'",
-                                e.getMessage());
-                    }
+            if (!IP_PATTERN.matcher((String) getConfig().get(INTERFACE)).matches()) {
+                logger.error("Invalid IP address for the multicast interface : '{}'", getConfig().get(INTERFACE));
+                return;
+            }
 
-                    byte[] buf = new byte[256];
-                    MulticastSocket clientSocket = null;
+            // Get the address that we are going to connect to.
+            InetAddress address1 = null;
+            InetAddress address2 = null;
+            try {
+                address1 = InetAddress.getByName(JSON_RPC_MULTICAST_IP1);
+                address2 = InetAddress.getByName(JSON_RPC_MULTICAST_IP2);
+            } catch (UnknownHostException e) {
+                logger.error("An exception occurred while setting up the multicast receiver : '{}'", e.getMessage());
+                return;
+            }
 
-                    while (true) {
-                        try {
-                            clientSocket = new MulticastSocket(JSON_RPC_PORT);
-                            clientSocket.setSoTimeout(100);
-
-                            clientSocket.setInterface(InetAddress.getByName((String) getConfig().get(INTERFACE)));
-                            clientSocket.joinGroup(address1);
-                            clientSocket.joinGroup(address2);
-
-                            while (true) {
-                                try {
-                                    buf = new byte[256];
-                                    DatagramPacket packet = new DatagramPacket(buf, buf.length);
-                                    clientSocket.receive(packet);
-
-                                    String event = new String(packet.getData());
-                                    logger.debug("Received a multicast event '{}' from '{}:{}'",
-                                            new Object[] { event, packet.getAddress(), packet.getPort() });
-
-                                    DeviceProperty dp = new DeviceProperty();
-                                    String uid = null;
-
-                                    String[] parts = StringUtils.split(event, "&");
-                                    for (String p : parts) {
-                                        String[] subparts = StringUtils.split(p, "=");
-                                        switch (subparts[0]) {
-                                            case "property": {
-                                                dp.Name = subparts[1];
-                                                break;
-                                            }
-                                            case "value": {
-                                                dp.Value = subparts[1];
-                                                break;
-                                            }
-                                            case "id": {
-                                                uid = subparts[1];
-                                                break;
-                                            }
-                                        }
-                                    }
-
-                                    for (ApplianceStatusListener listener : applianceStatusListeners) {
-                                        listener.onAppliancePropertyChanged(uid, dp);
-                                    }
-                                } catch (SocketTimeoutException e) {
-                                    Thread.sleep(500);
-                                }
-                            }
-                        } catch (Exception ex) {
-                            logger.error("An exception occurred while receiving multicast packets : '{}'",
-                                    ex.getMessage());
-                        }
+            // the packet and its buffer are reused for all events
+            byte[] buf = new byte[EVENT_BUFFER_SIZE];
+            DatagramPacket packet = new DatagramPacket(buf, buf.length);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                MulticastSocket clientSocket = null;
+                try {
+                    clientSocket = new MulticastSocket(JSON_RPC_PORT);
+                    clientSocket.setInterface(InetAddress.getByName((String) getConfig().get(INTERFACE)));
+                    clientSocket.joinGroup(address1);
+                    clientSocket.joinGroup(address2);
+                    eventSocket = clientSocket;
 
-                        // restart the cycle with a clean slate
+                    while (true) {
+                        packet.setLength(buf.length);
+                        clientSocket.receive(packet);
+                        onMulticastEvent(packet);
+                    }
+                } catch (Exception ex) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    logger.error("An exception occurred while receiving multicast packets : '{}'", ex.getMessage());
+                } finally {
+                    // restart the cycle with a clean slate
+                    if (clientSocket != null) {
                         try {
-                            if (clientSocket != null) {
-                                clientSocket.leaveGroup(address1);
-                                clientSocket.leaveGroup(address2);
-                            }
+                            clientSocket.leaveGroup(address1);
+                            clientSocket.leaveGroup(address2);
                         } catch (IOException e) {
-                            logger.error("An exception occurred while leaving multicast group : '{}'", e.getMessage());
-                        }
-                        if (clientSocket != null) {
-                            clientSocket.close();
+                            logger.debug("An exception occurred while leaving multicast group : '{}'",
+                                    e.getMessage());
                         }
+                        clientSocket.close();
                     }
                 }
-            } else {
-                logger.error("Invalid IP address for the multicast interface : '{}'", getConfig().get(INTERFACE));
-            }
 
+                try {
+                    TimeUnit.SECONDS.sleep(EVENT_LISTENER_RETRY_DELAY);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
         }
     };
 
+    /**
+     * Parses an event of the form property=...&value=...&id=... straight from the packet buffer and passes it to
+     * the handler of the appliance it was sent by.
+     */
+    private void onMulticastEvent(DatagramPacket packet) {
+        byte[] data = packet.getData();
+        int end = packet.getOffset() + packet.getLength();
+
+        DeviceProperty dp = new DeviceProperty();
+        String uid = null;
+
+        int start = packet.getOffset();
+        while (start < end) {
+            int separator = indexOf(data, (byte) '&', start, end);
+            int equals = indexOf(data, (byte) '=', start, separator);
+            if (equals < separator) {
+                String value = new String(data, equals + 1, separator - equals - 1, StandardCharsets.UTF_8);
+                if (regionEquals(data, start, equals, EVENT_PROPERTY)) {
+                    dp.Name = value;
+                } else if (regionEquals(data, start, equals, EVENT_VALUE)) {
+                    dp.Value = value;
+                } else if (regionEquals(data, start, equals, EVENT_ID)) {
+                    uid = value;
+                }
+            }
+            start = separator + 1;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received a multicast event '{}' from '{}:{}'",
+                    new Object[] { new String(data, packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8),
+                            packet.getAddress(), packet.getPort() });
+        }
+
+        if (uid == null) {
+            return;
+        }
+        lastEventTimes.put(uid, System.currentTimeMillis());
+        MieleApplianceHandler<?> handler = handlersByUID.get(uid);
+        if (handler == null) {
+            handler = findApplianceHandler(uid);
+        }
+        if (handler != null) {
+            handler.onAppliancePropertyChanged(uid, dp);
+        } else {
+            logger.trace("No handler for the appliance '{}'", uid);
+        }
+    }
+
+    /**
+     * Looks up the handler of an appliance which initialized before this bridge handler.
+     */
+    private MieleApplianceHandler<?> findApplianceHandler(String uid) {
+        for (Thing appliance : getThing().getThings()) {
+            if (appliance.getHandler() instanceof MieleApplianceHandler
+                    && uid.equals("hdm:ZigBee:" + appliance.getConfiguration().getProperties().get(APPLIANCE_ID))) {
+                MieleApplianceHandler<?> handler = (MieleApplianceHandler<?>) appliance.getHandler();
+                handlersByUID.put(uid, handler);
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOf(byte[] data, byte b, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (data[i] == b) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static boolean regionEquals(byte[] data, int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (data[start + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public JsonElement invokeOperation(String UID, String modelID, String methodName) {
         if (getThing().getStatus() == ThingStatus.ONLINE) {
             Object[] args = new Object[4];
@@ -607,6 +712,21 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
         return result;
     }
 
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof MieleApplianceHandler) {
+            String applianceId = (String) childThing.getConfiguration().getProperties().get(APPLIANCE_ID);
+            if (applianceId != null) {
+                handlersByUID.put("hdm:ZigBee:" + applianceId, (MieleApplianceHandler<?>) childHandler);
+            }
+        }
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        handlersByUID.values().remove(childHandler);
+    }
+
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         // Nothing to do here - the XGW bridge does not handle commands, for now
@@ -623,5 +743,15 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
             pollingJob.cancel(true);
             pollingJob = null;
         }
+        if (eventListenerJob != null) {
+            eventListenerJob.cancel(true);
+            eventListenerJob = null;
+        }
+        // unblock the event listener waiting for a packet
+        MulticastSocket socket = eventSocket;
+        if (socket != null) {
+            socket.close();
+            eventSocket = null;
+        }
     }
 }
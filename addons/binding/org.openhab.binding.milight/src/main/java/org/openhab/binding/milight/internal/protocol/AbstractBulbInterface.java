@@ -84,6 +84,9 @@ public abstract class AbstractBulbInterface {
     public static final int CAT_SPEED_CHANGE = 19;
     public static final int CAT_LINK = 20;
 
+    // Command ids are made of the zone and bulb type times this factor plus the category
+    public static final int CATEGORIES_PER_ZONE = 64;
+
     protected final QueuedSend sendQueue;
     protected final int zone;
     // Each bulb type including zone has to be unique. To realise this, each type has an offset.
@@ -111,6 +114,6 @@ public abstract class AbstractBulbInterface {
      * @return
      */
     protected int uidc(int command_category) {
-        return (zone + type_offset + 1) * 64 + command_category;
+        return (zone + type_offset + 1) * CATEGORIES_PER_ZONE + command_category;
     }
 }
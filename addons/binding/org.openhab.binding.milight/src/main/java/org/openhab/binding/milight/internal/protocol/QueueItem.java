@@ -9,7 +9,6 @@
 package org.openhab.binding.milight.internal.protocol;
 
 public class QueueItem {
-    static final int INVALID = -1;
     byte[] data;
     int unique_command_id;
     boolean repeatable;
@@ -13,9 +13,8 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +26,13 @@ import org.slf4j.LoggerFactory;
  * delay only. The user may issue absolute brightness or color changes faster than 1/10s though, and we don't
  * want to just queue up those commands but apply the newest command only.
  *
+ * Pending commands are kept per zone (the zone and bulb type part of the command id) and the zones take turns, so
+ * a zone with many changes does not delay the others. Commands are sent at least the delay between commands apart.
+ * Repetitions of a command are sent in the time slots in between, interleaved with the commands of other zones, and
+ * are dropped if a newer command with the same id is queued. A chain of commands is still sent in a row, because
+ * older bridges address a zone by sending its "on" command first. Non-categorised commands of all zones share one
+ * queue and are sent in order.
+ *
  * @author David Graeff <david.graeff@web.de>
  * @since 2.1
  *
@@ -34,16 +40,27 @@ import org.slf4j.LoggerFactory;
 public class QueuedSend implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(QueuedSend.class);
 
-    BlockingQueue<QueueItem> queue = new LinkedBlockingQueue<>(20);
     protected final DatagramPacket packet;
     protected final DatagramSocket datagramSocket;
     private int delay_between_commands = 100;
     private int repeat_commands = 1;
-    private boolean willbeclosed = false;
+    private volatile boolean willbeclosed = false;
     private Thread thread;
 
     public static final byte NO_CATEGORY = 0;
 
+    private static final int NO_CATEGORY_ZONE = -1;
+    private static final int MAX_NO_CATEGORY_COMMANDS = 20;
+
+    // Zones with pending commands, in the order they get their turn
+    private final Map<Integer, Zone> zones = new LinkedHashMap<>();
+    // The chain of commands that is currently sent, if any
+    private Transmission currentChain;
+    // Ids for non-categorised commands, which never replace each other
+    private int nextNoCategoryId = -1;
+    private long lastSendTime;
+    private long nextCommandTime;
+
     /**
      * Creates a new send queue and starts the background thread. Call setAddress and
      * setPort before using any of the queue commands.
@@ -88,66 +105,124 @@ public class QueuedSend implements Runnable {
      */
     @Override
     public void run() {
-        QueueItem item = null;
         while (!willbeclosed) {
-            // If the command belongs to a chain of commands, get the next command now.
-            if (item != null && item.next != null) {
-                item = item.next;
-            } else {
-                try {
-                    // block/wait for another item
-                    item = queue.take();
-                } catch (InterruptedException e) {
-                    if (!willbeclosed) {
-                        logger.error("Queue take failed: {}", e.getLocalizedMessage());
-                    }
-                    break;
+            Transmission transmission;
+            try {
+                // block/wait for the next command or repetition that is due
+                transmission = takeNext();
+            } catch (InterruptedException e) {
+                if (!willbeclosed) {
+                    logger.error("Queue take failed: {}", e.getLocalizedMessage());
                 }
+                break;
             }
 
-            if (item == null || item.unique_command_id == QueueItem.INVALID) {
-                // Just in case it is a command chain, set the item to null to not process any chained commands.
-                item = null;
-                continue;
-            }
-
-            packet.setData(item.data);
+            packet.setData(transmission.item.data);
             try {
-                for (int i = 0; i < (item.repeatable ? repeat_commands : 1); ++i) {
-                    datagramSocket.send(packet);
+                datagramSocket.send(packet);
 
-                    if (logger.isDebugEnabled()) {
-                        StringBuilder s = new StringBuilder();
-                        for (int c = 0; c < item.data.length; ++c) {
-                            s.append(String.format("%02X ", item.data[c]));
-                        }
-                        logger.debug("Sent packet '{}' to bridge {}", s.toString(),
-                                packet.getAddress().getHostAddress());
+                if (logger.isDebugEnabled()) {
+                    StringBuilder s = new StringBuilder();
+                    for (int c = 0; c < transmission.item.data.length; ++c) {
+                        s.append(String.format("%02X ", transmission.item.data[c]));
                     }
+                    logger.debug("Sent packet '{}' to bridge {}", s.toString(), packet.getAddress().getHostAddress());
                 }
-
             } catch (Exception e) {
                 logger.error("Failed to send Message to '{}': {}", packet.getAddress().getHostAddress(),
                         e.getMessage());
             }
 
-            try {
-                Thread.sleep((item.custom_delay_time != 0) ? item.custom_delay_time : delay_between_commands);
-            } catch (InterruptedException e) {
-                if (!willbeclosed) {
-                    logger.error("Queue sleep failed: {}", e.getLocalizedMessage());
+            transmitted(transmission, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Waits for the next transmission that is due. Zones are checked in turn, starting with the one that has waited
+     * longest. A chain of commands is completed before any other zone gets its turn.
+     */
+    private synchronized Transmission takeNext() throws InterruptedException {
+        while (!willbeclosed) {
+            long now = System.currentTimeMillis();
+            long wakeup = Long.MAX_VALUE;
+
+            if (currentChain != null) {
+                long due = getDueTime(currentChain);
+                if (due <= now) {
+                    return currentChain;
+                }
+                wakeup = due;
+            } else {
+                Iterator<Zone> iterator = zones.values().iterator();
+                while (iterator.hasNext()) {
+                    Zone zone = iterator.next();
+                    Transmission next = zone.peek();
+                    long due = getDueTime(next);
+                    if (due <= now) {
+                        zone.remove(next);
+                        // move the zone to the end of the turn order
+                        iterator.remove();
+                        if (!zone.isEmpty()) {
+                            zones.put(zone.id, zone);
+                        }
+                        if (next.item.next != null) {
+                            currentChain = next;
+                        }
+                        return next;
+                    }
+                    wakeup = Math.min(wakeup, due);
                 }
-                break;
+            }
+
+            if (wakeup == Long.MAX_VALUE) {
+                wait();
+            } else {
+                wait(wakeup - now);
             }
         }
+        throw new InterruptedException("Queue closed");
+    }
 
+    /**
+     * A repetition may be sent one time slot after the last packet. A new command has to wait for the delay between
+     * commands as well.
+     */
+    private long getDueTime(Transmission transmission) {
+        long slotTime = lastSendTime + delay_between_commands / repeat_commands;
+        return transmission.sent > 0 ? slotTime : Math.max(slotTime, nextCommandTime);
+    }
+
+    private synchronized void transmitted(Transmission transmission, long now) {
+        if (transmission.sent == 0) {
+            QueueItem item = transmission.item;
+            nextCommandTime = now + ((item.custom_delay_time != 0) ? item.custom_delay_time : delay_between_commands);
+        }
+        lastSendTime = now;
+        transmission.sent++;
+
+        if (transmission.sent < transmission.getSendCount()) {
+            if (transmission != currentChain) {
+                // queue the repetition unless a newer command with the same id is pending already
+                addTransmission(transmission);
+            }
+        } else if (transmission == currentChain) {
+            if (transmission.item.next != null) {
+                transmission.item = transmission.item.next;
+                transmission.sent = 0;
+            } else {
+                currentChain = null;
+            }
+        }
     }
 
     /**
      * Once disposed, this object can't be reused anymore.
      */
     public void dispose() {
-        willbeclosed = true;
+        synchronized (this) {
+            willbeclosed = true;
+            notifyAll();
+        }
         if (thread != null) {
             try {
                 thread.join(delay_between_commands);
@@ -162,32 +237,6 @@ public class QueuedSend implements Runnable {
         repeat_commands = times;
     }
 
-    /**
-     * Mark all commands in the queue invalid that have the same unique id as the given one. This does not synchronise
-     * with the sender thread. If an element has been started to being processed, this method has no more effect on that
-     * element. Command chains are always executed in a row. Even if the head of the command queue has been marked
-     * as invalid, if the processing has been started, the chain will be processed completely.
-     *
-     * @param unique_command_id
-     */
-    private void remove_from_queue(int unique_command_id) {
-        Iterator<QueueItem> iterator = queue.iterator();
-        while (iterator.hasNext()) {
-            try {
-                QueueItem item = iterator.next();
-                if (item != null && item.unique_command_id == unique_command_id) {
-                    item.unique_command_id = QueueItem.INVALID; // invalidate
-                }
-            } catch (IllegalStateException e) {
-                // Ignore threading errors
-                logger.error("{}", e.getLocalizedMessage());
-            } catch (NoSuchElementException e) {
-                // The element might have been processed already while iterate.
-                // Ignore NoSuchElementException here.
-            }
-        }
-    }
-
     /**
      * Add data to the send queue. Use a category of 0 to make an item non-categorised.
      * Commands which need to be queued up and not replacing same type commands must be non-categorised.
@@ -202,13 +251,12 @@ public class QueuedSend implements Runnable {
      * @param data Data to be send
      */
     public void queueRepeatable(int unique_command_id, byte[]... data) {
-        remove_from_queue(unique_command_id);
         QueueItem item = QueueItem.createRepeatable(unique_command_id, data[0]);
         QueueItem next = item;
         for (int i = 1; i < data.length; ++i) {
             next = next.addRepeatable(data[i]);
         }
-        queue.offer(item);
+        queue(item);
     }
 
     /**
@@ -219,11 +267,37 @@ public class QueuedSend implements Runnable {
      *
      * @param item A queue item, cannot be null.
      */
-    public void queue(QueueItem item) {
+    public synchronized void queue(QueueItem item) {
+        Transmission transmission;
         if (item.unique_command_id != NO_CATEGORY) {
-            remove_from_queue(item.unique_command_id);
+            transmission = new Transmission(item.unique_command_id / AbstractBulbInterface.CATEGORIES_PER_ZONE,
+                    item.unique_command_id, item);
+        } else {
+            Zone zone = zones.get(NO_CATEGORY_ZONE);
+            if (zone != null && zone.size() >= MAX_NO_CATEGORY_COMMANDS) {
+                logger.debug("Dropping command, too many non-categorised commands queued");
+                return;
+            }
+            transmission = new Transmission(NO_CATEGORY_ZONE, nextNoCategoryId--, item);
+            if (nextNoCategoryId == Integer.MIN_VALUE) {
+                nextNoCategoryId = -1;
+            }
+        }
+        addTransmission(transmission);
+        notifyAll();
+    }
+
+    /**
+     * Adds a transmission to its zone. A new command replaces a pending one with the same id at its position in the
+     * zone, a repetition is added only if there is no pending command with the same id.
+     */
+    private void addTransmission(Transmission transmission) {
+        Zone zone = zones.get(transmission.zone);
+        if (zone == null) {
+            zone = new Zone(transmission.zone);
+            zones.put(zone.id, zone);
         }
-        queue.offer(item);
+        zone.add(transmission);
     }
 
     public InetAddress getAddr() {
@@ -245,4 +319,58 @@ public class QueuedSend implements Runnable {
     public void setPort(int port) {
         packet.setPort(port);
     }
+
+    /**
+     * A queued command and how often its current packet has been sent.
+     */
+    private class Transmission {
+        final int zone;
+        final int id;
+        QueueItem item;
+        int sent;
+
+        Transmission(int zone, int id, QueueItem item) {
+            this.zone = zone;
+            this.id = id;
+            this.item = item;
+        }
+
+        int getSendCount() {
+            return item.repeatable ? repeat_commands : 1;
+        }
+    }
+
+    /**
+     * The pending transmissions of a zone by command id, oldest first.
+     */
+    private static class Zone {
+        final int id;
+        private final Map<Integer, Transmission> pending = new LinkedHashMap<>();
+
+        Zone(int id) {
+            this.id = id;
+        }
+
+        void add(Transmission transmission) {
+            if (transmission.sent == 0 || !pending.containsKey(transmission.id)) {
+                pending.put(transmission.id, transmission);
+            }
+        }
+
+        Transmission peek() {
+            return pending.values().iterator().next();
+        }
+
+        void remove(Transmission transmission) {
+            pending.remove(transmission.id);
+        }
+
+        boolean isEmpty() {
+            return pending.isEmpty();
+        }
+
+        int size() {
+            return pending.size();
+        }
+    }
 }
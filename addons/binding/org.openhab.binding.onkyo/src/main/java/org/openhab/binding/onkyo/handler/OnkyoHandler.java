@@ -11,7 +11,11 @@ package org.openhab.binding.onkyo.handler;
 import static org.openhab.binding.onkyo.OnkyoBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -38,6 +42,7 @@ import org.eclipse.smarthome.io.transport.upnp.UpnpIOService;
 import org.openhab.binding.onkyo.internal.OnkyoAlbumArt;
 import org.openhab.binding.onkyo.internal.OnkyoConnection;
 import org.openhab.binding.onkyo.internal.OnkyoEventListener;
+import org.openhab.binding.onkyo.internal.OnkyoQueryPipeline;
 import org.openhab.binding.onkyo.internal.ServiceType;
 import org.openhab.binding.onkyo.internal.config.OnkyoDeviceConfiguration;
 import org.openhab.binding.onkyo.internal.eiscp.EiscpCommand;
@@ -60,7 +65,11 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
     private OnkyoDeviceConfiguration configuration;
 
     private OnkyoConnection connection;
+    private OnkyoQueryPipeline queryPipeline;
     private ScheduledFuture<?> resourceUpdaterFuture;
+
+    /** Last state of each channel, used to answer refresh commands without asking the receiver **/
+    private final Map<String, State> stateCache = new ConcurrentHashMap<>();
     @SuppressWarnings("unused")
     private int currentInput = -1;
     private State volumeLevelZone1 = UnDefType.UNDEF;
@@ -71,6 +80,9 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
 
     private final int NET_USB_ID = 43;
 
+    /** eISCP value of status queries **/
+    private static final String QUERY_VALUE = "QSTN";
+
     public OnkyoHandler(Thing thing, UpnpIOService upnpIOService, AudioHTTPServer audioHTTPServer, String callbackUrl) {
         super(thing, upnpIOService, audioHTTPServer, callbackUrl);
     }
@@ -85,6 +97,8 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
         logger.info("Using configuration: {}", configuration.toString());
 
         connection = new OnkyoConnection(configuration.ipAddress, configuration.port);
+        queryPipeline = new OnkyoQueryPipeline(connection, scheduler);
+        stateCache.clear();
         connection.addEventListener(this);
 
         scheduler.execute(new Runnable() {
@@ -95,6 +109,7 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
                 connection.openConnection();
                 if (connection.isConnected()) {
                     updateStatus(ThingStatus.ONLINE);
+                    checkStatus();
                 }
             }
         });
@@ -127,6 +142,9 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
         if (resourceUpdaterFuture != null) {
             resourceUpdaterFuture.cancel(true);
         }
+        if (queryPipeline != null) {
+            queryPipeline.cancel();
+        }
         if (connection != null) {
             connection.removeEventListener(this);
             connection.closeConnection();
@@ -136,6 +154,15 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         logger.debug("handleCommand for channel {}: {}", channelUID.getId(), command.toString());
+        if (command.equals(RefreshType.REFRESH)) {
+            State state = stateCache.get(channelUID.getId());
+            if (state != null) {
+                logger.debug("Refresh channel {} from cached state {}", channelUID.getId(), state);
+                updateState(channelUID, state);
+                return;
+            }
+        }
+
         switch (channelUID.getId()) {
 
             /*
@@ -320,6 +347,7 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
         logger.debug("Received status update from Onkyo Receiver @{}: data={}", connection.getConnectionName(), data);
 
         updateStatus(ThingStatus.ONLINE);
+        queryPipeline.answered(data.getCommand());
 
         try {
             EiscpCommand receivedCommand = null;
@@ -448,6 +476,15 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
     public void connectionError(String ip) {
         logger.debug("Connection error occurred to Onkyo Receiver @{}", ip);
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
+        // the receiver might change while we are disconnected, so the cached states can't be trusted anymore
+        stateCache.clear();
+        queryPipeline.cancel();
+    }
+
+    @Override
+    protected void updateState(String channelID, State state) {
+        stateCache.put(channelID, state);
+        super.updateState(channelID, state);
     }
 
     private State convertDeviceValueToOpenHabState(String data, Class<?> classToConvert) {
@@ -663,7 +700,9 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
     }
 
     private void sendCommand(EiscpCommand deviceCommand) {
-        if (connection != null) {
+        if (connection != null && QUERY_VALUE.equals(deviceCommand.getValue())) {
+            queryPipeline.query(Collections.singletonList(deviceCommand));
+        } else if (connection != null) {
             connection.send(deviceCommand.getCommand(), deviceCommand.getValue());
         } else {
             logger.debug("Connect send command to onkyo receiver since the onkyo binding is not initialized");
@@ -706,29 +745,37 @@ public class OnkyoHandler extends UpnpAudioSinkHandler implements OnkyoEventList
      * @return
      */
     private void checkStatus() {
-        sendCommand(EiscpCommand.POWER_QUERY);
+        if (connection == null) {
+            return;
+        }
 
-        if (connection != null && connection.isConnected()) {
+        // reconnects, if the connection has been lost
+        connection.openConnection();
 
-            sendCommand(EiscpCommand.VOLUME_QUERY);
-            sendCommand(EiscpCommand.SOURCE_QUERY);
-            sendCommand(EiscpCommand.MUTE_QUERY);
-            sendCommand(EiscpCommand.NETUSB_TITLE_QUERY);
-            sendCommand(EiscpCommand.LISTEN_MODE_QUERY);
+        if (connection.isConnected()) {
+            List<EiscpCommand> queries = new ArrayList<>();
+            queries.add(EiscpCommand.POWER_QUERY);
+            queries.add(EiscpCommand.VOLUME_QUERY);
+            queries.add(EiscpCommand.SOURCE_QUERY);
+            queries.add(EiscpCommand.MUTE_QUERY);
+            queries.add(EiscpCommand.NETUSB_TITLE_QUERY);
+            queries.add(EiscpCommand.LISTEN_MODE_QUERY);
 
             if (isChannelAvailable(CHANNEL_POWERZONE2)) {
-                sendCommand(EiscpCommand.ZONE2_POWER_QUERY);
-                sendCommand(EiscpCommand.ZONE2_VOLUME_QUERY);
-                sendCommand(EiscpCommand.ZONE2_SOURCE_QUERY);
-                sendCommand(EiscpCommand.ZONE2_MUTE_QUERY);
+                queries.add(EiscpCommand.ZONE2_POWER_QUERY);
+                queries.add(EiscpCommand.ZONE2_VOLUME_QUERY);
+                queries.add(EiscpCommand.ZONE2_SOURCE_QUERY);
+                queries.add(EiscpCommand.ZONE2_MUTE_QUERY);
             }
 
             if (isChannelAvailable(CHANNEL_POWERZONE3)) {
-                sendCommand(EiscpCommand.ZONE3_POWER_QUERY);
-                sendCommand(EiscpCommand.ZONE3_VOLUME_QUERY);
-                sendCommand(EiscpCommand.ZONE3_SOURCE_QUERY);
-                sendCommand(EiscpCommand.ZONE3_MUTE_QUERY);
+                queries.add(EiscpCommand.ZONE3_POWER_QUERY);
+                queries.add(EiscpCommand.ZONE3_VOLUME_QUERY);
+                queries.add(EiscpCommand.ZONE3_SOURCE_QUERY);
+                queries.add(EiscpCommand.ZONE3_MUTE_QUERY);
             }
+
+            queryPipeline.query(queries);
         } else {
             updateStatus(ThingStatus.OFFLINE);
         }
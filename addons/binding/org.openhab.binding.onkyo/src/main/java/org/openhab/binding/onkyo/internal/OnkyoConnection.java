@@ -16,10 +16,12 @@ import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -66,7 +68,7 @@ public class OnkyoConnection {
     private DataOutputStream outStream = null;
     private DataInputStream inStream = null;
     private boolean connected = false;
-    private List<OnkyoEventListener> listeners = new ArrayList<OnkyoEventListener>();
+    private List<OnkyoEventListener> listeners = new CopyOnWriteArrayList<OnkyoEventListener>();
     private int retryCount = 1;
     private ConnectionSupervisor connectionSupervisor = null;
 
@@ -127,37 +129,63 @@ public class OnkyoConnection {
 
     }
 
+    /**
+     * Sends commands to Onkyo device with a single write.
+     *
+     * @param cmds eISCP commands to send
+     */
+    public void send(final List<EiscpCommand> cmds) {
+
+        try {
+            List<EiscpMessage> msgs = new ArrayList<EiscpMessage>(cmds.size());
+            for (EiscpCommand cmd : cmds) {
+                msgs.add(new EiscpMessage.MessageBuilder().command(cmd.getCommand()).value(cmd.getValue()).build());
+            }
+            logger.debug("Send {} commands to {}:{} ({})", msgs.size(), ip, port, eiscpSocket);
+            sendCommands(msgs, retryCount);
+        } catch (Exception e) {
+            logger.error("Could not send commands to device on {}: {}", ip + ":" + port, e);
+        }
+
+    }
+
     private void sendCommand(EiscpMessage msg) {
         logger.debug("Send command: {} to {}:{} ({})", msg.toString(), ip, port, eiscpSocket);
-        sendCommand(msg, retryCount);
+        sendCommands(Collections.singletonList(msg), retryCount);
     }
 
     /**
-     * Sends to command to the receiver.
+     * Sends the commands to the receiver. All commands are framed into one buffer, which is written and flushed at
+     * once.
      *
-     * @param eiscpCmd the eISCP command to send.
+     * @param msgs the eISCP commands to send.
      * @param retry retry count when connection fails.
      **/
-    private void sendCommand(EiscpMessage msg, int retry) {
+    private void sendCommands(List<EiscpMessage> msgs, int retry) {
 
         if (connectSocket()) {
             try {
 
-                String data = EiscpProtocol.createEiscpPdu(msg);
+                StringBuilder data = new StringBuilder();
+                for (EiscpMessage msg : msgs) {
+                    data.append(EiscpProtocol.createEiscpPdu(msg));
+                }
                 if (logger.isTraceEnabled()) {
                     logger.trace("Sending {} bytes: {}", data.length(),
                             DatatypeConverter.printHexBinary(data.toString().getBytes()));
                 }
 
-                outStream.writeBytes(data);
-                outStream.flush();
+                synchronized (this) {
+                    outStream.writeBytes(data.toString());
+                    outStream.flush();
+                }
             } catch (IOException ioException) {
                 logger.error("Error occurred when sending command: {}", ioException.getMessage());
 
                 if (retry > 0) {
                     logger.debug("Retry {}...", retry);
                     closeSocket();
-                    sendCommand(msg, retry--);
+                    sendCommands(msgs, retry - 1);
                 } else {
                     sendConnectionErrorEvent();
                 }
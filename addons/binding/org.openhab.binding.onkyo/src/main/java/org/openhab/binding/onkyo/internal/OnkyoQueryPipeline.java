@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.onkyo.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.onkyo.internal.eiscp.EiscpCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class sends status queries to the Onkyo device in batches and keeps track of the queries which have not been
+ * answered yet. Unanswered queries are sent again after a delay, queries which are already pending are not sent
+ * twice.
+ *
+ * @author agent - Initial contribution
+ */
+public class OnkyoQueryPipeline {
+
+    private Logger logger = LoggerFactory.getLogger(OnkyoQueryPipeline.class);
+
+    /** Delay in milliseconds until unanswered queries are sent again **/
+    private static final int RETRY_DELAY = 2000;
+
+    /** Number of times unanswered queries are sent again **/
+    private static final int MAX_RETRIES = 2;
+
+    private final OnkyoConnection connection;
+    private final ScheduledExecutorService scheduler;
+
+    /** Pending queries by their eISCP command, which is also the command of the answer **/
+    private final Map<String, EiscpCommand> pendingQueries = new LinkedHashMap<>();
+    private ScheduledFuture<?> retryFuture;
+    private int retries;
+
+    public OnkyoQueryPipeline(OnkyoConnection connection, ScheduledExecutorService scheduler) {
+        this.connection = connection;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sends the queries, which are not pending yet, to the Onkyo device at once.
+     *
+     * @param queries the query commands
+     */
+    public synchronized void query(Collection<EiscpCommand> queries) {
+        List<EiscpCommand> newQueries = new ArrayList<>(queries.size());
+        for (EiscpCommand query : queries) {
+            if (!pendingQueries.containsKey(query.getCommand())) {
+                pendingQueries.put(query.getCommand(), query);
+                newQueries.add(query);
+            }
+        }
+
+        if (!newQueries.isEmpty()) {
+            logger.debug("Send {} queries to {}", newQueries.size(), connection.getConnectionName());
+            connection.send(newQueries);
+            retries = 0;
+            scheduleRetry();
+        }
+    }
+
+    /**
+     * Marks the query of the received command as answered.
+     *
+     * @param command the eISCP command received from the Onkyo device
+     */
+    public synchronized void answered(String command) {
+        if (pendingQueries.remove(command) != null && pendingQueries.isEmpty()) {
+            cancelRetry();
+        }
+    }
+
+    /**
+     * Forgets all pending queries.
+     */
+    public synchronized void cancel() {
+        pendingQueries.clear();
+        cancelRetry();
+    }
+
+    private synchronized void retry() {
+        retryFuture = null;
+        if (pendingQueries.isEmpty()) {
+            return;
+        }
+
+        if (retries++ >= MAX_RETRIES) {
+            logger.debug("No answer from {} for queries {}", connection.getConnectionName(),
+                    pendingQueries.keySet());
+            pendingQueries.clear();
+            return;
+        }
+
+        logger.debug("Send {} unanswered queries again to {}", pendingQueries.size(),
+                connection.getConnectionName());
+        connection.send(new ArrayList<>(pendingQueries.values()));
+        scheduleRetry();
+    }
+
+    private void scheduleRetry() {
+        cancelRetry();
+        retryFuture = scheduler.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                retry();
+            }
+        }, RETRY_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelRetry() {
+        if (retryFuture != null) {
+            retryFuture.cancel(false);
+            retryFuture = null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal;
+
+import static org.junit.Assert.*;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.junit.Test;
+
+/**
+ * Test for the duplicate packet filter of the RFXCom-binding
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComDuplicateFilterTest {
+    private static final byte[] TEMPERATURE = DatatypeConverter.parseHexBinary("08500110000180BC69");
+    // same reading with another sequence number and signal level
+    private static final byte[] TEMPERATURE_REPEAT = DatatypeConverter.parseHexBinary("08500111000180BC59");
+    private static final byte[] TEMPERATURE_CHANGED = DatatypeConverter.parseHexBinary("08500112000180BD69");
+    private static final byte[] TRANSMITTER_RESPONSE = DatatypeConverter.parseHexBinary("04020100000000");
+
+    @Test
+    public void testRepeatWithinWindowIsDropped() {
+        RFXComDuplicateFilter filter = new RFXComDuplicateFilter(1000);
+        assertFalse(filter.isDuplicate(TEMPERATURE, 0));
+        assertTrue(filter.isDuplicate(TEMPERATURE_REPEAT, 100));
+        assertTrue(filter.isDuplicate(TEMPERATURE, 200));
+        assertEquals(2, filter.getDuplicateCount());
+    }
+
+    @Test
+    public void testChangedValueIsNotDropped() {
+        RFXComDuplicateFilter filter = new RFXComDuplicateFilter(1000);
+        assertFalse(filter.isDuplicate(TEMPERATURE, 0));
+        assertFalse(filter.isDuplicate(TEMPERATURE_CHANGED, 100));
+    }
+
+    @Test
+    public void testRepeatAfterWindowIsNotDropped() {
+        RFXComDuplicateFilter filter = new RFXComDuplicateFilter(1000);
+        assertFalse(filter.isDuplicate(TEMPERATURE, 0));
+        assertFalse(filter.isDuplicate(TEMPERATURE_REPEAT, 1001));
+    }
+
+    @Test
+    public void testTransmitterResponsesAreNeverDropped() {
+        RFXComDuplicateFilter filter = new RFXComDuplicateFilter(1000);
+        assertFalse(filter.isDuplicate(TRANSMITTER_RESPONSE, 0));
+        assertFalse(filter.isDuplicate(TRANSMITTER_RESPONSE, 10));
+    }
+
+    @Test
+    public void testDisabledFilter() {
+        RFXComDuplicateFilter filter = new RFXComDuplicateFilter(0);
+        assertFalse(filter.isDuplicate(TEMPERATURE, 0));
+        assertFalse(filter.isDuplicate(TEMPERATURE, 0));
+    }
+}
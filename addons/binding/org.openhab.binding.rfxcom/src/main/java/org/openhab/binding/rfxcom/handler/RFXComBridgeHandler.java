@@ -11,12 +11,15 @@ package org.openhab.binding.rfxcom.handler;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -24,10 +27,13 @@ import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.openhab.binding.rfxcom.RFXComBindingConstants;
 import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
+import org.openhab.binding.rfxcom.internal.RFXComDuplicateFilter;
 import org.openhab.binding.rfxcom.internal.config.RFXComBridgeConfiguration;
 import org.openhab.binding.rfxcom.internal.connector.RFXComConnectorInterface;
 import org.openhab.binding.rfxcom.internal.connector.RFXComEventListener;
@@ -66,6 +72,16 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
     private List<DeviceMessageListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Listeners for a single device, keyed by thing type and device id (see {@link #getDeviceKey})
+     */
+    private Map<String, DeviceMessageListener> deviceMessageListeners = new ConcurrentHashMap<>();
+
+    private RFXComDuplicateFilter duplicateFilter = new RFXComDuplicateFilter(0);
+
+    private final AtomicLong dispatchedMessages = new AtomicLong();
+    private final AtomicLong unmatchedMessages = new AtomicLong();
+
     private RFXComBridgeConfiguration configuration = null;
     private ScheduledFuture<?> connectorTask;
     private Set<ThingUID> knownDevices = new HashSet<>();
@@ -124,6 +140,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
             unregisterDeviceStatusListener(deviceStatusListener);
         }
+        deviceMessageListeners.clear();
 
         if (connector != null) {
             connector.removeEventListener(eventListener);
@@ -145,6 +162,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         updateStatus(ThingStatus.OFFLINE);
 
         configuration = getConfigAs(RFXComBridgeConfiguration.class);
+        duplicateFilter = new RFXComDuplicateFilter(configuration.duplicateWindow);
 
         if (connectorTask == null || connectorTask.isCancelled()) {
             connectorTask = scheduler.scheduleAtFixedRate(new Runnable() {
@@ -152,6 +170,9 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
                 @Override
                 public void run() {
                     logger.debug("Checking RFXCOM transceiver connection, thing status = {}", thing.getStatus());
+                    logger.debug(
+                            "Dispatched {} device messages, {} of them without a matching thing, dropped {} repeats",
+                            dispatchedMessages.get(), unmatchedMessages.get(), duplicateFilter.getDuplicateCount());
                     if (thing.getStatus() != ThingStatus.ONLINE) {
                         connect();
                     }
@@ -229,6 +250,13 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
         @Override
         public void packetReceived(byte[] packet) {
+            if (duplicateFilter.isDuplicate(packet, System.currentTimeMillis())) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Dropped repeated packet: {}", DatatypeConverter.printHexBinary(packet));
+                }
+                return;
+            }
+
             try {
                 RFXComMessage message = RFXComMessageFactory.createMessage(packet);
                 logger.debug("Message received: {}", message);
@@ -287,14 +315,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
                     transmitQueue.sendNext();
                 } else {
-
-                    for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceMessageReceived(getThing().getUID(), message);
-                        } catch (Exception e) {
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                        }
-                    }
+                    dispatchDeviceMessage(message);
                 }
             } catch (RFXComMessageNotImplementedException e) {
                 logger.debug("Message not supported, data: {}", DatatypeConverter.printHexBinary(packet));
@@ -313,6 +334,80 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Passes a device message to the listener registered for its device only. Messages from devices without a
+     * registered listener go to the generic listeners, e.g. discovery.
+     */
+    private void dispatchDeviceMessage(RFXComMessage message) throws RFXComException {
+        dispatchedMessages.incrementAndGet();
+
+        RFXComBaseMessage baseMessage = (RFXComBaseMessage) message;
+        ThingTypeUID thingTypeUID = RFXComBindingConstants.PACKET_TYPE_THING_TYPE_UID_MAP.get(baseMessage.packetType);
+        DeviceMessageListener deviceMessageListener = thingTypeUID == null ? null
+                : deviceMessageListeners.get(getDeviceKey(thingTypeUID, message.getDeviceId()));
+
+        if (deviceMessageListener != null) {
+            notifyListener(deviceMessageListener, message);
+        } else {
+            unmatchedMessages.incrementAndGet();
+            for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
+                notifyListener(deviceStatusListener, message);
+            }
+        }
+    }
+
+    private void notifyListener(DeviceMessageListener deviceMessageListener, RFXComMessage message) {
+        try {
+            deviceMessageListener.onDeviceMessageReceived(getThing().getUID(), message);
+        } catch (Exception e) {
+            logger.error("An exception occurred while calling the DeviceStatusListener", e);
+        }
+    }
+
+    private static String getDeviceKey(ThingTypeUID thingTypeUID, String deviceId) {
+        return thingTypeUID.getId() + ":" + deviceId;
+    }
+
+    /**
+     * Registers a listener for the messages of a single device.
+     *
+     * @param thingTypeUID the thing type of the device
+     * @param deviceId the id of the device
+     * @param deviceMessageListener the listener to register
+     */
+    public void registerDeviceMessageListener(ThingTypeUID thingTypeUID, String deviceId,
+            DeviceMessageListener deviceMessageListener) {
+        if (deviceMessageListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null deviceMessageListener.");
+        }
+        deviceMessageListeners.put(getDeviceKey(thingTypeUID, deviceId), deviceMessageListener);
+    }
+
+    /**
+     * Unregisters a listener registered by {@link #registerDeviceMessageListener}.
+     */
+    public boolean unregisterDeviceMessageListener(ThingTypeUID thingTypeUID, String deviceId,
+            DeviceMessageListener deviceMessageListener) {
+        if (deviceMessageListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null deviceMessageListener.");
+        }
+        return deviceMessageListeners.remove(getDeviceKey(thingTypeUID, deviceId), deviceMessageListener);
+    }
+
+    /**
+     * @return the number of device messages received
+     */
+    public long getDispatchedMessageCount() {
+        return dispatchedMessages.get();
+    }
+
+    /**
+     * @return the number of device messages received from devices without a thing
+     */
+    public long getUnmatchedMessageCount() {
+        return unmatchedMessages.get();
+    }
+
     public boolean registerDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
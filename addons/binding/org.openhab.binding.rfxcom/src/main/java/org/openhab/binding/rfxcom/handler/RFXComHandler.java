@@ -50,6 +50,7 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
 
     private RFXComBridgeHandler bridgeHandler;
     private RFXComDeviceConfiguration config;
+    private String registeredDeviceId;
 
     public RFXComHandler(Thing thing) {
         super(thing);
@@ -120,8 +121,12 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
                     "RFXCOM device missing deviceId or subType");
         } else if (thingHandler != null && bridgeStatus != null) {
 
+            if (bridgeHandler != null) {
+                bridgeHandler.unregisterDeviceMessageListener(getThing().getThingTypeUID(), registeredDeviceId, this);
+            }
             bridgeHandler = (RFXComBridgeHandler) thingHandler;
-            bridgeHandler.registerDeviceStatusListener(this);
+            registeredDeviceId = config.deviceId;
+            bridgeHandler.registerDeviceMessageListener(getThing().getThingTypeUID(), registeredDeviceId, this);
 
             if (bridgeStatus == ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
@@ -142,7 +147,7 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
     public void dispose() {
         logger.debug("Thing {} disposed.", getThing().getUID());
         if (bridgeHandler != null) {
-            bridgeHandler.unregisterDeviceStatusListener(this);
+            bridgeHandler.unregisterDeviceMessageListener(getThing().getThingTypeUID(), registeredDeviceId, this);
         }
         bridgeHandler = null;
         super.dispose();
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link RFXComDuplicateFilter} detects repeated RF frames. Most RF devices send each reading or command several
+ * times in a row, which the RFXCOM passes on as separate packets.
+ *
+ * Packets are compared on their raw bytes, except for the sequence number the RFXCOM adds (byte 2) and the last byte,
+ * which holds the signal level (and usually the battery level) and may differ between repeats. Interface and
+ * transmitter packets are never filtered.
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComDuplicateFilter {
+    private static final int SEQUENCE_NUMBER_INDEX = 2;
+    private static final int FIRST_DEVICE_PACKET_TYPE = 0x03;
+
+    private final long windowMillis;
+
+    /** Time a packet was last received, by packet key, oldest first */
+    private final Map<ByteBuffer, Long> lastReceived = new LinkedHashMap<>();
+
+    private long duplicates;
+
+    /**
+     * @param windowMillis time in milliseconds in which an identical packet is treated as a repeat, 0 disables
+     *            filtering
+     */
+    public RFXComDuplicateFilter(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Checks whether the packet repeats one received within the window.
+     *
+     * @param packet the raw packet, including the length byte
+     * @param now the receive time in milliseconds
+     * @return true if the packet is a repeat and should be dropped
+     */
+    public synchronized boolean isDuplicate(byte[] packet, long now) {
+        if (windowMillis <= 0 || packet.length <= SEQUENCE_NUMBER_INDEX
+                || (packet[1] & 0xFF) < FIRST_DEVICE_PACKET_TYPE) {
+            return false;
+        }
+
+        expire(now);
+
+        ByteBuffer key = getKey(packet);
+        boolean duplicate = lastReceived.remove(key) != null;
+        // re-insert so the map stays ordered by receive time
+        lastReceived.put(key, now);
+        if (duplicate) {
+            duplicates++;
+        }
+        return duplicate;
+    }
+
+    /**
+     * @return the number of packets detected as repeats
+     */
+    public synchronized long getDuplicateCount() {
+        return duplicates;
+    }
+
+    private void expire(long now) {
+        Iterator<Long> iterator = lastReceived.values().iterator();
+        while (iterator.hasNext() && now - iterator.next() > windowMillis) {
+            iterator.remove();
+        }
+    }
+
+    private static ByteBuffer getKey(byte[] packet) {
+        byte[] key = Arrays.copyOf(packet, packet.length);
+        key[SEQUENCE_NUMBER_INDEX] = 0;
+        key[key.length - 1] = 0;
+        return ByteBuffer.wrap(key);
+    }
+}
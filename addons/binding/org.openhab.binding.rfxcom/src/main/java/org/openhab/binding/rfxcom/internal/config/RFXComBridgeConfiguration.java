@@ -41,6 +41,9 @@ public class RFXComBridgeConfiguration {
 
     public String setMode;
 
+    // Time in milliseconds in which repeated RF frames are dropped, 0 to disable
+    public int duplicateWindow;
+
     // Enabled protocols
     public boolean enableUndecoded;
     public boolean enableImagintronixOpus;
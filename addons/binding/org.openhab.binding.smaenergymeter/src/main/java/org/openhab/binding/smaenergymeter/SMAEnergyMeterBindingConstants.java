@@ -33,5 +33,11 @@ public class SMAEnergyMeterBindingConstants {
     public static final String CHANNEL_POWER_OUT = "powerOut";
     public static final String CHANNEL_ENERGY_IN = "energyIn";
     public static final String CHANNEL_ENERGY_OUT = "energyOut";
+    public static final String CHANNEL_POWER_FACTOR = "powerFactor";
+    public static final String CHANNEL_CURRENT = "current";
+    public static final String CHANNEL_VOLTAGE = "voltage";
+
+    // Suffix of the channel IDs of a phase, followed by the number of the phase (i.e. powerInL1)
+    public static final String PHASE_SUFFIX = "L";
 
 }
@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.config.discovery.AbstractDiscoveryService;
@@ -23,6 +24,8 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.smaenergymeter.handler.EnergyMeter;
+import org.openhab.binding.smaenergymeter.handler.EnergyMeterListener;
+import org.openhab.binding.smaenergymeter.handler.EnergyMeterReceiver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +37,8 @@ import org.slf4j.LoggerFactory;
  */
 public class SMAEnergyMeterDiscoveryService extends AbstractDiscoveryService {
 
+    private static final int LISTEN_TIME = 5;
+
     private final Logger logger = LoggerFactory.getLogger(SMAEnergyMeterDiscoveryService.class);
 
     public SMAEnergyMeterDiscoveryService() {
@@ -63,22 +68,47 @@ public class SMAEnergyMeterDiscoveryService extends AbstractDiscoveryService {
     }
 
     private synchronized void discover() {
-        logger.debug("Try to discover a SMA Energy Meter device");
+        logger.debug("Try to discover SMA Energy Meter devices");
 
-        EnergyMeter energyMeter = new EnergyMeter(EnergyMeter.DEFAULT_MCAST_GRP, EnergyMeter.DEFAULT_MCAST_PORT);
+        final EnergyMeterReceiver receiver;
         try {
-            energyMeter.update();
+            receiver = EnergyMeterReceiver.acquire(EnergyMeter.DEFAULT_MCAST_GRP, EnergyMeter.DEFAULT_MCAST_PORT);
         } catch (IOException e) {
             logger.debug("No SMA Energy Meter found.");
             logger.debug("Diagnostic: ", e);
             return;
         }
 
-        logger.debug("Adding a new SMA Engergy Meter with S/N '{}' to inbox", energyMeter.getSerialNumber());
+        // every energy meter sending a telegram within the listen time is discovered once
+        final Set<Integer> serialNumbers = ConcurrentHashMap.newKeySet();
+        final EnergyMeterListener listener = new EnergyMeterListener() {
+            @Override
+            public void telegramReceived(int serialNumber, byte[] bytes, int length) {
+                if (serialNumbers.add(serialNumber)) {
+                    energyMeterDiscovered(String.valueOf(serialNumber));
+                }
+            }
+        };
+        receiver.addListener(null, listener);
+
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                receiver.removeListener(null, listener);
+                EnergyMeterReceiver.release(receiver);
+                if (serialNumbers.isEmpty()) {
+                    logger.debug("No SMA Energy Meter found.");
+                }
+            }
+        }, LISTEN_TIME, TimeUnit.SECONDS);
+    }
+
+    private void energyMeterDiscovered(String serialNumber) {
+        logger.debug("Adding a new SMA Engergy Meter with S/N '{}' to inbox", serialNumber);
         Map<String, Object> properties = new HashMap<>();
         properties.put(Thing.PROPERTY_VENDOR, "SMA");
-        properties.put(Thing.PROPERTY_SERIAL_NUMBER, energyMeter.getSerialNumber());
-        ThingUID uid = new ThingUID(THING_TYPE_ENERGY_METER, energyMeter.getSerialNumber());
+        properties.put(Thing.PROPERTY_SERIAL_NUMBER, serialNumber);
+        ThingUID uid = new ThingUID(THING_TYPE_ENERGY_METER, serialNumber);
         DiscoveryResult result = DiscoveryResultBuilder.create(uid)
                 .withProperties(properties)
                 .withLabel("SMA Energy Meter")
@@ -8,99 +8,156 @@
  */
 package org.openhab.binding.smaenergymeter.handler;
 
-import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.InetAddress;
-import java.net.MulticastSocket;
-import java.nio.ByteBuffer;
-import java.util.Arrays;
+import static org.openhab.binding.smaenergymeter.SMAEnergyMeterBindingConstants.*;
+
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
 
 /**
- * The {@link EnergyMeter} class is responsible for communication with the SMA device
- * and extracting the data fields out of the received telegrams.
+ * The {@link EnergyMeter} class is responsible for extracting the data fields out of the
+ * telegrams received from a SMA device. The OBIS records of a telegram are decoded in place
+ * and collected until they are aggregated for publishing.
  *
  * @author Osman Basha - Initial contribution
  */
 public class EnergyMeter {
 
-    private String multicastGroup;
-    private int port;
+    public static final String DEFAULT_MCAST_GRP = "239.12.255.254";
+    public static final int DEFAULT_MCAST_PORT = 9522;
 
-    private String serialNumber;
-    private Date lastUpdate;
+    private static final int PROTOCOL_ID_ADDRESS = 0x10;
+    private static final int SERIAL_NUMBER_ADDRESS = 0x14;
+    private static final int DATA_ADDRESS = 0x1C;
+    private static final int PROTOCOL_ID_ENERGY_METER = 0x6069;
 
-    private final FieldDTO powerIn;
-    private final FieldDTO energyIn;
-    private final FieldDTO powerOut;
-    private final FieldDTO energyOut;
+    private final List<FieldDTO> fields = new ArrayList<>();
+    private final FieldDTO[] actualValueFields = new FieldDTO[256];
+    private final FieldDTO[] counterFields = new FieldDTO[256];
 
-    public static final String DEFAULT_MCAST_GRP = "239.12.255.254";
-    public static final int DEFAULT_MCAST_PORT = 9522;
+    private String serialNumber;
+    private Date lastUpdate;
 
-    public EnergyMeter(String multicastGroup, int port) {
-        this.multicastGroup = multicastGroup;
-        this.port = port;
+    public EnergyMeter() {
+        addField(new FieldDTO(CHANNEL_POWER_IN, 1, 4, 10));
+        addField(new FieldDTO(CHANNEL_ENERGY_IN, 1, 8, 3600000));
+        addField(new FieldDTO(CHANNEL_POWER_OUT, 2, 4, 10));
+        addField(new FieldDTO(CHANNEL_ENERGY_OUT, 2, 8, 3600000));
+        addField(new FieldDTO(CHANNEL_POWER_FACTOR, 13, 4, 1000));
+
+        // the measured values of phase n are at the index of the total plus 20 * n
+        for (int phase = 1; phase <= 3; phase++) {
+            int offset = 20 * phase;
+            String suffix = PHASE_SUFFIX + phase;
+            addField(new FieldDTO(CHANNEL_POWER_IN + suffix, offset + 1, 4, 10));
+            addField(new FieldDTO(CHANNEL_ENERGY_IN + suffix, offset + 1, 8, 3600000));
+            addField(new FieldDTO(CHANNEL_POWER_OUT + suffix, offset + 2, 4, 10));
+            addField(new FieldDTO(CHANNEL_ENERGY_OUT + suffix, offset + 2, 8, 3600000));
+            addField(new FieldDTO(CHANNEL_CURRENT + suffix, offset + 11, 4, 1000));
+            addField(new FieldDTO(CHANNEL_VOLTAGE + suffix, offset + 12, 4, 1000));
+            addField(new FieldDTO(CHANNEL_POWER_FACTOR + suffix, offset + 13, 4, 1000));
+        }
+    }
 
-        powerIn = new FieldDTO(0x20, 4, 10);
-        energyIn = new FieldDTO(0x28, 8, 3600000);
-        powerOut = new FieldDTO(0x34, 4, 10);
-        energyOut = new FieldDTO(0x3C, 8, 3600000);
+    private void addField(FieldDTO field) {
+        fields.add(field);
+        if (field.getLength() == 4) {
+            actualValueFields[field.getIndex()] = field;
+        } else {
+            counterFields[field.getIndex()] = field;
+        }
     }
 
-    public void update() throws IOException {
-        byte[] bytes = new byte[600];
-        try (MulticastSocket socket = new MulticastSocket(port)) {
-            socket.setSoTimeout(5000);
-            InetAddress address = InetAddress.getByName(multicastGroup);
-            socket.joinGroup(address);
+    /**
+     * Checks if the received bytes are a telegram of a SMA Energy Meter.
+     */
+    public static boolean isEnergyMeterTelegram(byte[] bytes, int length) {
+        return length >= DATA_ADDRESS && bytes[0] == 'S' && bytes[1] == 'M' && bytes[2] == 'A'
+                && ((bytes[PROTOCOL_ID_ADDRESS] & 0xFF) << 8
+                        | (bytes[PROTOCOL_ID_ADDRESS + 1] & 0xFF)) == PROTOCOL_ID_ENERGY_METER;
+    }
 
-            DatagramPacket msgPacket = new DatagramPacket(bytes, bytes.length);
-            socket.receive(msgPacket);
+    /**
+     * Reads the serial number of a telegram, as it is used in the thing properties.
+     */
+    public static int getSerialNumber(byte[] bytes) {
+        return (int) FieldDTO.bytesToUInt32(bytes, SERIAL_NUMBER_ADDRESS);
+    }
 
-            String sma = new String(Arrays.copyOfRange(bytes, 0x00, 0x03));
-            if (!sma.equals("SMA")) {
-                throw new IOException("Not a SMA telegram." + sma);
+    /**
+     * Collects the values of a telegram. The telegram must have been checked with
+     * {@link #isEnergyMeterTelegram(byte[], int)}.
+     *
+     * @param bytes the received bytes
+     * @param length the length of the telegram
+     */
+    public synchronized void update(byte[] bytes, int length) {
+        serialNumber = String.valueOf(getSerialNumber(bytes));
+
+        int address = DATA_ADDRESS;
+        while (address + 4 <= length) {
+            int channel = bytes[address] & 0xFF;
+            int index = bytes[address + 1] & 0xFF;
+            int type = bytes[address + 2] & 0xFF;
+            if (channel == 0 && index == 0 && type == 0) {
+                // end of data
+                break;
             }
 
-            ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOfRange(bytes, 0x14, 0x18));
-            serialNumber = String.valueOf(buffer.getInt());
-
-            powerIn.updateValue(bytes);
-            energyIn.updateValue(bytes);
-            powerOut.updateValue(bytes);
-            energyOut.updateValue(bytes);
-
-            lastUpdate = new Date(System.currentTimeMillis());
-        } catch (Exception e) {
-            throw new IOException(e);
+            int size = (type == 8) ? 8 : 4;
+            int valueAddress = address + 4;
+            if (valueAddress + size > length) {
+                break;
+            }
+            if (channel == 0) {
+                FieldDTO field = (type == 8) ? counterFields[index] : (type == 4) ? actualValueFields[index] : null;
+                if (field != null) {
+                    field.addValue(bytes, valueAddress);
+                }
+            }
+            address = valueAddress + size;
         }
-    }
-
-    public String getSerialNumber() {
-        return serialNumber;
-    }
 
-    public Date getLastUpdate() {
-        return lastUpdate;
+        lastUpdate = new Date(System.currentTimeMillis());
     }
 
-    public DecimalType getPowerIn() {
-        return new DecimalType(powerIn.getValue());
+    /**
+     * Aggregates the values collected since the last call.
+     *
+     * @return the values by channel id, empty if no telegram has been received since the last call
+     */
+    public synchronized Map<String, DecimalType> aggregate() {
+        Map<String, DecimalType> values = new LinkedHashMap<>();
+        for (FieldDTO field : fields) {
+            if (field.aggregate()) {
+                values.put(field.getChannelId(), new DecimalType(field.getValue()));
+            }
+        }
+        return values;
     }
 
-    public DecimalType getPowerOut() {
-        return new DecimalType(powerOut.getValue());
+    /**
+     * @return the last aggregated value of a channel, or null if there is none
+     */
+    public synchronized DecimalType getValue(String channelId) {
+        for (FieldDTO field : fields) {
+            if (field.getChannelId().equals(channelId)) {
+                return field.isValid() ? new DecimalType(field.getValue()) : null;
+            }
+        }
+        return null;
     }
 
-    public DecimalType getEnergyIn() {
-        return new DecimalType(energyIn.getValue());
+    public synchronized String getSerialNumber() {
+        return serialNumber;
     }
 
-    public DecimalType getEnergyOut() {
-        return new DecimalType(energyOut.getValue());
+    public synchronized Date getLastUpdate() {
+        return lastUpdate;
     }
 
 }
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smaenergymeter.handler;
+
+/**
+ * The {@link EnergyMeterListener} is notified by an {@link EnergyMeterReceiver} about the
+ * telegrams of a SMA Energy Meter.
+ *
+ * @author agent - Initial contribution
+ */
+public interface EnergyMeterListener {
+
+    /**
+     * Called for every telegram received. The bytes are the buffer of the receiver and are only
+     * valid during the call.
+     *
+     * @param serialNumber the serial number of the energy meter
+     * @param bytes the received bytes
+     * @param length the length of the telegram
+     */
+    void telegramReceived(int serialNumber, byte[] bytes, int length);
+
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smaenergymeter.handler;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link EnergyMeterReceiver} receives the telegrams sent to a multicast group and passes
+ * them to the listeners registered for the serial number of the sending energy meter.
+ * There is one receiver per multicast group and port, shared by all things and the discovery.
+ *
+ * @author agent - Initial contribution
+ */
+public class EnergyMeterReceiver implements Runnable {
+
+    private static final String THREADPOOL_NAME = "smaenergymeter";
+
+    private static final Map<String, EnergyMeterReceiver> RECEIVERS = new HashMap<>();
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final long RETRY_DELAY = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(EnergyMeterReceiver.class);
+
+    private final String key;
+    private final MulticastSocket socket;
+    private final Future<?> job;
+    private volatile boolean running = true;
+    private int references;
+
+    private final Map<Integer, List<EnergyMeterListener>> listeners = new ConcurrentHashMap<>();
+    private final List<EnergyMeterListener> anyListeners = new CopyOnWriteArrayList<>();
+
+    private EnergyMeterReceiver(String key, String multicastGroup, int port) throws IOException {
+        this.key = key;
+        socket = new MulticastSocket(port);
+        try {
+            socket.joinGroup(InetAddress.getByName(multicastGroup));
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        job = ThreadPoolManager.getPool(THREADPOOL_NAME).submit(this);
+    }
+
+    /**
+     * Returns the receiver of a multicast group, starting it if necessary. Every call must be
+     * followed by a call of {@link #release(EnergyMeterReceiver)}.
+     *
+     * @throws IOException if the multicast group cannot be joined
+     */
+    public static EnergyMeterReceiver acquire(String multicastGroup, int port) throws IOException {
+        String key = multicastGroup + ":" + port;
+        synchronized (RECEIVERS) {
+            EnergyMeterReceiver receiver = RECEIVERS.get(key);
+            if (receiver == null) {
+                receiver = new EnergyMeterReceiver(key, multicastGroup, port);
+                RECEIVERS.put(key, receiver);
+            }
+            receiver.references++;
+            return receiver;
+        }
+    }
+
+    /**
+     * Releases a receiver, stopping it if it is not used anymore.
+     */
+    public static void release(EnergyMeterReceiver receiver) {
+        synchronized (RECEIVERS) {
+            if (--receiver.references == 0) {
+                RECEIVERS.remove(receiver.key);
+                receiver.close();
+            }
+        }
+    }
+
+    /**
+     * Registers a listener for the telegrams of an energy meter.
+     *
+     * @param serialNumber the serial number of the energy meter, or null for the telegrams of all energy meters
+     */
+    public void addListener(Integer serialNumber, EnergyMeterListener listener) {
+        if (serialNumber == null) {
+            anyListeners.add(listener);
+        } else {
+            listeners.computeIfAbsent(serialNumber, k -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+    }
+
+    public void removeListener(Integer serialNumber, EnergyMeterListener listener) {
+        if (serialNumber == null) {
+            anyListeners.remove(listener);
+        } else {
+            List<EnergyMeterListener> serialListeners = listeners.get(serialNumber);
+            if (serialListeners != null) {
+                serialListeners.remove(listener);
+            }
+        }
+    }
+
+    private void close() {
+        running = false;
+        socket.close();
+        job.cancel(true);
+    }
+
+    @Override
+    public void run() {
+        byte[] bytes = new byte[BUFFER_SIZE];
+        DatagramPacket packet = new DatagramPacket(bytes, bytes.length);
+
+        while (running) {
+            try {
+                packet.setLength(bytes.length);
+                socket.receive(packet);
+                dispatch(bytes, packet.getLength());
+            } catch (IOException e) {
+                if (!running) {
+                    break;
+                }
+                logger.debug("Error receiving telegrams on {}: {}", key, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+            }
+        }
+        logger.debug("Stopped receiving telegrams on {}", key);
+    }
+
+    private void dispatch(byte[] bytes, int length) {
+        if (!EnergyMeter.isEnergyMeterTelegram(bytes, length)) {
+            return;
+        }
+
+        int serialNumber = EnergyMeter.getSerialNumber(bytes);
+        List<EnergyMeterListener> serialListeners = listeners.get(serialNumber);
+        if (serialListeners != null) {
+            for (EnergyMeterListener listener : serialListeners) {
+                notifyListener(listener, serialNumber, bytes, length);
+            }
+        }
+        for (EnergyMeterListener listener : anyListeners) {
+            notifyListener(listener, serialNumber, bytes, length);
+        }
+    }
+
+    private void notifyListener(EnergyMeterListener listener, int serialNumber, byte[] bytes, int length) {
+        try {
+            listener.telegramReceived(serialNumber, bytes, length);
+        } catch (RuntimeException e) {
+            logger.warn("Error processing telegram of SMA Energy Meter '{}'", serialNumber, e);
+        }
+    }
+
+}
@@ -8,23 +8,28 @@
  */
 package org.openhab.binding.smaenergymeter.handler;
 
-import java.nio.ByteBuffer;
-import java.util.Arrays;
-
 /**
  * The {@link FieldDTO} class holds the data for a single field (i.e. the power purchased).
+ * Actual values (4 bytes) are averaged over all telegrams received since the last aggregation,
+ * counters (8 bytes) keep the latest value.
  *
  * @author Osman Basha - Initial contribution
  */
 public class FieldDTO {
 
-    private final int address;
+    private final String channelId;
+    private final int index;
     private final int length;
     private final int divisor;
     private float value;
+    private boolean valid;
+
+    private long sum;
+    private int count;
 
-    public FieldDTO(int address, int length, int divisor) {
-        this.address = address;
+    public FieldDTO(String channelId, int index, int length, int divisor) {
+        this.channelId = channelId;
+        this.index = index;
         if ((length != 4) && (length != 8)) {
             throw new IllegalArgumentException("length should be 4 or 8 bytes");
         }
@@ -32,26 +37,65 @@ public class FieldDTO {
         this.divisor = divisor;
     }
 
+    public String getChannelId() {
+        return channelId;
+    }
+
+    /**
+     * @return the measured value index of the OBIS identifier, i.e. 1 for the active power purchased
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
     public float getValue() {
         return value;
     }
 
-    public void updateValue(byte[] bytes) {
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Adds the value at the given address of a telegram.
+     */
+    public void addValue(byte[] bytes, int address) {
         if (length == 4) {
-            value = (float) bytesToUInt16(Arrays.copyOfRange(bytes, address, address + 4)) / divisor;
+            sum += bytesToUInt32(bytes, address);
+            count++;
         } else {
-            value = (float) bytesToUInt32(Arrays.copyOfRange(bytes, address, address + 8)) / divisor;
+            sum = bytesToUInt64(bytes, address);
+            count = 1;
+        }
+    }
+
+    /**
+     * Calculates the value out of the values added since the last call.
+     *
+     * @return true if values have been added since the last call
+     */
+    public boolean aggregate() {
+        if (count == 0) {
+            return false;
         }
+        value = (float) ((double) sum / count / divisor);
+        valid = true;
+        sum = 0;
+        count = 0;
+        return true;
     }
 
-    private int bytesToUInt16(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return buffer.getInt();
+    static long bytesToUInt32(byte[] bytes, int address) {
+        return ((bytes[address] & 0xFFL) << 24) | ((bytes[address + 1] & 0xFFL) << 16)
+                | ((bytes[address + 2] & 0xFFL) << 8) | (bytes[address + 3] & 0xFFL);
     }
 
-    private long bytesToUInt32(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return buffer.getLong();
+    private static long bytesToUInt64(byte[] bytes, int address) {
+        return (bytesToUInt32(bytes, address) << 32) | bytesToUInt32(bytes, address + 4);
     }
 
 }
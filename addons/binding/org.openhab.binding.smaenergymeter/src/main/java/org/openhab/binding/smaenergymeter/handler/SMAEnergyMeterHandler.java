@@ -8,12 +8,12 @@
  */
 package org.openhab.binding.smaenergymeter.handler;
 
-import static org.openhab.binding.smaenergymeter.SMAEnergyMeterBindingConstants.*;
-
 import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -27,14 +27,18 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The {@link SMAEnergyMeterHandler} is responsible for handling commands, which are
- * sent to one of the channels.
+ * sent to one of the channels. It collects the telegrams of its energy meter and publishes
+ * the aggregated values once per polling period.
  *
  * @author Osman Basha - Initial contribution
  */
-public class SMAEnergyMeterHandler extends BaseThingHandler {
+public class SMAEnergyMeterHandler extends BaseThingHandler implements EnergyMeterListener {
 
     private Logger logger = LoggerFactory.getLogger(SMAEnergyMeterHandler.class);
-    private EnergyMeter energyMeter;
+    private final EnergyMeter energyMeter = new EnergyMeter();
+    private EnergyMeterReceiver receiver;
+    private Integer serialNumber;
+    private int pollingPeriod;
     private ScheduledFuture<?> pollingJob;
 
     public SMAEnergyMeterHandler(Thing thing) {
@@ -45,70 +49,111 @@ public class SMAEnergyMeterHandler extends BaseThingHandler {
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command == RefreshType.REFRESH) {
             logger.debug("Refreshing {}", channelUID);
-            updateData();
+            DecimalType value = energyMeter.getValue(channelUID.getId());
+            if (value != null) {
+                updateState(channelUID, value);
+            }
         } else {
             logger.warn("This binding is a read-only binding and cannot handle commands");
         }
     }
 
     @Override
-    public void initialize() {
+    public synchronized void initialize() {
         logger.debug("Initializing SMAEnergyMeter handler '{}'", getThing().getUID());
 
         EnergyMeterConfig config = getConfigAs(EnergyMeterConfig.class);
 
         int port = (config.getPort() == null) ? EnergyMeter.DEFAULT_MCAST_PORT : config.getPort();
-        energyMeter = new EnergyMeter(config.getMcastGroup(), port);
         try {
-            energyMeter.update();
-
-            updateProperty(Thing.PROPERTY_VENDOR, "SMA");
-            updateProperty(Thing.PROPERTY_SERIAL_NUMBER, energyMeter.getSerialNumber());
-            logger.debug("Found a SMA Energy Meter with S/N '{}'", energyMeter.getSerialNumber());
+            receiver = EnergyMeterReceiver.acquire(config.getMcastGroup(), port);
         } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
             return;
         }
 
-        int pollingPeriod = (config.getPollingPeriod() == null) ? 30 : config.getPollingPeriod();
-        pollingJob = scheduler.scheduleWithFixedDelay(new Runnable() {
+        // things without a serial number take the first energy meter sending a telegram
+        serialNumber = null;
+        String serialNumberProperty = getThing().getProperties().get(Thing.PROPERTY_SERIAL_NUMBER);
+        if (serialNumberProperty != null) {
+            try {
+                serialNumber = Integer.valueOf(serialNumberProperty);
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring invalid serial number '{}' of '{}'", serialNumberProperty,
+                        getThing().getUID());
+            }
+        }
+        receiver.addListener(serialNumber, this);
+
+        pollingPeriod = (config.getPollingPeriod() == null) ? 30 : config.getPollingPeriod();
+        pollingJob = scheduler.scheduleAtFixedRate(new Runnable() {
             @Override
             public void run() {
                 updateData();
             }
-        }, 0, pollingPeriod, TimeUnit.SECONDS);
+        }, pollingPeriod, pollingPeriod, TimeUnit.SECONDS);
         logger.debug("Polling job scheduled to run every {} sec. for '{}'", pollingPeriod, getThing().getUID());
 
-        updateStatus(ThingStatus.ONLINE);
+        updateStatus(ThingStatus.UNKNOWN);
     }
 
     @Override
-    public void dispose() {
+    public synchronized void dispose() {
         logger.debug("Disposing SMAEnergyMeter handler '{}'", getThing().getUID());
 
         if (pollingJob != null) {
             pollingJob.cancel(true);
             pollingJob = null;
         }
-        energyMeter = null;
+        if (receiver != null) {
+            receiver.removeListener(serialNumber, this);
+            EnergyMeterReceiver.release(receiver);
+            receiver = null;
+        }
     }
 
-    private synchronized void updateData() {
+    @Override
+    public void telegramReceived(int serialNumber, byte[] bytes, int length) {
+        if (this.serialNumber == null) {
+            assignSerialNumber(serialNumber);
+        }
+
+        energyMeter.update(bytes, length);
+
+        if (getThing().getStatus() != ThingStatus.ONLINE) {
+            updateStatus(ThingStatus.ONLINE);
+        }
+    }
+
+    private synchronized void assignSerialNumber(int serialNumber) {
+        if (this.serialNumber != null || receiver == null) {
+            return;
+        }
+        receiver.removeListener(null, this);
+        this.serialNumber = serialNumber;
+        receiver.addListener(serialNumber, this);
+
+        updateProperty(Thing.PROPERTY_VENDOR, "SMA");
+        updateProperty(Thing.PROPERTY_SERIAL_NUMBER, String.valueOf(serialNumber));
+        logger.debug("Found a SMA Energy Meter with S/N '{}'", serialNumber);
+    }
+
+    private void updateData() {
         logger.debug("Update SMAEnergyMeter data '{}'", getThing().getUID());
 
-        try {
-            energyMeter.update();
+        Map<String, DecimalType> values = energyMeter.aggregate();
+        if (values.isEmpty()) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                    "No telegram received within " + pollingPeriod + " sec.");
+            return;
+        }
 
-            updateState(CHANNEL_POWER_IN, energyMeter.getPowerIn());
-            updateState(CHANNEL_POWER_OUT, energyMeter.getPowerOut());
-            updateState(CHANNEL_ENERGY_IN, energyMeter.getEnergyIn());
-            updateState(CHANNEL_ENERGY_OUT, energyMeter.getEnergyOut());
+        for (Map.Entry<String, DecimalType> value : values.entrySet()) {
+            updateState(value.getKey(), value.getValue());
+        }
 
-            if (getThing().getStatus().equals(ThingStatus.OFFLINE)) {
-                updateStatus(ThingStatus.ONLINE);
-            }
-        } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
+        if (getThing().getStatus() != ThingStatus.ONLINE) {
+            updateStatus(ThingStatus.ONLINE);
         }
     }
 
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -38,6 +39,7 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.openhab.binding.squeezebox.config.SqueezeBoxPlayerConfig;
 import org.openhab.binding.squeezebox.config.SqueezeBoxServerConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,6 +73,8 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             .synchronizedList(new ArrayList<SqueezeBoxPlayerEventListener>());
     private Map<String, SqueezeBoxPlayer> players = Collections
             .synchronizedMap(new HashMap<String, SqueezeBoxPlayer>());
+    // child player handlers by MAC address
+    private Map<String, SqueezeBoxPlayerEventListener> playerHandlers = new ConcurrentHashMap<>();
     // client socket and listener thread
     private Socket clientSocket;
     private SqueezeServerListener listener;
@@ -469,7 +473,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 if (!players.containsKey(macAddress)) {
                     players.put(macAddress, player);
 
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(macAddress, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.playerAdded(player);
@@ -483,7 +487,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
 
         private void handlePlayerUpdate(String message) {
-            String[] messageParts = message.split("\\s");
+            String[] messageParts = StringUtils.split(message, ' ');
             if (messageParts.length < 2) {
                 logger.warn("Invalid message - expecting at least 2 parts. Ignoring.");
                 return;
@@ -502,7 +506,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 handlePrefsetMessage(mac, messageParts);
             } else if (messageType.equals("ir")) {
                 final String ircode = messageParts[2];
-                updatePlayer(new PlayerUpdateEvent() {
+                updatePlayer(mac, new PlayerUpdateEvent() {
                     @Override
                     public void updateListener(SqueezeBoxPlayerEventListener listener) {
                         listener.irCodeChangeEvent(mac, ircode);
@@ -522,168 +526,77 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             }
         }
 
-        private void handleStatusMessage(final String mac, String[] messageParts) {
+        private void handleStatusMessage(String mac, String[] messageParts) {
+            // Collect all parameters of the message, so the player is updated once per message
+            StatusUpdate status = new StatusUpdate(mac);
             for (String messagePart : messageParts) {
                 // Parameter Power
                 if (messagePart.startsWith("power%3A")) {
                     String value = messagePart.substring("power%3A".length());
-                    final boolean power = value.matches("1");
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.powerChangeEvent(mac, power);
-                        }
-                    });
+                    status.power = value.matches("1");
                 }
                 // Parameter Volume
                 else if (messagePart.startsWith("mixer%20volume%3A")) {
                     String value = messagePart.substring("mixer%20volume%3A".length());
-                    final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.volumeChangeEvent(mac, volume);
-                        }
-                    });
+                    status.volume = (int) Double.parseDouble(value);
                 }
                 // Parameter Mode
                 else if (messagePart.startsWith("mode%3A")) {
-                    final String mode = messagePart.substring("mode%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.modeChangeEvent(mac, mode);
-                        }
-                    });
+                    status.mode = messagePart.substring("mode%3A".length());
                 }
                 // Parameter Playing Time
                 else if (messagePart.startsWith("time%3A")) {
                     String value = messagePart.substring("time%3A".length());
-                    final int time = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlayingTimeEvent(mac, time);
-                        }
-                    });
+                    status.time = (int) Double.parseDouble(value);
                 }
                 // Parameter duration
                 else if (messagePart.startsWith("duration%3A")) {
                     String value = messagePart.substring("duration%3A".length());
-                    final int duration = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.durationEvent(mac, duration);
-                        }
-                    });
+                    status.duration = (int) Double.parseDouble(value);
                 }
                 // Parameter Playing Playlist Index
                 else if (messagePart.startsWith("playlist_cur_index%3A")) {
                     String value = messagePart.substring("playlist_cur_index%3A".length());
-                    // player.setCurrentPlaylistIndex((int)
-                    // Integer.parseInt(value));
-                    final int index = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistIndexEvent(mac, index);
-                        }
-                    });
+                    status.playlistIndex = (int) Double.parseDouble(value);
                 }
                 // Parameter Playlist Number Tracks
                 else if (messagePart.startsWith("playlist_tracks%3A")) {
                     String value = messagePart.substring("playlist_tracks%3A".length());
-                    final int track = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.numberPlaylistTracksEvent(mac, track);
-                        }
-                    });
+                    status.playlistTracks = (int) Double.parseDouble(value);
                 }
                 // Parameter Playlist Repeat Mode
                 else if (messagePart.startsWith("playlist%20repeat%3A")) {
                     String value = messagePart.substring("playlist%20repeat%3A".length());
-                    final int repeat = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistRepeatEvent(mac, repeat);
-                        }
-                    });
+                    status.playlistRepeat = (int) Double.parseDouble(value);
                 }
                 // Parameter Playlist Shuffle Mode
                 else if (messagePart.startsWith("playlist%20shuffle%3A")) {
                     String value = messagePart.substring("playlist%20shuffle%3A".length());
-                    final int shuffle = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistShuffleEvent(mac, shuffle);
-                        }
-                    });
+                    status.playlistShuffle = (int) Double.parseDouble(value);
                 }
                 // Parameter Title
                 else if (messagePart.startsWith("title%3A")) {
-                    final String value = messagePart.substring("title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.titleChangeEvent(mac, decode(value));
-                        }
-                    });
-
+                    status.title = decode(messagePart.substring("title%3A".length()));
                 }
                 // Parameter Remote Title (radio)
                 else if (messagePart.startsWith("remote_title%3A")) {
-                    final String value = messagePart.substring("remote_title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.remoteTitleChangeEvent(mac, decode(value));
-                        }
-                    });
+                    status.remoteTitle = decode(messagePart.substring("remote_title%3A".length()));
                 }
                 // Parameter Artist
                 else if (messagePart.startsWith("artist%3A")) {
-                    final String value = messagePart.substring("artist%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.artistChangeEvent(mac, decode(value));
-                        }
-                    });
+                    status.artist = decode(messagePart.substring("artist%3A".length()));
                 }
                 // Parameter Album
                 else if (messagePart.startsWith("album%3A")) {
-                    final String value = messagePart.substring("album%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.albumChangeEvent(mac, decode(value));
-                        }
-                    });
+                    status.album = decode(messagePart.substring("album%3A".length()));
                 }
                 // Parameter Genre
                 else if (messagePart.startsWith("genre%3A")) {
-                    final String value = messagePart.substring("genre%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.genreChangeEvent(mac, decode(value));
-                        }
-                    });
+                    status.genre = decode(messagePart.substring("genre%3A".length()));
                 }
                 // Parameter Year
                 else if (messagePart.startsWith("year%3A")) {
-                    final String value = messagePart.substring("year%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.yearChangeEvent(mac, decode(value));
-                        }
-                    });
+                    status.year = decode(messagePart.substring("year%3A".length()));
                 }
                 // Parameter Artwork
                 else if (messagePart.startsWith("artwork_track_id%3A")) {
@@ -693,18 +606,13 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                     if (!url.startsWith(" ")) {
                         url = "http://" + host + ":" + webport + "/music/" + url + "/cover.jpg";
                     }
-                    final String value = url;
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.coverArtChangeEvent(mac, decode(value));
-                        }
-                    });
+                    status.coverArtUrl = decode(url);
                 } else {
                     // Added to be able to see additional status message types
                     logger.trace("Unhandled status message type '{}'", messagePart);
                 }
             }
+            updatePlayer(mac, status);
         }
 
         private void handlePlaylistMessage(final String mac, String[] messageParts) {
@@ -713,7 +621,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             if (action.equals("newsong")) {
                 mode = "play";
                 // Set the track duration to 0
-                updatePlayer(new PlayerUpdateEvent() {
+                updatePlayer(mac, new PlayerUpdateEvent() {
                     @Override
                     public void updateListener(SqueezeBoxPlayerEventListener listener) {
                         listener.durationEvent(mac, 0);
@@ -729,7 +637,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 return;
             }
             final String value = mode;
-            updatePlayer(new PlayerUpdateEvent() {
+            updatePlayer(mac, new PlayerUpdateEvent() {
                 @Override
                 public void updateListener(SqueezeBoxPlayerEventListener listener) {
                     listener.modeChangeEvent(mac, value);
@@ -749,7 +657,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
 
                 if (function.equals("power")) {
                     final boolean power = value.equals("1");
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.powerChangeEvent(mac, power);
@@ -757,7 +665,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                     });
                 } else if (function.equals("volume")) {
                     final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.volumeChangeEvent(mac, volume);
@@ -780,31 +688,126 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Update Listeners and child Squeeze Player Things
+     * The parameters of a player status message. Only the parameters contained in the message are passed on to the
+     * listeners.
+     */
+    private static class StatusUpdate implements PlayerUpdateEvent {
+        private final String mac;
+        private Boolean power;
+        private Integer volume;
+        private String mode;
+        private Integer time;
+        private Integer duration;
+        private Integer playlistIndex;
+        private Integer playlistTracks;
+        private Integer playlistRepeat;
+        private Integer playlistShuffle;
+        private String title;
+        private String remoteTitle;
+        private String artist;
+        private String album;
+        private String genre;
+        private String year;
+        private String coverArtUrl;
+
+        StatusUpdate(String mac) {
+            this.mac = mac;
+        }
+
+        @Override
+        public void updateListener(SqueezeBoxPlayerEventListener listener) {
+            if (power != null) {
+                listener.powerChangeEvent(mac, power);
+            }
+            if (volume != null) {
+                listener.volumeChangeEvent(mac, volume);
+            }
+            if (mode != null) {
+                listener.modeChangeEvent(mac, mode);
+            }
+            if (time != null) {
+                listener.currentPlayingTimeEvent(mac, time);
+            }
+            if (duration != null) {
+                listener.durationEvent(mac, duration);
+            }
+            if (playlistIndex != null) {
+                listener.currentPlaylistIndexEvent(mac, playlistIndex);
+            }
+            if (playlistTracks != null) {
+                listener.numberPlaylistTracksEvent(mac, playlistTracks);
+            }
+            if (playlistRepeat != null) {
+                listener.currentPlaylistRepeatEvent(mac, playlistRepeat);
+            }
+            if (playlistShuffle != null) {
+                listener.currentPlaylistShuffleEvent(mac, playlistShuffle);
+            }
+            if (title != null) {
+                listener.titleChangeEvent(mac, title);
+            }
+            if (remoteTitle != null) {
+                listener.remoteTitleChangeEvent(mac, remoteTitle);
+            }
+            if (artist != null) {
+                listener.artistChangeEvent(mac, artist);
+            }
+            if (album != null) {
+                listener.albumChangeEvent(mac, album);
+            }
+            if (genre != null) {
+                listener.genreChangeEvent(mac, genre);
+            }
+            if (year != null) {
+                listener.yearChangeEvent(mac, year);
+            }
+            if (coverArtUrl != null) {
+                listener.coverArtChangeEvent(mac, coverArtUrl);
+            }
+        }
+    }
+
+    /**
+     * Update Listeners and the child Squeeze Player Thing of the player
      *
+     * @param mac the MAC address of the player
      * @param event
      */
-    private void updatePlayer(PlayerUpdateEvent event) {
+    private void updatePlayer(String mac, PlayerUpdateEvent event) {
         // update listeners like disco services
-        for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
-            event.updateListener(listener);
+        synchronized (squeezeBoxPlayerListeners) {
+            for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
+                event.updateListener(listener);
+            }
         }
-        // update our children
-        Bridge bridge = getThing();
+        // update our child for this player, if any
+        SqueezeBoxPlayerEventListener handler = mac != null ? playerHandlers.get(mac) : null;
+        if (handler != null && !squeezeBoxPlayerListeners.contains(handler)) {
+            event.updateListener(handler);
+        }
+    }
 
-        if (bridge == null) {
-            return;
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        String mac = getPlayerMac(childThing);
+        if (childHandler instanceof SqueezeBoxPlayerEventListener && mac != null) {
+            logger.trace("Indexing player handler for mac {}", mac);
+            playerHandlers.put(mac, (SqueezeBoxPlayerEventListener) childHandler);
         }
+    }
 
-        List<Thing> things = bridge.getThings();
-        for (Thing thing : things) {
-            ThingHandler handler = thing.getHandler();
-            if (handler instanceof SqueezeBoxPlayerEventListener && !squeezeBoxPlayerListeners.contains(handler)) {
-                event.updateListener((SqueezeBoxPlayerEventListener) handler);
-            }
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        String mac = getPlayerMac(childThing);
+        if (mac != null) {
+            playerHandlers.remove(mac, childHandler);
         }
     }
 
+    private String getPlayerMac(Thing childThing) {
+        return childThing.getConfiguration().as(SqueezeBoxPlayerConfig.class).mac;
+    }
+
     /**
      * Adds a listener for player events
      *
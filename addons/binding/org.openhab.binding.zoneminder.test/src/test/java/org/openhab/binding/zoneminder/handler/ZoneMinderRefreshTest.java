@@ -0,0 +1,594 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zoneminder.handler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.thing.Bridge;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.builder.BridgeBuilder;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.zoneminder.ZoneMinderConstants;
+import org.openhab.binding.zoneminder.internal.DataRefreshPriorityEnum;
+
+import name.eskildsen.zoneminder.IZoneMinderDaemonStatus;
+import name.eskildsen.zoneminder.IZoneMinderDiskUsage;
+import name.eskildsen.zoneminder.IZoneMinderEventData;
+import name.eskildsen.zoneminder.IZoneMinderHostLoad;
+import name.eskildsen.zoneminder.IZoneMinderHostVersion;
+import name.eskildsen.zoneminder.IZoneMinderMonitor;
+import name.eskildsen.zoneminder.IZoneMinderMonitorData;
+import name.eskildsen.zoneminder.IZoneMinderServer;
+import name.eskildsen.zoneminder.IZoneMinderSession;
+import name.eskildsen.zoneminder.api.config.ZoneMinderConfig;
+import name.eskildsen.zoneminder.api.config.ZoneMinderConfigEnum;
+import name.eskildsen.zoneminder.common.ZoneMinderMonitorFunctionEnum;
+import name.eskildsen.zoneminder.common.ZoneMinderMonitorSourceTypeEnum;
+import name.eskildsen.zoneminder.common.ZoneMinderMonitorStatusEnum;
+
+/**
+ * Tests the ZoneMinder requests of the refresh cycles of {@link ZoneMinderServerBridgeHandler} and
+ * {@link ZoneMinderThingMonitorHandler}, by counting the calls to stand-in server and monitor proxies.
+ *
+ * @author agent - Initial contribution
+ */
+public class ZoneMinderRefreshTest {
+    private StubServer server;
+    private StubMonitor monitor1;
+    private StubMonitor monitor2;
+
+    private TestBridgeHandler bridgeHandler;
+    private TestMonitorHandler monitorHandler1;
+    private TestMonitorHandler monitorHandler2;
+
+    @Before
+    public void setUp() {
+        server = new StubServer();
+        server.monitors.add(new StubMonitorData("1"));
+        server.monitors.add(new StubMonitorData("2"));
+        monitor1 = new StubMonitor();
+        monitor2 = new StubMonitor();
+
+        ThingUID bridgeUID = new ThingUID(ZoneMinderConstants.THING_TYPE_BRIDGE_ZONEMINDER_SERVER, "server");
+        Bridge bridge = BridgeBuilder.create(ZoneMinderConstants.THING_TYPE_BRIDGE_ZONEMINDER_SERVER, bridgeUID)
+                .build();
+        bridgeHandler = new TestBridgeHandler(bridge, server);
+
+        monitorHandler1 = new TestMonitorHandler(createMonitorThing(bridgeUID, "monitor-1"), "1", bridgeHandler,
+                monitor1);
+        monitorHandler2 = new TestMonitorHandler(createMonitorThing(bridgeUID, "monitor-2"), "2", bridgeHandler,
+                monitor2);
+        bridgeHandler.childHandlerInitialized(monitorHandler1, monitorHandler1.getThing());
+        bridgeHandler.childHandlerInitialized(monitorHandler2, monitorHandler2.getThing());
+
+        // the first refresh after the bridge connected fetches everything
+        bridgeHandler.refreshThing(null, true, true);
+        server.calls.clear();
+        monitor1.calls.clear();
+        monitor2.calls.clear();
+    }
+
+    @Test
+    public void testScheduledCycleFetchesMonitorListOnce() {
+        bridgeHandler.refreshThing(null, false, false);
+
+        assertEquals(1, server.getCalls("getHostCpuLoad"));
+        assertEquals(1, server.getCalls("getMonitors"));
+        assertEquals(2, server.getTotalCalls());
+
+        for (StubMonitor monitor : new StubMonitor[] { monitor1, monitor2 }) {
+            assertEquals(1, monitor.getCalls("getMonitorDetailedStatus"));
+            assertEquals(1, monitor.getTotalCalls());
+        }
+    }
+
+    @Test
+    public void testScheduledCycleFetchesLastEventUnlessIdle() {
+        monitor1.status = ZoneMinderMonitorStatusEnum.ALARM;
+
+        bridgeHandler.refreshThing(null, false, false);
+
+        assertEquals(1, monitor1.getCalls("getLastEvent"));
+        assertEquals(2, monitor1.getTotalCalls());
+        assertEquals(0, monitor2.getCalls("getLastEvent"));
+    }
+
+    @Test
+    public void testHighPriorityCycleChecksAlarmStateOnly() {
+        monitor1.status = ZoneMinderMonitorStatusEnum.ALARM;
+        monitorHandler1.startPriorityRefresh();
+
+        bridgeHandler.refreshPriorityThings(null);
+
+        assertEquals(1, monitor1.getCalls("getMonitorDetailedStatus"));
+        assertEquals(1, monitor1.getCalls("getLastEvent"));
+        assertEquals(2, monitor1.getTotalCalls());
+        assertEquals(0, monitor2.getTotalCalls());
+        assertEquals(0, server.getTotalCalls());
+        assertEquals(DataRefreshPriorityEnum.HIGH_PRIORITY, monitorHandler1.getRefreshPriority());
+
+        // the high priority refresh stops with the alarm
+        monitor1.status = ZoneMinderMonitorStatusEnum.IDLE;
+        bridgeHandler.refreshPriorityThings(null);
+
+        assertEquals(DataRefreshPriorityEnum.SCHEDULED, monitorHandler1.getRefreshPriority());
+    }
+
+    @Test
+    public void testLowPriorityCycleFetchesDaemonStatus() {
+        bridgeHandler.refreshThing(null, true, true);
+
+        assertEquals(1, server.getCalls("getHostCpuLoad"));
+        assertEquals(1, server.getCalls("getHostDiskUsage"));
+        assertEquals(1, server.getCalls("getMonitors"));
+        assertEquals(3, server.getTotalCalls());
+
+        for (StubMonitor monitor : new StubMonitor[] { monitor1, monitor2 }) {
+            assertEquals(1, monitor.getCalls("getMonitorDetailedStatus"));
+            assertEquals(1, monitor.getCalls("getCaptureDaemonStatus"));
+            assertEquals(1, monitor.getCalls("getAnalysisDaemonStatus"));
+            assertEquals(1, monitor.getCalls("getFrameDaemonStatus"));
+            assertEquals(4, monitor.getTotalCalls());
+        }
+
+        // the daemon status is fetched once per low priority cycle only
+        bridgeHandler.refreshThing(null, false, false);
+
+        assertEquals(1, monitor1.getCalls("getCaptureDaemonStatus"));
+        assertEquals(5, monitor1.getTotalCalls());
+    }
+
+    @Test
+    public void testMonitorsFetchTheirDataWithoutMonitorList() {
+        server.monitors = null;
+
+        bridgeHandler.refreshThing(null, false, false);
+
+        assertEquals(1, server.getCalls("getMonitors"));
+        for (StubMonitor monitor : new StubMonitor[] { monitor1, monitor2 }) {
+            assertEquals(1, monitor.getCalls("getMonitorData"));
+            assertEquals(1, monitor.getCalls("getMonitorDetailedStatus"));
+            assertEquals(2, monitor.getTotalCalls());
+        }
+    }
+
+    @Test
+    public void testMonitorMissingInMonitorListFetchesItsData() {
+        server.monitors.remove(1);
+
+        bridgeHandler.refreshThing(null, false, false);
+
+        assertEquals(0, monitor1.getCalls("getMonitorData"));
+        assertEquals(1, monitor2.getCalls("getMonitorData"));
+    }
+
+    private static Thing createMonitorThing(ThingUID bridgeUID, String id) {
+        ThingUID thingUID = new ThingUID(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR, bridgeUID, id);
+        return ThingBuilder.create(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR, thingUID)
+                .withBridge(bridgeUID).build();
+    }
+
+    /**
+     * Bridge handler which is connected to the stand-in server.
+     */
+    private static class TestBridgeHandler extends ZoneMinderServerBridgeHandler {
+        private final IZoneMinderServer serverProxy;
+
+        public TestBridgeHandler(Bridge bridge, IZoneMinderServer serverProxy) {
+            super(bridge);
+            this.serverProxy = serverProxy;
+        }
+
+        @Override
+        public synchronized Boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        protected IZoneMinderServer getServerProxy(IZoneMinderSession session) {
+            return serverProxy;
+        }
+    }
+
+    /**
+     * Monitor handler which is connected to a stand-in monitor.
+     */
+    private static class TestMonitorHandler extends ZoneMinderThingMonitorHandler {
+        private final String zoneMinderId;
+        private final ZoneMinderServerBridgeHandler bridgeHandler;
+        private final IZoneMinderMonitor monitorProxy;
+
+        public TestMonitorHandler(Thing thing, String zoneMinderId, ZoneMinderServerBridgeHandler bridgeHandler,
+                IZoneMinderMonitor monitorProxy) {
+            super(thing);
+            this.zoneMinderId = zoneMinderId;
+            this.bridgeHandler = bridgeHandler;
+            this.monitorProxy = monitorProxy;
+        }
+
+        @Override
+        public String getZoneMinderId() {
+            return zoneMinderId;
+        }
+
+        @Override
+        protected boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public synchronized ZoneMinderServerBridgeHandler getZoneMinderBridgeHandler() {
+            return bridgeHandler;
+        }
+
+        @Override
+        protected IZoneMinderMonitor getMonitorProxy(IZoneMinderSession session) {
+            return monitorProxy;
+        }
+    }
+
+    /**
+     * Counts the calls of the proxy methods, which each are a request to ZoneMinder.
+     */
+    private abstract static class StubProxy {
+        final Map<String, Integer> calls = new HashMap<>();
+
+        void count(String method) {
+            Integer count = calls.get(method);
+            calls.put(method, count == null ? 1 : count + 1);
+        }
+
+        int getCalls(String method) {
+            Integer count = calls.get(method);
+            return count == null ? 0 : count;
+        }
+
+        int getTotalCalls() {
+            int total = 0;
+            for (Integer count : calls.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        public String getHttpUrl() {
+            return "http://zoneminder/zm/api";
+        }
+
+        public int getHttpResponseCode() {
+            return 200;
+        }
+
+        public String getHttpResponseMessage() {
+            return "OK";
+        }
+    }
+
+    private static class StubServer extends StubProxy implements IZoneMinderServer {
+        private ArrayList<IZoneMinderMonitorData> monitors = new ArrayList<>();
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public boolean isApiEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isTriggerOptionEnabled() {
+            return true;
+        }
+
+        @Override
+        public IZoneMinderHostVersion getHostVersion() {
+            count("getHostVersion");
+            return null;
+        }
+
+        @Override
+        public IZoneMinderHostLoad getHostCpuLoad() {
+            count("getHostCpuLoad");
+            return new StubHostLoad();
+        }
+
+        @Override
+        public IZoneMinderDaemonStatus getHostDaemonCheckState() {
+            count("getHostDaemonCheckState");
+            return new StubDaemonStatus();
+        }
+
+        @Override
+        public IZoneMinderDiskUsage getHostDiskUsage() {
+            count("getHostDiskUsage");
+            return new StubDiskUsage();
+        }
+
+        @Override
+        public ArrayList<IZoneMinderMonitorData> getMonitors() {
+            count("getMonitors");
+            return monitors;
+        }
+
+        @Override
+        public ZoneMinderConfig getConfig(ZoneMinderConfigEnum configId) {
+            count("getConfig");
+            return null;
+        }
+
+        @Override
+        public boolean setConfig(ZoneMinderConfigEnum configId, Boolean value) {
+            count("setConfig");
+            return true;
+        }
+
+        @Override
+        public boolean setConfig(ZoneMinderConfigEnum configId, String value) {
+            count("setConfig");
+            return true;
+        }
+    }
+
+    private static class StubMonitor extends StubProxy implements IZoneMinderMonitor {
+        private ZoneMinderMonitorStatusEnum status = ZoneMinderMonitorStatusEnum.IDLE;
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public IZoneMinderMonitorData getMonitorData() {
+            count("getMonitorData");
+            return new StubMonitorData("");
+        }
+
+        @Override
+        public ZoneMinderMonitorStatusEnum getMonitorDetailedStatus() {
+            count("getMonitorDetailedStatus");
+            return status;
+        }
+
+        @Override
+        public IZoneMinderDaemonStatus getCaptureDaemonStatus() {
+            count("getCaptureDaemonStatus");
+            return new StubDaemonStatus();
+        }
+
+        @Override
+        public IZoneMinderDaemonStatus getAnalysisDaemonStatus() {
+            count("getAnalysisDaemonStatus");
+            return new StubDaemonStatus();
+        }
+
+        @Override
+        public IZoneMinderDaemonStatus getFrameDaemonStatus() {
+            count("getFrameDaemonStatus");
+            return new StubDaemonStatus();
+        }
+
+        @Override
+        public IZoneMinderEventData getLastEvent() {
+            count("getLastEvent");
+            return new StubEventData();
+        }
+
+        @Override
+        public IZoneMinderEventData getEventById(String eventId) {
+            count("getEventById");
+            return new StubEventData();
+        }
+
+        @Override
+        public void activateForceAlarm(Integer priority, String reason, String note, String showText,
+                Integer timeoutSeconds) {
+            count("activateForceAlarm");
+        }
+
+        @Override
+        public void deactivateForceAlarm() {
+            count("deactivateForceAlarm");
+        }
+
+        @Override
+        public void SetEnabled(boolean enabled) {
+            count("SetEnabled");
+        }
+
+        @Override
+        public void SetFunction(String function) {
+            count("SetFunction");
+        }
+
+        @Override
+        public void SetFunction(ZoneMinderMonitorFunctionEnum function) {
+            count("SetFunction");
+        }
+    }
+
+    private static class StubMonitorData extends StubProxy implements IZoneMinderMonitorData {
+        private final String id;
+
+        public StubMonitorData(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return "Monitor " + id;
+        }
+
+        @Override
+        public ZoneMinderMonitorSourceTypeEnum getSourceType() {
+            return null;
+        }
+
+        @Override
+        public ZoneMinderMonitorFunctionEnum getFunction() {
+            return ZoneMinderMonitorFunctionEnum.MODECT;
+        }
+
+        @Override
+        public boolean getEnabled() {
+            return true;
+        }
+
+        @Override
+        public String getLinkedMonitors() {
+            return null;
+        }
+
+        @Override
+        public String getTriggers() {
+            return null;
+        }
+
+        @Override
+        public String getFormat() {
+            return null;
+        }
+
+        @Override
+        public Boolean getV4LMultiBuffer() {
+            return null;
+        }
+
+        @Override
+        public String getV4LCapturesPerFrame() {
+            return null;
+        }
+
+        @Override
+        public String getWidth() {
+            return null;
+        }
+
+        @Override
+        public String getHeight() {
+            return null;
+        }
+
+        @Override
+        public String GetColours() {
+            return null;
+        }
+
+        @Override
+        public String getPalette() {
+            return null;
+        }
+
+        @Override
+        public String getDeinterlacing() {
+            return null;
+        }
+
+        @Override
+        public String getImageBufferCount() {
+            return null;
+        }
+
+        @Override
+        public String getWarmupCount() {
+            return null;
+        }
+
+        @Override
+        public String getPreEventCount() {
+            return null;
+        }
+
+        @Override
+        public String getPostEventCount() {
+            return null;
+        }
+
+        @Override
+        public String getAlarmFrameCount() {
+            return null;
+        }
+
+        @Override
+        public String getAnalysisFPS() {
+            return null;
+        }
+
+        @Override
+        public String getMaxFPS() {
+            return null;
+        }
+
+        @Override
+        public String getAlarmMaxFPS() {
+            return null;
+        }
+    }
+
+    private static class StubDaemonStatus extends StubProxy implements IZoneMinderDaemonStatus {
+        @Override
+        public boolean getStatus() {
+            return true;
+        }
+
+        @Override
+        public String getStatusText() {
+            return "running";
+        }
+    }
+
+    private static class StubEventData extends StubProxy implements IZoneMinderEventData {
+        @Override
+        public String getId() {
+            return "42";
+        }
+
+        @Override
+        public String getCause() {
+            return "Motion";
+        }
+
+        @Override
+        public String getStartTime() {
+            return null;
+        }
+
+        @Override
+        public String getEndTime() {
+            return null;
+        }
+    }
+
+    private static class StubHostLoad extends StubProxy implements IZoneMinderHostLoad {
+        @Override
+        public Float getCpuLoad() {
+            return 0.5f;
+        }
+    }
+
+    private static class StubDiskUsage extends StubProxy implements IZoneMinderDiskUsage {
+        @Override
+        public String getDiskUsage() {
+            return "12";
+        }
+    }
+}
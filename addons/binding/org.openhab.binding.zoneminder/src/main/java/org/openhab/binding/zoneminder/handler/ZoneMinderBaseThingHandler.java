@@ -12,6 +12,8 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.security.GeneralSecurityException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -71,6 +73,9 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
 
     private DataRefreshPriorityEnum _refreshPriority = DataRefreshPriorityEnum.SCHEDULED;
 
+    /** Last state published for each channel, used to publish changed values only */
+    private final Map<String, State> publishedStates = new ConcurrentHashMap<>();
+
     protected boolean isOnline() {
 
         if (zoneMinderSession == null) {
@@ -160,7 +165,12 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
         return ch.getUID();
     }
 
-    protected abstract void onFetchData();
+    /**
+     * Fetches the data of the thing from ZoneMinder.
+     *
+     * @param refreshPriority HIGH_PRIORITY if only the data needed for alarm checks should be fetched
+     */
+    protected abstract void onFetchData(DataRefreshPriorityEnum refreshPriority);
 
     /**
      * Method to Refresh Thing Handler.
@@ -183,7 +193,7 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
                 logger.debug("{}: refreshThing(): Bridge '{}' Found for Thing '{}'!", getLogIdentifier(),
                         getThing().getUID(), this.getThing().getUID());
 
-                onFetchData();
+                onFetchData(refreshPriority);
             }
         }
 
@@ -247,7 +257,7 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
 
         switch (channel.getId()) {
             case ZoneMinderConstants.CHANNEL_ONLINE:
-                updateState(channel, getChannelBoolAsOnOffState(isOnline()));
+                updateState(channel.getId(), getChannelBoolAsOnOffState(isOnline()));
                 break;
             default:
                 logger.error(
@@ -260,6 +270,25 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
     public void handleCommand(ChannelUID channelUID, Command command) {
     }
 
+    /**
+     * Makes sure the next state of the channel is published, even if it has not changed.
+     * Must be called when a channel is refreshed on request.
+     */
+    protected void forceChannelUpdate(ChannelUID channelUID) {
+        publishedStates.remove(channelUID.getId());
+    }
+
+    /**
+     * Publishes the state of a channel, unless it is the state published last.
+     */
+    @Override
+    protected void updateState(String channelID, State state) {
+        State previousState = publishedStates.put(channelID, state);
+        if (!state.equals(previousState)) {
+            super.updateState(channelID, state);
+        }
+    }
+
     @Override
     public void onBridgeConnected(ZoneMinderServerBridgeHandler bridge, IZoneMinderConnectionInfo connection)
             throws IllegalArgumentException, GeneralSecurityException, IOException, ZoneMinderUrlNotFoundException {
@@ -279,6 +308,7 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
 
             this.setThingRefreshed(false);
         }
+        publishedStates.clear();
 
         lockSession.lock();
         try {
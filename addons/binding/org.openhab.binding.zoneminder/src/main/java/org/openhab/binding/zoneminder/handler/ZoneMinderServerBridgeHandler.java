@@ -12,10 +12,12 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -35,6 +37,7 @@ import org.eclipse.smarthome.core.thing.ThingStatusInfo;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
@@ -128,6 +131,9 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
     private IZoneMinderSession zoneMinderSession = null;
     private IZoneMinderConnectionInfo zoneMinderConnection = null;
 
+    /** Handlers of the monitors attached to this bridge by their ZoneMinder Id */
+    private final Map<String, ZoneMinderThingMonitorHandler> monitorHandlers = new ConcurrentHashMap<>();
+
     private ScheduledFuture<?> taskRefreshData = null;
     private ScheduledFuture<?> taskPriorityRefreshData = null;
 
@@ -136,6 +142,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
         public void run() {
             try {
                 boolean fetchDiskUsage = false;
+                boolean fetchLowPriorityData = false;
 
                 if (!isOnline()) {
                     logger.debug("{}: Bridge '{}' is noit online skipping refresh", getLogIdentifier(), thing.getUID());
@@ -152,6 +159,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
                     iMaxCycles = getBridgeConfig().getRefreshInterval();
                     resetCount = true;
                     doRefresh = true;
+                    fetchLowPriorityData = true;
 
                 } else {
                     iMaxCycles = getBridgeConfig().getRefreshIntervalLowPriorityTask() * 60;
@@ -159,6 +167,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
                     if ((refreshCycleCount * refreshFrequency) >= (getBridgeConfig().getRefreshIntervalLowPriorityTask()
                             * 60)) {
                         fetchDiskUsage = true;
+                        fetchLowPriorityData = true;
                         resetCount = true;
 
                     }
@@ -177,7 +186,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
 
                     logger.debug("{}: 'refreshDataRunnable()': (diskUsage='{}')", getLogIdentifier(), fetchDiskUsage);
 
-                    refreshThing(zoneMinderSession, fetchDiskUsage);
+                    refreshThing(zoneMinderSession, fetchDiskUsage, fetchLowPriorityData);
                 }
 
             } catch (Exception exception) {
@@ -191,44 +200,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
         @Override
         public void run() {
             try {
-
-                // Make sure priority updates is done
-                for (Thing thing : getThing().getThings()) {
-                    try {
-
-                        if (thing.getThingTypeUID().equals(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR)) {
-                            Thing thingMonitor = thing;
-
-                            ZoneMinderBaseThingHandler thingHandler = (ZoneMinderBaseThingHandler) thing.getHandler();
-                            if (thingHandler != null) {
-
-                                if (thingHandler.getRefreshPriority() == DataRefreshPriorityEnum.HIGH_PRIORITY) {
-                                    logger.debug("[MONITOR-{}]: RefreshPriority is High Priority",
-                                            thingHandler.getZoneMinderId());
-                                    thingHandler.refreshThing(zoneMinderSession, DataRefreshPriorityEnum.HIGH_PRIORITY);
-                                }
-                            } else {
-                                logger.debug(
-                                        "[MONITOR]: refreshThing not called for monitor, since thingHandler is 'null'");
-
-                            }
-                        }
-
-                    } catch (NullPointerException ex) {
-                        // This isn't critical (unless it comes over and over). There seems to be a bug so that a
-                        // null
-                        // pointer exception is coming every now and then.
-                        // HAve to find the reason for that. Until thenm, don't Spamm
-                        logger.error(
-                                "[MONITOR]: Method 'refreshThing()' for Bridge failed for thing='{}' - Exception='{}'",
-                                thing.getUID(), ex);
-                    } catch (Exception ex) {
-                        logger.error(
-                                "[MONITOR]: Method 'refreshThing()' for Bridge failed for thing='{}' - Exception='{}'",
-                                thing.getUID(), ex);
-                    }
-                }
-
+                refreshPriorityThings(zoneMinderSession);
             } catch (Exception exception) {
                 logger.error("[MONITOR]: monitorRunnable::run(): Exception: ", exception);
             }
@@ -408,19 +380,43 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
         return null;
     }
 
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof ZoneMinderThingMonitorHandler) {
+            ZoneMinderThingMonitorHandler monitorHandler = (ZoneMinderThingMonitorHandler) childHandler;
+            monitorHandlers.put(monitorHandler.getZoneMinderId(), monitorHandler);
+        }
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof ZoneMinderThingMonitorHandler) {
+            monitorHandlers.values().remove(childHandler);
+        }
+    }
+
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         logger.debug("{}: Update '{}' with '{}'", getLogIdentifier(), channelUID.getAsString(), command.toString());
     }
 
-    protected synchronized void refreshThing(IZoneMinderSession session, boolean fetchDiskUsage) {
+    /**
+     * Refreshes the bridge and all monitors. The data of the monitors is fetched in one request and passed to the
+     * monitor handlers by their ZoneMinder Id.
+     *
+     * @param fetchDiskUsage true if the disk usage should be fetched
+     * @param fetchLowPriorityData true if data rarely changing, like the status of the monitor daemons, should be
+     *            fetched
+     */
+    protected synchronized void refreshThing(IZoneMinderSession session, boolean fetchDiskUsage,
+            boolean fetchLowPriorityData) {
 
         logger.debug("{}: 'refreshThing()': Thing='{}'!", getLogIdentifier(), this.getThing().getUID());
 
         List<Channel> channels = getThing().getChannels();
-        List<Thing> things = getThing().getThings();
+        Map<String, IZoneMinderMonitorData> monitorData = new HashMap<>();
 
-        IZoneMinderServer zoneMinderServerProxy = ZoneMinderFactory.getServerProxy(session);
+        IZoneMinderServer zoneMinderServerProxy = getServerProxy(session);
         if (zoneMinderServerProxy == null) {
             logger.warn("{}:  Could not obtain ZonerMinderServerProxy ", getLogIdentifier());
 
@@ -479,6 +475,25 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
                 }
             }
 
+            /*
+             * Fetch data for all monitors
+             */
+            if (!monitorHandlers.isEmpty()) {
+                ArrayList<IZoneMinderMonitorData> monitors = zoneMinderServerProxy.getMonitors();
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        zoneMinderServerProxy.getHttpUrl(), zoneMinderServerProxy.getHttpResponseCode(),
+                        zoneMinderServerProxy.getHttpResponseMessage());
+
+                if (monitors == null) {
+                    logger.warn("{}: Monitor data could not be obtained, monitors will fetch their data themselves",
+                            getLogIdentifier());
+                } else {
+                    for (IZoneMinderMonitorData monitor : monitors) {
+                        monitorData.put(monitor.getId(), monitor);
+                    }
+                }
+            }
+
         } else {
             _online = false;
             // Make sure old data is cleared
@@ -496,30 +511,43 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
         /*
          * Request Things attached to Bridge to refresh
          */
-        for (Thing thing : things) {
+        for (ZoneMinderThingMonitorHandler thingHandler : monitorHandlers.values()) {
             try {
+                thingHandler.setMonitorData(monitorData.get(thingHandler.getZoneMinderId()), fetchLowPriorityData);
+                thingHandler.refreshThing(session, DataRefreshPriorityEnum.SCHEDULED);
+            } catch (Exception ex) {
+                logger.error("{}: Method 'refreshThing()' for Bridge {} failed for thing='{}' - Exception='{}'",
+                        getLogIdentifier(), this.getZoneMinderId(), thingHandler.getThing().getUID(),
+                        ex.getMessage());
+            }
+        }
 
-                if (thing.getThingTypeUID().equals(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR)) {
-                    Thing thingMonitor = thing;
-                    ZoneMinderBaseThingHandler thingHandler = (ZoneMinderBaseThingHandler) thing.getHandler();
-
-                    thingHandler.refreshThing(session, DataRefreshPriorityEnum.SCHEDULED);
-                }
+    }
 
-            } catch (NullPointerException ex) {
-                // This isn't critical (unless it comes over and over). There seems to be a bug so that a null
-                // pointer exception is coming every now and then.
-                // HAve to find the reason for that. Until thenm, don't Spamm
-                logger.debug("{}: Method 'refreshThing()' for Bridge {} failed for thing='{}' - Exception='{}'",
-                        getLogIdentifier(), this.getZoneMinderId(), thing.getUID(), ex.getMessage());
+    /**
+     * Refreshes the monitors with an alarm. Only these monitors are checked at the high priority cadence.
+     */
+    protected void refreshPriorityThings(IZoneMinderSession session) {
+        for (ZoneMinderThingMonitorHandler thingHandler : monitorHandlers.values()) {
+            if (thingHandler.getRefreshPriority() != DataRefreshPriorityEnum.HIGH_PRIORITY) {
+                continue;
+            }
 
-                // Other exceptions has to be shown as errors
+            try {
+                logger.debug("[MONITOR-{}]: RefreshPriority is High Priority", thingHandler.getZoneMinderId());
+                thingHandler.refreshThing(session, DataRefreshPriorityEnum.HIGH_PRIORITY);
             } catch (Exception ex) {
-                logger.error("{}: Method 'refreshThing()' for Bridge {} failed for thing='{}' - Exception='{}'",
-                        getLogIdentifier(), this.getZoneMinderId(), thing.getUID(), ex.getMessage());
+                logger.error("[MONITOR]: Method 'refreshThing()' for Bridge failed for thing='{}' - Exception='{}'",
+                        thingHandler.getThing().getUID(), ex);
             }
         }
+    }
 
+    /**
+     * Returns the proxy the server data is fetched by on every refresh.
+     */
+    protected IZoneMinderServer getServerProxy(IZoneMinderSession session) {
+        return ZoneMinderFactory.getServerProxy(session);
     }
 
     /**
@@ -1029,7 +1057,7 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
 
             // Perform first refresh manually (we want to force update of DiskUsage)
             boolean updateDiskUsage = (getBridgeConfig().getRefreshIntervalLowPriorityTask() > 0) ? true : false;
-            refreshThing(zoneMinderSession, updateDiskUsage);
+            refreshThing(zoneMinderSession, updateDiskUsage, true);
 
             if (getBridgeConfig().getRefreshIntervalLowPriorityTask() != 0) {
                 refreshFrequency = calculateCommonRefreshFrequency(getBridgeConfig().getRefreshInterval());
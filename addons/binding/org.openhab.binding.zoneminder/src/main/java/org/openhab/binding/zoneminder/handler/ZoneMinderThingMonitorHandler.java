@@ -95,6 +95,10 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
     private int forceAlarmManualState = -1;
 
+    /** Monitor data fetched by the bridge for all monitors, consumed by the next refresh */
+    private IZoneMinderMonitorData pendingMonitorData = null;
+    private boolean daemonStatusRequested = true;
+
     public ZoneMinderThingMonitorHandler(Thing thing) {
         super(thing);
 
@@ -179,6 +183,7 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
             // Allow refresh of channels
             if (command == RefreshType.REFRESH) {
+                forceChannelUpdate(channelUID);
                 updateChannel(channelUID);
                 return;
             }
@@ -721,110 +726,172 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
     }
 
+    /**
+     * Passes the data of this monitor, which the bridge fetched together with the data of all other monitors, to be
+     * used by the next scheduled refresh.
+     *
+     * @param monitorData data of this monitor or null if the bridge could not fetch it
+     * @param refreshDaemonStatus true if the status of the daemons should be fetched by the next refresh
+     */
+    public synchronized void setMonitorData(IZoneMinderMonitorData monitorData, boolean refreshDaemonStatus) {
+        pendingMonitorData = monitorData;
+        if (refreshDaemonStatus) {
+            daemonStatusRequested = true;
+        }
+    }
+
+    private synchronized IZoneMinderMonitorData takeMonitorData() {
+        IZoneMinderMonitorData monitorData = pendingMonitorData;
+        pendingMonitorData = null;
+        return monitorData;
+    }
+
+    private synchronized boolean takeDaemonStatusRequest() {
+        boolean requested = daemonStatusRequested;
+        daemonStatusRequested = false;
+        return requested;
+    }
+
     @Override
-    protected void onFetchData() {
+    protected void onFetchData(DataRefreshPriorityEnum refreshPriority) {
 
         IZoneMinderSession session = null;
 
         session = aquireSession();
         try {
-            IZoneMinderMonitor monitorProxy = ZoneMinderFactory.getMonitorProxy(session, getZoneMinderId());
+            IZoneMinderMonitor monitorProxy = getMonitorProxy(session);
 
-            IZoneMinderMonitorData data = null;
-            IZoneMinderDaemonStatus captureDaemon = null;
-            IZoneMinderDaemonStatus analysisDaemon = null;
-            IZoneMinderDaemonStatus frameDaemon = null;
+            if (!isConnected()) {
+                channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
+                channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
+                channelEnabled = false;
+                channelEventCause = "";
+                channelDaemonCapture = false;
+                channelDaemonAnalysis = false;
+                channelDaemonFrame = false;
 
-            data = monitorProxy.getMonitorData();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
+            } else if (refreshPriority == DataRefreshPriorityEnum.HIGH_PRIORITY) {
+                // Alarm checks only, configuration data is refreshed by the scheduled refresh
+                fetchAlarmState(monitorProxy);
 
-            captureDaemon = monitorProxy.getCaptureDaemonStatus();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
+            } else {
+                if (fetchMonitorData(monitorProxy)) {
+                    fetchAlarmState(monitorProxy);
+                }
+                if (takeDaemonStatusRequest()) {
+                    fetchDaemonStatus(monitorProxy);
+                }
+            }
+        } finally {
+            releaseSession();
+        }
 
-            analysisDaemon = monitorProxy.getAnalysisDaemonStatus();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
+        RecalculateChannelStates();
+
+        if ((channelForceAlarm == false) && (channelAlarmedState == false)
+                && (DataRefreshPriorityEnum.HIGH_PRIORITY == getRefreshPriority())) {
+            stopPriorityRefresh();
+        }
+
+    }
+
+    /**
+     * Returns the proxy the data of this monitor is fetched by on every refresh.
+     */
+    protected IZoneMinderMonitor getMonitorProxy(IZoneMinderSession session) {
+        return ZoneMinderFactory.getMonitorProxy(session, getZoneMinderId());
+    }
+
+    /**
+     * Updates function and enabled state, preferably from the data the bridge fetched for all monitors.
+     *
+     * @return false if the monitor data could not be obtained
+     */
+    private boolean fetchMonitorData(IZoneMinderMonitor monitorProxy) {
+        IZoneMinderMonitorData data = takeMonitorData();
 
-            frameDaemon = monitorProxy.getFrameDaemonStatus();
+        if (data == null) {
+            data = monitorProxy.getMonitorData();
             logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
                     monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
                     monitorProxy.getHttpResponseMessage());
 
-            if ((data.getHttpResponseCode() != 200) || (captureDaemon.getHttpResponseCode() != 200)
-                    || (analysisDaemon.getHttpResponseCode() != 200) || (frameDaemon.getHttpResponseCode() != 200)) {
-
-                if (data.getHttpResponseCode() != 200) {
+            if ((data == null) || (data.getHttpResponseCode() != 200)) {
+                if (data != null) {
                     logger.warn("{}: HTTP Response MonitorData: Code='{}', Message'{}'", getLogIdentifier(),
                             data.getHttpResponseCode(), data.getHttpResponseMessage());
-
-                    channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
-                    channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
-                    channelEnabled = false;
-                    channelEventCause = "";
                 }
-                if (captureDaemon.getHttpResponseCode() != 200) {
-                    channelDaemonCapture = false;
-                    logger.warn("{}: HTTP Response CaptureDaemon: Code='{}', Message'{}'", getLogIdentifier(),
-                            captureDaemon.getHttpResponseCode(), captureDaemon.getHttpResponseMessage());
+                channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
+                channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
+                channelEnabled = false;
+                channelEventCause = "";
+                return false;
+            }
+        }
 
-                }
-                if (analysisDaemon.getHttpResponseCode() != 200) {
-                    channelDaemonAnalysis = false;
+        channelFunction = data.getFunction();
+        channelEnabled = data.getEnabled();
+        return true;
+    }
 
-                    logger.warn("{}: HTTP Response AnalysisDaemon: Code='{}', Message='{}'", getLogIdentifier(),
-                            analysisDaemon.getHttpResponseCode(), analysisDaemon.getHttpResponseMessage());
-                }
-                if (frameDaemon.getHttpResponseCode() != 200) {
-                    channelDaemonFrame = false;
-                    logger.warn("{}: HTTP Response MonitorData: Code='{}', Message'{}'", getLogIdentifier(),
-                            frameDaemon.getHttpResponseCode(), frameDaemon.getHttpResponseMessage());
-                }
+    /**
+     * Updates the detailed status and, unless the monitor is idle, the cause of the last event.
+     */
+    private void fetchAlarmState(IZoneMinderMonitor monitorProxy) {
+        channelMonitorStatus = monitorProxy.getMonitorDetailedStatus();
+        logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(), monitorProxy.getHttpResponseMessage());
 
-            } else {
-                if (isConnected()) {
-                    channelMonitorStatus = monitorProxy.getMonitorDetailedStatus();
-                    logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                            monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                            monitorProxy.getHttpResponseMessage());
-
-                    channelFunction = data.getFunction();
-                    channelEnabled = data.getEnabled();
-                    IZoneMinderEventData event = monitorProxy.getLastEvent();
-                    if (event != null) {
-                        channelEventCause = event.getCause();
-                    } else {
-                        channelEventCause = "";
-                    }
+        // The event cause is cleared anyway while the monitor is idle
+        if (channelMonitorStatus == ZoneMinderMonitorStatusEnum.IDLE) {
+            channelEventCause = "";
+            return;
+        }
 
-                    channelDaemonCapture = captureDaemon.getStatus();
-                    channelDaemonAnalysis = analysisDaemon.getStatus();
-                    channelDaemonFrame = frameDaemon.getStatus();
-                } else {
-                    channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
-                    channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
-                    channelEnabled = false;
-                    channelEventCause = "";
-                    channelDaemonCapture = false;
-                    channelDaemonAnalysis = false;
-                    channelDaemonFrame = false;
-                }
-            }
-        } finally {
-            releaseSession();
+        IZoneMinderEventData event = monitorProxy.getLastEvent();
+        if (event != null) {
+            channelEventCause = event.getCause();
+        } else {
+            channelEventCause = "";
         }
+    }
 
-        RecalculateChannelStates();
+    private void fetchDaemonStatus(IZoneMinderMonitor monitorProxy) {
+        IZoneMinderDaemonStatus captureDaemon = monitorProxy.getCaptureDaemonStatus();
+        logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(), monitorProxy.getHttpResponseMessage());
 
-        if ((channelForceAlarm == false) && (channelAlarmedState == false)
-                && (DataRefreshPriorityEnum.HIGH_PRIORITY == getRefreshPriority())) {
-            stopPriorityRefresh();
+        IZoneMinderDaemonStatus analysisDaemon = monitorProxy.getAnalysisDaemonStatus();
+        logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(), monitorProxy.getHttpResponseMessage());
+
+        IZoneMinderDaemonStatus frameDaemon = monitorProxy.getFrameDaemonStatus();
+        logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(), monitorProxy.getHttpResponseMessage());
+
+        if (captureDaemon.getHttpResponseCode() != 200) {
+            channelDaemonCapture = false;
+            logger.warn("{}: HTTP Response CaptureDaemon: Code='{}', Message'{}'", getLogIdentifier(),
+                    captureDaemon.getHttpResponseCode(), captureDaemon.getHttpResponseMessage());
+        } else {
+            channelDaemonCapture = captureDaemon.getStatus();
         }
 
+        if (analysisDaemon.getHttpResponseCode() != 200) {
+            channelDaemonAnalysis = false;
+            logger.warn("{}: HTTP Response AnalysisDaemon: Code='{}', Message='{}'", getLogIdentifier(),
+                    analysisDaemon.getHttpResponseCode(), analysisDaemon.getHttpResponseMessage());
+        } else {
+            channelDaemonAnalysis = analysisDaemon.getStatus();
+        }
+
+        if (frameDaemon.getHttpResponseCode() != 200) {
+            channelDaemonFrame = false;
+            logger.warn("{}: HTTP Response FrameDaemon: Code='{}', Message'{}'", getLogIdentifier(),
+                    frameDaemon.getHttpResponseCode(), frameDaemon.getHttpResponseMessage());
+        } else {
+            channelDaemonFrame = frameDaemon.getStatus();
+        }
     }
 
     protected State getDetailedStatus() {
@@ -8,10 +8,11 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,49 +28,85 @@ import com.beowulfe.hap.HomekitRoot;
  * Stores the created HomekitAccessories. GroupedAccessories are also held here
  * in a pre-created pending state until all required characteristics are found.
  *
+ * Accessories can be registered in bulk between {@link #beginBatch()} and {@link #endBatch()}. While a batch is
+ * open, completed accessories are only collected and are published to the bridge in one pass when the batch ends.
+ *
  * @author Andy Lintner
  */
 class HomekitAccessoryRegistry {
 
     private HomekitRoot bridge;
-    private final List<HomekitAccessory> createdAccessories = new LinkedList<>();
+    private final Map<Integer, HomekitAccessory> createdAccessories = new LinkedHashMap<>();
     private final Set<Integer> createdIds = new HashSet<>();
     private final Map<String, GroupedAccessory> pendingGroupedAccessories = new HashMap<>();
-    private final List<HomekitTaggedItem> pendingCharacteristics = new LinkedList<>();
+    private final Map<String, Set<HomekitTaggedItem>> pendingCharacteristics = new HashMap<>();
+    private final List<HomekitAccessory> batchedAccessories = new ArrayList<>();
+    private boolean batchMode;
 
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryRegistry.class);
 
-    public void remove(HomekitTaggedItem taggedItem) {
-        Iterator<HomekitAccessory> i = createdAccessories.iterator();
-        while (i.hasNext()) {
-            HomekitAccessory accessory = i.next();
-            if (accessory.getId() == taggedItem.getId()) {
-                logger.debug("Removed accessory {}", accessory.getId());
+    public synchronized void remove(HomekitTaggedItem taggedItem) {
+        HomekitAccessory accessory = createdAccessories.remove(taggedItem.getId());
+        if (accessory != null) {
+            logger.debug("Removed accessory {}", accessory.getId());
+            createdIds.remove(accessory.getId());
+            if (!batchedAccessories.remove(accessory) && bridge != null) {
                 bridge.removeAccessory(accessory);
-                i.remove();
             }
         }
     }
 
     public synchronized void clear() {
-        while (!createdAccessories.isEmpty()) {
-            bridge.removeAccessory(createdAccessories.remove(0));
+        if (bridge != null) {
+            for (HomekitAccessory accessory : createdAccessories.values()) {
+                if (!batchedAccessories.contains(accessory)) {
+                    bridge.removeAccessory(accessory);
+                }
+            }
         }
+        createdAccessories.clear();
         createdIds.clear();
+        batchedAccessories.clear();
+        pendingGroupedAccessories.clear();
+        pendingCharacteristics.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
         this.bridge = bridge;
-        createdAccessories.forEach(accessory -> bridge.addAccessory(accessory));
+        if (bridge != null && !batchMode) {
+            createdAccessories.values().forEach(accessory -> bridge.addAccessory(accessory));
+        }
+    }
+
+    /**
+     * Starts collecting completed accessories instead of publishing each of them to the bridge immediately.
+     */
+    public synchronized void beginBatch() {
+        batchMode = true;
+    }
+
+    /**
+     * Publishes all accessories collected since {@link #beginBatch()} to the bridge.
+     */
+    public synchronized void endBatch() {
+        batchMode = false;
+        if (bridge != null) {
+            batchedAccessories.forEach(accessory -> bridge.addAccessory(accessory));
+            logger.debug("Published {} accessories to the bridge", batchedAccessories.size());
+        }
+        batchedAccessories.clear();
     }
 
     public synchronized void addRootDevice(HomekitAccessory accessory) {
         if (accessory instanceof GroupedAccessory) {
             GroupedAccessory groupedAccessory = (GroupedAccessory) accessory;
-            pendingGroupedAccessories.put(groupedAccessory.getGroupName(), groupedAccessory);
-            for (HomekitTaggedItem characteristic : pendingCharacteristics) {
-                if (characteristic.getItem().getGroupNames().contains(groupedAccessory.getGroupName())) {
-                    addCharacteristicToGroup(groupedAccessory.getGroupName(), characteristic);
+            String groupName = groupedAccessory.getGroupName();
+            pendingGroupedAccessories.put(groupName, groupedAccessory);
+            Set<HomekitTaggedItem> characteristics = pendingCharacteristics.remove(groupName);
+            if (characteristics != null) {
+                for (HomekitTaggedItem characteristic : characteristics) {
+                    removePendingCharacteristic(characteristic);
+                    addCharacteristicToGroup(groupName, characteristic);
                 }
             }
         } else {
@@ -85,10 +122,24 @@ class HomekitAccessoryRegistry {
                 return;
             }
         }
-        pendingCharacteristics.add(item);
+        for (String group : item.getItem().getGroupNames()) {
+            pendingCharacteristics.computeIfAbsent(group, k -> new LinkedHashSet<>()).add(item);
+        }
         logger.debug("Stored {} until group is ready", item.getItem().getName());
     }
 
+    private void removePendingCharacteristic(HomekitTaggedItem item) {
+        for (String group : item.getItem().getGroupNames()) {
+            Set<HomekitTaggedItem> characteristics = pendingCharacteristics.get(group);
+            if (characteristics != null) {
+                characteristics.remove(item);
+                if (characteristics.isEmpty()) {
+                    pendingCharacteristics.remove(group);
+                }
+            }
+        }
+    }
+
     private void addCharacteristicToGroup(String group, HomekitTaggedItem item) {
         GroupedAccessory accessory = pendingGroupedAccessories.get(group);
         accessory.addCharacteristic(item);
@@ -99,9 +150,11 @@ class HomekitAccessoryRegistry {
     }
 
     private void doAddDevice(HomekitAccessory accessory) {
-        createdAccessories.add(accessory);
+        createdAccessories.put(accessory.getId(), accessory);
         createdIds.add(accessory.getId());
-        if (bridge != null) {
+        if (batchMode) {
+            batchedAccessories.add(accessory);
+        } else if (bridge != null) {
             bridge.addAccessory(accessory);
         }
         logger.debug("Added accessory {}", accessory.getId());
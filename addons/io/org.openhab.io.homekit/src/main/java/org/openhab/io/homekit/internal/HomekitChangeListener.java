@@ -47,8 +47,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     }
 
     @Override
-    public void allItemsChanged(Collection<String> oldItemNames) {
+    public synchronized void allItemsChanged(Collection<String> oldItemNames) {
         clearAccessories();
+        addAll();
     }
 
     @Override
@@ -76,7 +77,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     public synchronized void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
         itemRegistry.addRegistryChangeListener(this);
-        itemRegistry.getAll().forEach(item -> added(item));
+        addAll();
     }
 
     public void setUpdater(HomekitAccessoryUpdater updater) {
@@ -93,6 +94,18 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         }
     }
 
+    /**
+     * Creates the accessories for all items in the registry and publishes them to the bridge in a single batch.
+     */
+    private void addAll() {
+        accessoryRegistry.beginBatch();
+        try {
+            itemRegistry.getAll().forEach(item -> added(item));
+        } finally {
+            accessoryRegistry.endBatch();
+        }
+    }
+
     private void createRootDevice(HomekitTaggedItem taggedItem) {
         try {
             logger.debug("Adding homekit device {}", taggedItem.getItem().getName());
@@ -92,7 +92,8 @@ public class HomekitImpl implements Homekit {
         homekit = new HomekitServer(settings.getNetworkInterface(), settings.getPort());
         bridge = homekit.createBridge(new HomekitAuthInfoImpl(storageService, settings.getPin()), settings.getName(),
                 settings.getManufacturer(), settings.getModel(), settings.getSerialNumber());
-        bridge.start();
+        // register the accessories before starting, so the bridge does not reset its connections for each of them
         changeListener.setBridge(bridge);
+        bridge.start();
     }
 }
@@ -13,9 +13,12 @@ import java.util.Arrays;
 
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.FixedLengthAudioStream;
 import org.eclipse.smarthome.core.voice.RecognitionStartEvent;
 import org.eclipse.smarthome.core.voice.STTListener;
 import org.eclipse.smarthome.core.voice.SpeechRecognitionErrorEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import ee.ioc.phon.netspeechapi.duplex.RecognitionEvent;
 import ee.ioc.phon.netspeechapi.duplex.RecognitionEventListener;
@@ -29,6 +32,26 @@ import ee.ioc.phon.netspeechapi.duplex.WsDuplexRecognitionSession;
  */
 public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListener {
 
+    private final Logger logger = LoggerFactory.getLogger(STTServiceKaldiRunnable.class);
+
+    /**
+     * Number of audio chunks sent per second of audio [See: http://bit.ly/1V4Ktw2]
+     */
+    private static final int CHUNK_RATE = 4;
+
+    /**
+     * Factor by which already recorded audio is sent faster than real time.
+     *
+     * The WebSocket client queues outgoing frames without bound, so recorded audio is still paced, just much faster
+     * than real time, to keep the server's decoder from being flooded.
+     */
+    private static final int BUFFERED_SPEEDUP = 8;
+
+    /**
+     * Empty chunk sent to signal the end of the audio
+     */
+    private static final byte[] EMPTY_CHUNK = new byte[0];
+
     /**
      * Boolean indicating if the server closed the connection
      */
@@ -54,6 +77,16 @@ public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListen
      */
     private final WsDuplexRecognitionSession recognitionSession;
 
+    /**
+     * Time in milliseconds the recognition was started
+     */
+    private volatile long startTime;
+
+    /**
+     * Time in milliseconds the last audio chunk was sent, or 0 if it was not sent yet
+     */
+    private volatile long lastChunkTime;
+
     /**
      * Constructs an instance targeting the passed WsDuplexRecognitionSession
      *
@@ -74,43 +107,55 @@ public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListen
 
     /**
      * This method sends AudioSource data in the WsDuplexRecognitionSession
+     *
+     * Live audio is sent in real time. Audio of a known length has already been recorded, so it is sent faster than
+     * real time, which lets the recognition finish shortly after the audio has been transferred.
      */
     @Override
     public void run() {
         try {
+            this.startTime = System.currentTimeMillis();
             this.recognitionSession.connect();
             AudioFormat audioFormat = this.audioStream.getFormat();
             int bitRate = audioFormat.getBitRate().intValue();
             int byteRate = (bitRate / 8);
-            int chunkRate = 4; // 4 <= chunkRate [See: http://bit.ly/1V4Ktw2]
-            byte buffer[] = new byte[byteRate / chunkRate];
+            int chunkSize = byteRate / CHUNK_RATE;
+            byte buffer[] = new byte[chunkSize];
+
+            boolean isBuffered = this.audioStream instanceof FixedLengthAudioStream;
+            long chunkMillis = 1000 / CHUNK_RATE;
+            if (isBuffered) {
+                chunkMillis /= BUFFERED_SPEEDUP;
+            }
 
             sttListener.sttEventReceived(new RecognitionStartEvent());
 
             boolean sentLastChunk = false;
+            long nextChunkTime = System.currentTimeMillis();
             while (!this.isAborting && !this.isClosed) {
-                long millisWithinChunkSecond = System.currentTimeMillis() % (1000 / chunkRate);
-                int size = audioStream.read(buffer);
+                int size = readChunk(buffer);
                 if (size < 0) {
                     sentLastChunk = true;
-                    byte buffer2[] = new byte[0];
-                    this.recognitionSession.sendChunk(buffer2, true);
+                    sendLastChunk(EMPTY_CHUNK);
                     break;
                 }
-                if (size == (byteRate / chunkRate)) {
+                if (size == chunkSize) {
                     this.recognitionSession.sendChunk(buffer, false);
                 } else {
                     sentLastChunk = true;
-                    byte buffer2[] = Arrays.copyOf(buffer, size);
-                    this.recognitionSession.sendChunk(buffer2, true);
+                    sendLastChunk(Arrays.copyOf(buffer, size));
                     break;
                 }
-                Thread.sleep(1000 / chunkRate - millisWithinChunkSecond);
+                // Schedule against an absolute clock, so time spent reading and sending does not add up
+                nextChunkTime += chunkMillis;
+                long sleepTime = nextChunkTime - System.currentTimeMillis();
+                if (sleepTime > 0) {
+                    Thread.sleep(sleepTime);
+                }
             }
 
             if (this.isAborting && !this.isClosed && !sentLastChunk) {
-                byte buffer2[] = new byte[0];
-                this.recognitionSession.sendChunk(buffer2, true);
+                sendLastChunk(EMPTY_CHUNK);
             }
         } catch (IOException e) {
             sttListener.sttEventReceived(new SpeechRecognitionErrorEvent("Unable to send audio data to the server"));
@@ -137,6 +182,39 @@ public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListen
         }
     }
 
+    /**
+     * Fills the passed buffer from the audio stream
+     *
+     * A single read may return less than a chunk even if more audio follows, so reading continues until the chunk
+     * is complete or the stream ends.
+     *
+     * @param buffer The buffer to fill
+     * @return The number of bytes read, or -1 if the stream ended before any byte was read
+     * @throws IOException If reading the audio stream fails
+     */
+    private int readChunk(byte[] buffer) throws IOException {
+        int size = 0;
+        while (size < buffer.length) {
+            int read = audioStream.read(buffer, size, buffer.length - size);
+            if (read < 0) {
+                return size == 0 ? -1 : size;
+            }
+            size += read;
+        }
+        return size;
+    }
+
+    /**
+     * Sends the final chunk of audio data and records the time it was sent
+     *
+     * @param chunk The final chunk
+     * @throws IOException If sending fails
+     */
+    private void sendLastChunk(byte[] chunk) throws IOException {
+        this.recognitionSession.sendChunk(chunk, true);
+        this.lastChunkTime = System.currentTimeMillis();
+    }
+
     /**
      * This method initiates the process of aborting this thread
      */
@@ -149,7 +227,14 @@ public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListen
      */
     @Override
     public void onRecognitionEvent(RecognitionEvent recognitionEvent) {
-        // RecognitionEvent are ignored
+        // RecognitionEvent are forwarded by RecognitionEventListenerKaldi, only the latency is reported here
+        if (recognitionEvent.getStatus() == RecognitionEvent.STATUS_SUCCESS
+                && recognitionEvent.getResult().isFinal()) {
+            long now = System.currentTimeMillis();
+            long sinceLastChunk = lastChunkTime == 0 ? -1 : now - lastChunkTime;
+            logger.debug("Recognition finished {} ms after start, {} ms after the end of the audio",
+                    now - startTime, sinceLastChunk);
+        }
     }
 
     /**
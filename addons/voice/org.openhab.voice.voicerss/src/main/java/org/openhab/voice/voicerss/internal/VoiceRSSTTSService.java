@@ -10,15 +10,20 @@ package org.openhab.voice.voicerss.internal;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
@@ -41,6 +46,19 @@ public class VoiceRSSTTSService implements TTSService {
     private static final String CONFIG_API_KEY = "apiKey";
     private String apiKey = null;
 
+    // Cache limits and prefetching come from ConfigAdmin
+    private static final String CONFIG_CACHE_MAX_SIZE = "cacheMaxSize";
+    private static final String CONFIG_CACHE_MAX_AGE = "cacheMaxAge";
+    private static final String CONFIG_PREFETCH_FILE = "prefetchFile";
+    private static final String CONFIG_PREFETCH_LOCALE = "prefetchLocale";
+    private static final String DEFAULT_PREFETCH_LOCALE = "en-US";
+    private static final String PREFETCH_AUDIO_FORMAT = "MP3";
+    private static final String THREADPOOL_NAME = "voicerss";
+    private long cacheMaxSize = 0;
+    private long cacheMaxAge = 0;
+    private String prefetchFile = null;
+    private String prefetchLocale = DEFAULT_PREFETCH_LOCALE;
+
     private final Logger logger = LoggerFactory.getLogger(VoiceRSSTTSService.class);
 
     /**
@@ -63,21 +81,81 @@ public class VoiceRSSTTSService implements TTSService {
      */
     protected void activate(Map<String, Object> config) {
         try {
-            modified(config);
+            readConfig(config);
             voiceRssImpl = initVoiceImplementation();
             voices = initVoices();
             audioFormats = initAudioFormats();
 
             logger.info("Using VoiceRSS cache folder {}", getCacheFolderName());
+            prefetch();
         } catch (Throwable t) {
             logger.error("Failed to activate VoiceRSS: {}", t.getMessage(), t);
         }
     }
 
     protected void modified(Map<String, Object> config) {
+        readConfig(config);
+        if (voiceRssImpl != null) {
+            voiceRssImpl = initVoiceImplementation();
+            prefetch();
+        }
+    }
+
+    private void readConfig(Map<String, Object> config) {
         if (config != null) {
             this.apiKey = config.containsKey(CONFIG_API_KEY) ? config.get(CONFIG_API_KEY).toString() : null;
+            // the maximum cache size is configured in MB, the maximum age in days
+            this.cacheMaxSize = getLongConfig(config, CONFIG_CACHE_MAX_SIZE) * 1024 * 1024;
+            this.cacheMaxAge = TimeUnit.DAYS.toMillis(getLongConfig(config, CONFIG_CACHE_MAX_AGE));
+            this.prefetchFile = config.containsKey(CONFIG_PREFETCH_FILE) ? config.get(CONFIG_PREFETCH_FILE).toString()
+                    : null;
+            this.prefetchLocale = config.containsKey(CONFIG_PREFETCH_LOCALE)
+                    ? config.get(CONFIG_PREFETCH_LOCALE).toString() : DEFAULT_PREFETCH_LOCALE;
+        }
+    }
+
+    private long getLongConfig(Map<String, Object> config, String key) {
+        Object value = config.get(key);
+        if (value == null) {
+            return 0;
         }
+        try {
+            return Math.max(0, Long.parseLong(value.toString().trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, ignoring it", value, key);
+            return 0;
+        }
+    }
+
+    /**
+     * Fills the cache in the background with the phrases from the configured prefetch file, one phrase per line, so
+     * common announcements do not have to wait for VoiceRSS.
+     */
+    private void prefetch() {
+        final String apiKey = this.apiKey;
+        final String prefetchFile = this.prefetchFile;
+        final String locale = this.prefetchLocale;
+        final CachedVoiceRSSCloudImplementation impl = this.voiceRssImpl;
+        if (apiKey == null || prefetchFile == null || prefetchFile.trim().isEmpty()) {
+            return;
+        }
+        ThreadPoolManager.getPool(THREADPOOL_NAME).execute(() -> {
+            try {
+                List<String> phrases = Files.readAllLines(new File(prefetchFile.trim()).toPath(),
+                        StandardCharsets.UTF_8);
+                int count = 0;
+                for (String phrase : phrases) {
+                    String text = phrase.trim();
+                    if (!text.isEmpty() && impl.getTextToSpeechAsFile(apiKey, text, locale,
+                            PREFETCH_AUDIO_FORMAT) != null) {
+                        count++;
+                    }
+                }
+                logger.debug("Prefetched {} phrases from {}", count, prefetchFile);
+            } catch (IOException e) {
+                logger.warn("Could not prefetch phrases from {}: {}", prefetchFile, e.getMessage());
+            }
+        });
     }
 
     @Override
@@ -205,7 +283,8 @@ public class VoiceRSSTTSService implements TTSService {
     }
 
     private final CachedVoiceRSSCloudImplementation initVoiceImplementation() {
-        CachedVoiceRSSCloudImplementation apiImpl = new CachedVoiceRSSCloudImplementation(getCacheFolderName());
+        CachedVoiceRSSCloudImplementation apiImpl = new CachedVoiceRSSCloudImplementation(getCacheFolderName(),
+                cacheMaxSize, cacheMaxAge);
         return apiImpl;
     }
 
@@ -16,8 +16,18 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,50 +37,82 @@ import org.slf4j.LoggerFactory;
  * them in file system, as audio files with an additional .txt file to indicate
  * what content is in the audio file.
  *
+ * The cached files are indexed in memory in least recently used order. If a maximum size or age is given, the least
+ * recently used or expired files are evicted. Concurrent requests for the same uncached text share a single download.
+ *
  * @author Jochen Hiller - Initial contribution
  */
 public class CachedVoiceRSSCloudImplementation extends VoiceRSSCloudImplementation {
 
+    private static final String TEXT_EXTENSION = ".txt";
+    private static final String TEMP_EXTENSION = ".tmp";
+
     private final Logger logger = LoggerFactory.getLogger(CachedVoiceRSSCloudImplementation.class);
 
     private final File cacheFolder;
 
+    /** Maximum size of all cached audio files in bytes, 0 for no limit */
+    private final long maxCacheSize;
+
+    /** Maximum age of a cached audio file in milliseconds, 0 for no limit */
+    private final long maxCacheAge;
+
+    /** The sizes of the cached audio files by file name, in least recently used order */
+    private final Map<String, Long> cacheIndex = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The downloads in progress by file name */
+    private final Map<String, CompletableFuture<File>> pendingDownloads = new ConcurrentHashMap<>();
+
+    private long cacheSize;
+
     public CachedVoiceRSSCloudImplementation(String cacheFolderName) {
+        this(cacheFolderName, 0, 0);
+    }
+
+    public CachedVoiceRSSCloudImplementation(String cacheFolderName, long maxCacheSize, long maxCacheAge) {
         if (cacheFolderName == null) {
             throw new RuntimeException("Folder for cache must be defined");
         }
+        this.maxCacheSize = maxCacheSize;
+        this.maxCacheAge = maxCacheAge;
         // Lazy create the cache folder
         cacheFolder = new File(cacheFolderName);
         if (!cacheFolder.exists()) {
             cacheFolder.mkdirs();
         }
+        loadCacheIndex();
     }
 
     public File getTextToSpeechAsFile(String apiKey, String text, String locale, String audioFormat)
             throws IOException {
         String fileNameInCache = getUniqeFilenameForText(text, locale);
+        String audioFileName = fileNameInCache + "." + audioFormat.toLowerCase();
         // check if in cache
-        File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + audioFormat.toLowerCase());
-        if (audioFileInCache.exists()) {
+        File audioFileInCache = lookup(audioFileName);
+        if (audioFileInCache != null) {
             return audioFileInCache;
         }
 
-        // if not in cache, get audio data and put to cache
-        try (InputStream is = super.getTextToSpeech(apiKey, text, locale, audioFormat);
-                FileOutputStream fos = new FileOutputStream(audioFileInCache);) {
-            copyStream(is, fos);
-            // write text to file for transparency too
-            // this allows to know which contents is in which audio file
-            File txtFileInCache = new File(cacheFolder, fileNameInCache + ".txt");
-            writeText(txtFileInCache, text);
-            // return from cache
-            return audioFileInCache;
-        } catch (FileNotFoundException ex) {
-            logger.warn("Could not write {} to cache, return null", audioFileInCache, ex);
-            return null;
-        } catch (IOException ex) {
-            logger.error("Could not write {} to cache, return null", audioFileInCache, ex);
-            return null;
+        // if not in cache, get audio data and put to cache, unless another request is already doing this
+        CompletableFuture<File> download = new CompletableFuture<>();
+        CompletableFuture<File> pendingDownload = pendingDownloads.putIfAbsent(audioFileName, download);
+        if (pendingDownload != null) {
+            logger.debug("Waiting for pending download of {}", audioFileName);
+            return awaitDownload(pendingDownload);
+        }
+        try {
+            // the download may have finished between the lookup and the registration of this one
+            File audioFile = lookup(audioFileName);
+            if (audioFile == null) {
+                audioFile = download(apiKey, text, locale, audioFormat, fileNameInCache, audioFileName);
+            }
+            download.complete(audioFile);
+            return audioFile;
+        } catch (IOException | RuntimeException ex) {
+            download.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pendingDownloads.remove(audioFileName);
         }
     }
 
@@ -107,6 +149,164 @@ public class CachedVoiceRSSCloudImplementation extends VoiceRSSCloudImplementati
 
     // helper methods
 
+    private File download(String apiKey, String text, String locale, String audioFormat, String fileNameInCache,
+            String audioFileName) throws IOException {
+        File audioFileInCache = new File(cacheFolder, audioFileName);
+        File tempFile = File.createTempFile(fileNameInCache, TEMP_EXTENSION, cacheFolder);
+        try (InputStream is = super.getTextToSpeech(apiKey, text, locale, audioFormat);
+                FileOutputStream fos = new FileOutputStream(tempFile);) {
+            copyStream(is, fos);
+        } catch (FileNotFoundException ex) {
+            logger.warn("Could not write {} to cache, return null", audioFileInCache, ex);
+            tempFile.delete();
+            return null;
+        } catch (IOException ex) {
+            logger.error("Could not write {} to cache, return null", audioFileInCache, ex);
+            tempFile.delete();
+            return null;
+        }
+        try {
+            // write text to file for transparency too
+            // this allows to know which contents is in which audio file
+            File txtFileInCache = new File(cacheFolder, fileNameInCache + TEXT_EXTENSION);
+            writeText(txtFileInCache, text);
+            // only complete audio files become visible in the cache
+            Files.move(tempFile.toPath(), audioFileInCache.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            logger.error("Could not write {} to cache, return null", audioFileInCache, ex);
+            tempFile.delete();
+            return null;
+        }
+        // return from cache
+        addToCache(audioFileInCache);
+        return audioFileInCache;
+    }
+
+    private File awaitDownload(CompletableFuture<File> download) throws IOException {
+        try {
+            return download.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for audio data", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Could not get audio data: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Indexes the audio files already in the cache folder, oldest first, and removes unfinished downloads.
+     */
+    private synchronized void loadCacheIndex() {
+        File[] files = cacheFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(TEMP_EXTENSION)) {
+                file.delete();
+            } else if (file.isFile() && !name.endsWith(TEXT_EXTENSION)) {
+                cacheIndex.put(name, file.length());
+                cacheSize += file.length();
+            }
+        }
+        logger.debug("Indexed {} cached audio files with {} bytes", cacheIndex.size(), cacheSize);
+        evict();
+    }
+
+    private synchronized File lookup(String audioFileName) {
+        Long size = cacheIndex.get(audioFileName);
+        if (size == null) {
+            return null;
+        }
+        File audioFile = new File(cacheFolder, audioFileName);
+        if (!audioFile.isFile()) {
+            logger.debug("Cached audio file {} has been removed", audioFileName);
+            cacheIndex.remove(audioFileName);
+            delete(audioFile, size);
+            return null;
+        }
+        if (isExpired(audioFile, System.currentTimeMillis())) {
+            logger.debug("Cached audio file {} has expired", audioFileName);
+            cacheIndex.remove(audioFileName);
+            delete(audioFile, size);
+            return null;
+        }
+        return audioFile;
+    }
+
+    private synchronized void addToCache(File audioFile) {
+        Long previousSize = cacheIndex.put(audioFile.getName(), audioFile.length());
+        if (previousSize != null) {
+            cacheSize -= previousSize;
+        }
+        cacheSize += audioFile.length();
+        evict();
+    }
+
+    /**
+     * Removes expired audio files and, while the cache is too large, the least recently used ones.
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Long>> iterator = cacheIndex.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            File audioFile = new File(cacheFolder, entry.getKey());
+            boolean tooLarge = maxCacheSize > 0 && cacheSize > maxCacheSize;
+            if (!tooLarge && !isExpired(audioFile, now)) {
+                // entries are in access order, not age order, so keep looking for expired ones
+                if (maxCacheAge <= 0) {
+                    break;
+                }
+                continue;
+            }
+            logger.debug("Evicting cached audio file {}", audioFile.getName());
+            iterator.remove();
+            delete(audioFile, entry.getValue());
+        }
+    }
+
+    private boolean isExpired(File audioFile, long now) {
+        return maxCacheAge > 0 && now - audioFile.lastModified() > maxCacheAge;
+    }
+
+    /**
+     * Deletes an audio file which has already been removed from the index. The text file is shared by all audio
+     * formats of the same text, so it is only deleted with the last of them.
+     */
+    private void delete(File audioFile, long size) {
+        cacheSize -= size;
+        audioFile.delete();
+        String name = audioFile.getName();
+        int extension = name.lastIndexOf('.');
+        if (extension > 0) {
+            String fileNameInCache = name.substring(0, extension);
+            if (!isCached(fileNameInCache)) {
+                new File(cacheFolder, fileNameInCache + TEXT_EXTENSION).delete();
+            }
+        }
+    }
+
+    /**
+     * Returns true, if an audio file in any format is cached for the given file name without extension.
+     */
+    private boolean isCached(String fileNameInCache) {
+        String prefix = fileNameInCache + ".";
+        for (String audioFileName : cacheIndex.keySet()) {
+            if (audioFileName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void copyStream(InputStream inputStream, OutputStream outputStream) throws IOException {
         byte[] bytes = new byte[4096];
         int read = inputStream.read(bytes, 0, 4096);